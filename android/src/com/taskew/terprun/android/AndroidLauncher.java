@@ -4,13 +4,16 @@ import android.os.Bundle;
 
 import com.badlogic.gdx.backends.android.AndroidApplication;
 import com.badlogic.gdx.backends.android.AndroidApplicationConfiguration;
+import com.badlogic.gdx.utils.TimeUtils;
 import com.taskew.terprun.TerpRunClient;
 
 public class AndroidLauncher extends AndroidApplication {
 	@Override
 	protected void onCreate (Bundle savedInstanceState) {
+		// resuming a saved game is timed from here
+		long launchNanos = TimeUtils.nanoTime();
 		super.onCreate(savedInstanceState);
 		AndroidApplicationConfiguration config = new AndroidApplicationConfiguration();
-		initialize(new TerpRunClient(), config);
+		initialize(new TerpRunClient(launchNanos, BuildConfig.DEBUG), config);
 	}
 }
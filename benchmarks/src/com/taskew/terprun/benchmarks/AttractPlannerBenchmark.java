@@ -0,0 +1,93 @@
+package com.taskew.terprun.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.taskew.gameworld.AttractPlanner;
+import com.taskew.gameworld.GameWorld;
+import com.taskew.screens.GameScreen;
+import com.taskew.terprun.headless.HeadlessSimulation;
+
+/**
+ * @author Tyler Askew
+ * @version 1.0
+ * Measures what the main menu's autoplayer costs. copyWorld is a single
+ * copy of a running world, which the planner makes at every choice it
+ * looks at, and decide is the average time of one update of the menu's
+ * game including the planner's share of searching. The slowest search
+ * is printed at the end of each iteration since that is what has to
+ * fit into a frame.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class AttractPlannerBenchmark {
+
+	// length of a single update at the default tick rate
+	private static final float STEP = 1.0f / GameScreen.DEFAULT_TICK_RATE;
+
+	private GameWorld world, copy;
+	private AttractPlanner planner;
+
+	@Setup(Level.Iteration)
+	public void setUp() {
+		world = new GameWorld(HeadlessSimulation.MID_SCREEN,
+				HeadlessSimulation.DEFAULT_SEED);
+		copy = new GameWorld(HeadlessSimulation.MID_SCREEN, 0,
+				world.getDifficulty());
+		planner = new AttractPlanner(world, GameScreen.DEFAULT_TICK_RATE);
+		newGame();
+	}
+
+	@TearDown(Level.Iteration)
+	public void tearDown() {
+		System.out.println("searches: " + planner.getSearches() +
+				", mean " + planner.getMeanNanos() / 1000 + " us" +
+				", max " + planner.getMaxNanos() / 1000 + " us" +
+				", cut short " + planner.getExhaustedSearches());
+	}
+
+	@Benchmark
+	public GameWorld copyWorld() {
+		copy.set(world);
+		return copy;
+	}
+
+	@Benchmark
+	public int decide() {
+		if (planner.shouldFlap())
+			world.flap();
+
+		world.update(STEP);
+
+		if (!world.isRunning())
+			newGame();
+
+		return world.getScore();
+	}
+
+	/**
+	 * Restarts the world in the running state.
+	 * @return void
+	 */
+	private void newGame() {
+		world.restart();
+		world.start();
+	}
+
+}
@@ -0,0 +1,71 @@
+package com.taskew.terprun.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.taskew.gameobjects.Collectable;
+import com.taskew.gameobjects.Difficulty;
+import com.taskew.gameobjects.Pencil;
+import com.taskew.gameobjects.ScrollHandler;
+import com.taskew.gameobjects.Terrapin;
+import com.taskew.helpers.GameRandom;
+import com.taskew.terprun.headless.HeadlessSimulation;
+
+/**
+ * @author Tyler Askew
+ * @version 1.0
+ * Measures the collision tests of a single pencil against the terp and
+ * against the collectable. The pencil sits right on top of the terp so
+ * every test has to be worked out in full.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class CollisionBenchmark {
+
+	@Param
+	public Scenario scenario;
+	
+	private Terrapin terp;
+	private Pencil pencil;
+	private Collectable collectable;
+	
+	@Setup
+	public void setUp() {
+		terp = new Terrapin(21, 97, 15, 15);
+		terp.update(0);
+		GameRandom random = new GameRandom(HeadlessSimulation.DEFAULT_SEED);
+		Difficulty difficulty = new Difficulty();
+		pencil = new Pencil(terp.getX(), 0, 22, 60,
+				ScrollHandler.NORM_SCROLL_SPEED, random, difficulty);
+		collectable = new Collectable(terp.getX(), 0, 10, 10,
+				ScrollHandler.NORM_SCROLL_SPEED, random, difficulty);
+		scenario.apply(pencil);
+		scenario.apply(collectable);
+	}
+	
+	@Benchmark
+	public boolean pencilCollides() {
+		return pencil.collides(terp);
+	}
+	
+	@Benchmark
+	public boolean collectableCollidesPencil() {
+		return collectable.collectableCollidesPencil(pencil);
+	}
+	
+}
@@ -0,0 +1,78 @@
+package com.taskew.terprun.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.taskew.gameworld.GameWorld;
+import com.taskew.screens.GameScreen;
+import com.taskew.terprun.headless.FlapBot;
+import com.taskew.terprun.headless.HeadlessSimulation;
+
+/**
+ * @author Tyler Askew
+ * @version 1.0
+ * Measures a single running update of the whole game world while a
+ * FlapBot keeps the terp alive. A new game is started, with the same
+ * scenario, whenever the terp hits the ground.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class GameWorldBenchmark {
+	
+	// length of a single update at the default tick rate
+	private static final float STEP = 1.0f / GameScreen.DEFAULT_TICK_RATE;
+
+	@Param
+	public Scenario scenario;
+	
+	private GameWorld world;
+	private FlapBot bot;
+	
+	@Setup(Level.Iteration)
+	public void setUp() {
+		world = new GameWorld(HeadlessSimulation.MID_SCREEN,
+				HeadlessSimulation.DEFAULT_SEED);
+		bot = new FlapBot();
+		newGame();
+	}
+	
+	@Benchmark
+	public int updateRunning() {
+		if (bot.shouldFlap(world))
+			world.flap();
+		
+		world.updateRunning(STEP);
+		
+		if (world.isGameOver() || world.isHighScore())
+			newGame();
+		
+		return world.getScore();
+	}
+	
+	/**
+	 * Restarts the world in the running state with the scenario applied.
+	 * @return void
+	 */
+	private void newGame() {
+		world.restart();
+		world.start();
+		scenario.apply(world);
+	}
+	
+}
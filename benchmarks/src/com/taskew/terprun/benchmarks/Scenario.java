@@ -0,0 +1,87 @@
+package com.taskew.terprun.benchmarks;
+
+import com.taskew.gameobjects.Collectable;
+import com.taskew.gameobjects.ObstacleManager;
+import com.taskew.gameobjects.Pencil;
+import com.taskew.gameobjects.ScrollHandler;
+import com.taskew.gameobjects.Scrollable;
+import com.taskew.gameworld.GameWorld;
+
+/**
+ * @author Tyler Askew
+ * @version 1.0
+ * The situations every benchmark is run under. Each one puts the
+ * pencils and the collectable into the state that is the most expensive
+ * for a different part of the game loop.
+ */
+public enum Scenario {
+	VERTICAL, HORIZONTAL, SPINNING, MAX_SPEED, MAX_SHIFT;
+	
+	/**
+	 * Applies this scenario to every scrolling object in the world.
+	 * @param world GameWorld object whose objects are changed.
+	 * @return void
+	 */
+	public void apply(GameWorld world) {
+		ScrollHandler scroller = world.getScroller();
+		ObstacleManager obstacles = scroller.getObstacles();
+		for (int i = 0; i < obstacles.size(); i++)
+			apply(obstacles.get(i));
+		
+		apply(scroller.getCollectable());
+		
+		// updating without any time passing rebuilds the collision areas
+		scroller.update(0);
+	}
+	
+	/**
+	 * Applies this scenario to a single pencil and rebuilds its
+	 * collision areas.
+	 * @param p Pencil object to be changed.
+	 * @return void
+	 */
+	public void apply(Pencil p) {
+		switch (this) {
+		case HORIZONTAL:
+			p.setHorizontal();
+			break;
+		case SPINNING:
+			p.spin();
+			break;
+		default:
+			p.setVertical();
+			break;
+		}
+		
+		applyMovement(p);
+		p.update(0);
+	}
+	
+	/**
+	 * Applies this scenario to the collectable.
+	 * @param c Collectable object to be changed.
+	 * @return void
+	 */
+	public void apply(Collectable c) {
+		c.setM();
+		applyMovement(c);
+		c.update(0);
+	}
+	
+	/**
+	 * Raises the scroll speed or shifting of an object to its cap
+	 * for the scenarios that need it.
+	 * @param s Pencil or Collectable object to be changed.
+	 * @return void
+	 */
+	private void applyMovement(Scrollable s) {
+		if (this == MAX_SPEED) {
+			// the speed is capped at -89, so a few coffees are enough
+			for (int i = 0; i < 4; i++)
+				s.modifyScrollSpeed(10);
+		} else if (this == MAX_SHIFT) {
+			s.shift(100);
+		}
+	}
+	
+}
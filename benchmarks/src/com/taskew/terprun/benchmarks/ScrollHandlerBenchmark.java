@@ -0,0 +1,74 @@
+package com.taskew.terprun.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.taskew.gameobjects.ScrollHandler;
+import com.taskew.gameobjects.Terrapin;
+import com.taskew.gameworld.GameWorld;
+import com.taskew.screens.GameScreen;
+import com.taskew.terprun.headless.HeadlessSimulation;
+
+/**
+ * @author Tyler Askew
+ * @version 1.0
+ * Measures moving and recycling all of the scrolling objects, and
+ * checking the terp against all of them, on their own. The terp
+ * never moves, so the pencils keep scrolling past it.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ScrollHandlerBenchmark {
+	
+	// length of a single update at the default tick rate
+	private static final float STEP = 1.0f / GameScreen.DEFAULT_TICK_RATE;
+
+	@Param
+	public Scenario scenario;
+	
+	private GameWorld world;
+	private ScrollHandler scroller;
+	private Terrapin terp;
+	
+	@Setup(Level.Iteration)
+	public void setUp() {
+		world = new GameWorld(HeadlessSimulation.MID_SCREEN,
+				HeadlessSimulation.DEFAULT_SEED);
+		world.restart();
+		world.start();
+		scenario.apply(world);
+		scroller = world.getScroller();
+		terp = world.getTerp();
+		
+		// places the collision area of the terp without moving it
+		terp.update(0);
+	}
+	
+	@Benchmark
+	public ScrollHandler update() {
+		scroller.update(STEP);
+		return scroller;
+	}
+	
+	@Benchmark
+	public boolean collides() {
+		return scroller.collides(terp);
+	}
+	
+}
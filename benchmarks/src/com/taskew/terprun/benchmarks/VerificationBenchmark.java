@@ -0,0 +1,71 @@
+package com.taskew.terprun.benchmarks;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.taskew.gameworld.RunRecording;
+import com.taskew.terprun.headless.HeadlessSimulation;
+import com.taskew.terprun.headless.ScoreVerifier;
+import com.taskew.terprun.headless.ScoreVerifier.Verdict;
+
+/**
+ * @author Tyler Askew
+ * @version 1.0
+ * Measures how many submitted runs the score verifier gets through
+ * per second, both across its whole pool and on a single thread. The
+ * runs are a fixed set of FlapBot games, so every result is measured
+ * against the same work.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class VerificationBenchmark {
+	
+	// number of runs verified in every batch
+	private static final int RUNS = 1000;
+	
+	private List<RunRecording> runs;
+	private ScoreVerifier verifier;
+	private int next;
+	
+	@Setup
+	public void setUp() {
+		runs = HeadlessSimulation.record(RUNS, HeadlessSimulation.DEFAULT_SEED);
+		verifier = new ScoreVerifier();
+		next = 0;
+	}
+	
+	@TearDown
+	public void tearDown() {
+		verifier.shutdown();
+	}
+	
+	@Benchmark
+	@OperationsPerInvocation(RUNS)
+	public Verdict[] verifyBatch() {
+		return verifier.verifyAll(runs);
+	}
+	
+	@Benchmark
+	public Verdict verifySingle() {
+		next = (next + 1) % RUNS;
+		return verifier.verify(runs.get(next));
+	}
+	
+}
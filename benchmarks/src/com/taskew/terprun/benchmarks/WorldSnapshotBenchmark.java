@@ -0,0 +1,90 @@
+package com.taskew.terprun.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.taskew.gameworld.GameWorld;
+import com.taskew.gameworld.WorldSnapshot;
+import com.taskew.screens.GameScreen;
+import com.taskew.terprun.headless.FlapBot;
+import com.taskew.terprun.headless.HeadlessSimulation;
+
+/**
+ * @author Tyler Askew
+ * @version 1.0
+ * Measures taking a snapshot of a running world, restoring it into
+ * another world and both together. The world is played a few seconds
+ * into the scenario first so the snapshot holds a game in progress.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class WorldSnapshotBenchmark {
+
+	// length of a single update at the default tick rate
+	private static final float STEP = 1.0f / GameScreen.DEFAULT_TICK_RATE;
+
+	// updates played before the snapshot is taken
+	private static final int WARM_TICKS = 300;
+
+	@Param
+	public Scenario scenario;
+
+	private GameWorld world, restored;
+	private WorldSnapshot snapshot;
+
+	@Setup(Level.Trial)
+	public void setUp() {
+		world = new GameWorld(HeadlessSimulation.MID_SCREEN,
+				HeadlessSimulation.DEFAULT_SEED);
+		restored = new GameWorld(HeadlessSimulation.MID_SCREEN, 0,
+				world.getDifficulty());
+		world.start();
+		scenario.apply(world);
+
+		FlapBot bot = new FlapBot();
+		for (int i = 0; i < WARM_TICKS && world.isRunning(); i++) {
+			if (bot.shouldFlap(world))
+				world.flap();
+			world.update(STEP);
+		}
+
+		snapshot = new WorldSnapshot();
+		snapshot.capture(world);
+	}
+
+	@Benchmark
+	public WorldSnapshot capture() {
+		snapshot.capture(world);
+		return snapshot;
+	}
+
+	@Benchmark
+	public GameWorld restore() {
+		snapshot.restore(restored);
+		return restored;
+	}
+
+	@Benchmark
+	public GameWorld roundTrip() {
+		snapshot.capture(world);
+		snapshot.restore(restored);
+		return restored;
+	}
+
+}
@@ -2,6 +2,9 @@ package com.taskew.gameobjects;
 
 import com.badlogic.gdx.math.Circle;
 import com.badlogic.gdx.math.Intersector;
+import com.taskew.helpers.GameRandom;
+import com.taskew.helpers.StateBuffer;
+import com.taskew.helpers.GameRandom.Stream;
 
 public class Collectable extends Scrollable {
 	
@@ -11,6 +14,9 @@ public class Collectable extends Scrollable {
 	// used to set collision area radius
 	private int initialHeight;
 	
+	// used to calculate random heights
+	private GameRandom random;
+	
 	// used to determine if player has collected the item
 	private boolean isCollected;
 	
@@ -19,6 +25,10 @@ public class Collectable extends Scrollable {
 	private enum CollectableType {
 		M, COFFEE, BEER, PIZZA
 	}
+	private static final CollectableType[] TYPES = CollectableType.values();
+	
+	// degrees the collectable turns each second
+	public static final float SPIN_SPEED = 60;
 
 	/**
 	 * Constructor that initializes all attributes of
@@ -28,22 +38,26 @@ public class Collectable extends Scrollable {
 	 * @param width Int containing the width.
 	 * @param height Int containing the height.
 	 * @param scrollSpeed Float containing the scrolling speed.
+	 * @param random GameRandom object shared by the whole game.
+	 * @param difficulty Difficulty object shared by the whole game.
 	 */
 	public Collectable(float x, float y, int width, int height,
-			float scrollSpeed) {
-		super(x, y, width, height, scrollSpeed);
+			float scrollSpeed, GameRandom random, Difficulty difficulty) {
+		super(x, y, width, height, scrollSpeed, difficulty);
+		this.random = random;
 		collisionArea = new Circle();
 		initialHeight = height;
 		isCollected = false;
 	}
 	
 	/**
-	 * Updates the collision area for the collectable and calculates
-	 * if it has finished scrolling across the screen.
+	 * Updates the collision area for the collectable, turns it and
+	 * calculates if it has finished scrolling across the screen.
 	 */
 	@Override
 	public void update(float delta) {
 		super.update(delta);
+		rotate(SPIN_SPEED * delta);
 		
 		if ((collisionArea.x - collisionArea.radius) + 
 				(collisionArea.radius * 2) < 0)
@@ -61,7 +75,7 @@ public class Collectable extends Scrollable {
 	public void reset(float newX) {
 		super.reset(newX);
 		isCollected = false;
-		height = random.nextInt(90) + 15;
+		height = random.nextInt(Stream.COLLECTABLE_HEIGHT, 90) + 15;
 	}
 	
 	/**
@@ -73,12 +87,56 @@ public class Collectable extends Scrollable {
 	public void restart(float f, float scrollSpeed) {
 		super.restart(scrollSpeed);
 		
-		// resets the collision area
-		collisionArea = new Circle();
+		// resets the collision area without creating a new one
+		collisionArea.set(0, 0, 0);
+		
+		// no type until the first one is chosen, like a brand new game
+		type = null;
 		
 		reset(f);
 	}
 	
+	/**
+	 * Makes this collectable the same as another one, without creating
+	 * any new objects.
+	 * @param other Collectable object to be copied.
+	 */
+	public void set(Collectable other) {
+		super.set(other);
+		collisionArea.set(other.collisionArea);
+		initialHeight = other.initialHeight;
+		isCollected = other.isCollected;
+		type = other.type;
+	}
+	
+	/**
+	 * Writes everything that changes during a game to a buffer.
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void writeState(StateBuffer out) {
+		super.writeState(out);
+		out.putFloat(collisionArea.x).putFloat(collisionArea.y)
+				.putFloat(collisionArea.radius);
+		out.putInt(initialHeight);
+		out.putBoolean(isCollected);
+		out.putInt((type == null) ? -1 : type.ordinal());
+	}
+	
+	/**
+	 * Reads back a state that was written by writeState().
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void readState(StateBuffer in) {
+		super.readState(in);
+		collisionArea.set(in.getFloat(), in.getFloat(), in.getFloat());
+		initialHeight = in.getInt();
+		isCollected = in.getBoolean();
+		int t = in.getInt();
+		type = (t < 0) ? null : TYPES[t];
+	}
+	
 	/**
 	 * Determines if the terrapin has collected a collectable.
 	 * @param terp Terrapin object representing the terp character.
@@ -97,20 +155,7 @@ public class Collectable extends Scrollable {
 	 * @return boolean
 	 */
 	public boolean collectableCollidesPencil(Pencil p) {
-		return (Intersector.overlaps(getCollisionArea(), 
-				p.getVerticalCollisionTop()) ||
-				Intersector.overlaps(getCollisionArea(), 
-				p.getVerticalCollisionBottom()) ||
-				Intersector.overlaps(getCollisionArea(),
-				p.getHorizontalCollisionTop()) ||
-				Intersector.overlaps(getCollisionArea(), 
-				p.getHorizontalCollisionMiddle()) ||
-				Intersector.overlaps(getCollisionArea(),
-				p.getHorizontalCollisionBottom()) ||
-				Intersector.overlaps(getCollisionArea(),
-				p.getSpinningCollisionTop()) ||
-				Intersector.overlaps(getCollisionArea(),
-				p.getSpinningCollisionBottom()));
+		return p.overlaps(getCollisionArea());
 	}
 	
 	/**
@@ -0,0 +1,170 @@
+package com.taskew.gameobjects;
+
+/**
+ * @author Tyler Askew
+ * @version 1.0
+ * Holds the numbers that decide how hard the game is: the space
+ * between pencils, how fast everything scrolls and how fast coffee can
+ * make it, and how tall each kind of pencil can be. A new Difficulty
+ * has the values the game is played with, and changing them is only
+ * meant for trying out other values away from the game.
+ */
+public class Difficulty {
+
+	// fastest that coffee can make the objects scroll
+	public static final float DEFAULT_SPEED_CAP = -89;
+
+	// space between pencils and how fast they scroll
+	private float pencilGap, scrollSpeed, speedCap;
+
+	// shortest height and number of possible heights of each kind of pencil
+	private int verticalMinHeight, verticalHeights;
+	private int horizontalMinHeight, horizontalHeights;
+	private int spinningMinHeight, spinningHeights;
+
+	/**
+	 * Constructor that creates the difficulty the game is played with.
+	 * @return none
+	 */
+	public Difficulty() {
+		pencilGap = ScrollHandler.NORM_PENCIL_GAP;
+		scrollSpeed = ScrollHandler.NORM_SCROLL_SPEED;
+		speedCap = DEFAULT_SPEED_CAP;
+		setVerticalHeights(15, 90);
+		setHorizontalHeights(35, 70);
+		setSpinningHeights(85, 20);
+	}
+
+	/**
+	 * Returns the space between two pencils.
+	 * @return Float containing the gap between pencils.
+	 */
+	public float getPencilGap() {
+		return pencilGap;
+	}
+
+	/**
+	 * Changes the space between two pencils.
+	 * @param pencilGap Float containing the new gap between pencils.
+	 * @return void
+	 */
+	public void setPencilGap(float pencilGap) {
+		this.pencilGap = pencilGap;
+	}
+
+	/**
+	 * Returns the speed everything scrolls at when a game starts.
+	 * @return Float containing the scroll speed, which is negative.
+	 */
+	public float getScrollSpeed() {
+		return scrollSpeed;
+	}
+
+	/**
+	 * Changes the speed everything scrolls at when a game starts.
+	 * @param scrollSpeed Float containing the new scroll speed.
+	 * @return void
+	 */
+	public void setScrollSpeed(float scrollSpeed) {
+		this.scrollSpeed = scrollSpeed;
+	}
+
+	/**
+	 * Returns the fastest that coffee can make everything scroll.
+	 * @return Float containing the speed cap, which is negative.
+	 */
+	public float getSpeedCap() {
+		return speedCap;
+	}
+
+	/**
+	 * Changes the fastest that coffee can make everything scroll.
+	 * @param speedCap Float containing the new speed cap.
+	 * @return void
+	 */
+	public void setSpeedCap(float speedCap) {
+		this.speedCap = speedCap;
+	}
+
+	/**
+	 * Changes the heights a vertical pencil can have.
+	 * @param min Int containing the shortest height.
+	 * @param count Int containing the number of possible heights.
+	 * @return void
+	 */
+	public void setVerticalHeights(int min, int count) {
+		verticalMinHeight = min;
+		verticalHeights = count;
+	}
+
+	/**
+	 * Changes the heights a horizontal pencil can have.
+	 * @param min Int containing the shortest height.
+	 * @param count Int containing the number of possible heights.
+	 * @return void
+	 */
+	public void setHorizontalHeights(int min, int count) {
+		horizontalMinHeight = min;
+		horizontalHeights = count;
+	}
+
+	/**
+	 * Changes the heights a spinning pencil can have.
+	 * @param min Int containing the shortest height.
+	 * @param count Int containing the number of possible heights.
+	 * @return void
+	 */
+	public void setSpinningHeights(int min, int count) {
+		spinningMinHeight = min;
+		spinningHeights = count;
+	}
+
+	/**
+	 * Returns the shortest height of a vertical pencil.
+	 * @return Int containing the height.
+	 */
+	public int getVerticalMinHeight() {
+		return verticalMinHeight;
+	}
+
+	/**
+	 * Returns the number of heights a vertical pencil can have.
+	 * @return Int containing the number of heights.
+	 */
+	public int getVerticalHeights() {
+		return verticalHeights;
+	}
+
+	/**
+	 * Returns the shortest height of a horizontal pencil.
+	 * @return Int containing the height.
+	 */
+	public int getHorizontalMinHeight() {
+		return horizontalMinHeight;
+	}
+
+	/**
+	 * Returns the number of heights a horizontal pencil can have.
+	 * @return Int containing the number of heights.
+	 */
+	public int getHorizontalHeights() {
+		return horizontalHeights;
+	}
+
+	/**
+	 * Returns the shortest height of a spinning pencil.
+	 * @return Int containing the height.
+	 */
+	public int getSpinningMinHeight() {
+		return spinningMinHeight;
+	}
+
+	/**
+	 * Returns the number of heights a spinning pencil can have.
+	 * @return Int containing the number of heights.
+	 */
+	public int getSpinningHeights() {
+		return spinningHeights;
+	}
+
+}
@@ -0,0 +1,378 @@
+package com.taskew.gameobjects;
+
+import com.badlogic.gdx.utils.Pool;
+import com.taskew.helpers.GameRandom;
+import com.taskew.helpers.StateBuffer;
+
+/**
+ * @author Tyler Askew
+ * @version 1.0
+ * Keeps track of every pencil that is currently scrolling across the
+ * screen. The pencils are kept in a ring ordered from left to right, so
+ * the first one is always the next to scroll off the screen and new ones
+ * are always added after the last one. Pencils that are no longer needed
+ * go back into a pool to be used again.
+ * 
+ * The pencils are also kept sorted by the left edge of their collision
+ * areas. Since the terp never moves sideways, a binary search over that
+ * order finds the only one or two pencils that could touch it, no matter
+ * how many pencils there are.
+ */
+public class ObstacleManager {
+
+	// width and starting height of a new pencil
+	public static final int PENCIL_WIDTH = 22;
+	public static final int PENCIL_HEIGHT = 60;
+
+	// pencils that are not being used right now
+	private Pool<Pencil> pool;
+
+	// ring of the active pencils, ordered from left to right
+	private Pencil[] ring;
+	private int head, size;
+	
+	// active pencils sorted by the left edge of their collision areas
+	private Pencil[] sorted;
+	
+	// widest collision area of any active pencil
+	private float maxCollisionWidth;
+
+	// number of pencils placed on the screen when the game restarts
+	private int count;
+	
+	// decides the space between pencils and their speed
+	private Difficulty difficulty;
+
+	/**
+	 * Constructor that creates the given number of pencils.
+	 * @param count Int containing the number of pencils in the game.
+	 * @param startX Float containing the x-coordinate of the first pencil.
+	 * @param difficulty Difficulty object deciding the gaps and speed.
+	 * @param random GameRandom object used for the heights of the pencils.
+	 * @return none
+	 */
+	public ObstacleManager(int count, float startX, 
+			final Difficulty difficulty, final GameRandom random) {
+		pool = new Pool<Pencil>(count) {
+
+			@Override
+			protected Pencil newObject() {
+				return new Pencil(0, 0, PENCIL_WIDTH, PENCIL_HEIGHT,
+						difficulty.getScrollSpeed(), random, difficulty);
+			}
+		};
+		this.difficulty = difficulty;
+		ring = new Pencil[count];
+		sorted = new Pencil[count];
+		head = 0;
+		size = 0;
+		maxCollisionWidth = 0;
+		this.count = count;
+
+		// places the pencils one after another
+		float x = startX;
+		for (int i = 0; i < count; i++) {
+			Pencil p = pool.obtain();
+			p.reset(x);
+			add(p);
+			x = p.getRightX() + difficulty.getPencilGap();
+		}
+		
+		resort();
+	}
+
+	/**
+	 * Updates every active pencil and then brings the collision order
+	 * up to date with any pencils that were added or changed.
+	 * @param delta Float containing the seconds since the last update.
+	 * @return void
+	 */
+	public void update(float delta) {
+		for (int i = 0; i < size; i++)
+			get(i).update(delta);
+		
+		sort();
+	}
+	
+	/**
+	 * Finds the first pencil, in collision order, whose collision areas
+	 * could reach the given x-coordinate or anything to the right of it.
+	 * Callers go through getSorted() from there and stop at the first
+	 * pencil whose getCollisionLeft() is past the right edge of what
+	 * they are testing.
+	 * @param minX Float containing the left edge of the area being tested.
+	 * @return Int containing the position in collision order to start at.
+	 */
+	public int firstNear(float minX) {
+		// nothing starting further left than this can reach minX
+		float from = minX - maxCollisionWidth;
+		
+		int low = 0;
+		int high = size;
+		while (low < high) {
+			int mid = (low + high) >>> 1;
+			
+			if (sorted[mid].getCollisionLeft() < from)
+				low = mid + 1;
+			else
+				high = mid;
+		}
+		
+		return low;
+	}
+	
+	/**
+	 * Returns an active pencil in collision order.
+	 * @param i Int containing the position of the pencil in that order.
+	 * @return Pencil object at that position.
+	 */
+	public Pencil getSorted(int i) {
+		return sorted[i];
+	}
+	
+	/**
+	 * Rebuilds the collision order from scratch after the whole set
+	 * of pencils has changed.
+	 * @return void
+	 */
+	private void resort() {
+		for (int i = 0; i < size; i++)
+			sorted[i] = get(i);
+		
+		sort();
+	}
+	
+	/**
+	 * Sorts the pencils by the left edge of their collision areas and
+	 * finds the widest collision area. All pencils move at the same
+	 * speed, so the order only changes when a pencil is added or changes
+	 * state and an insertion sort is almost always a single pass.
+	 * @return void
+	 */
+	private void sort() {
+		maxCollisionWidth = 0;
+		
+		for (int i = 0; i < size; i++) {
+			Pencil p = sorted[i];
+			float left = p.getCollisionLeft();
+			maxCollisionWidth = Math.max(maxCollisionWidth,
+					p.getCollisionRight() - left);
+			
+			int j = i - 1;
+			while (j >= 0 && sorted[j].getCollisionLeft() > left) {
+				sorted[j + 1] = sorted[j];
+				j--;
+			}
+			sorted[j + 1] = p;
+		}
+	}
+
+	/**
+	 * Removes all of the pencils and places the current number of
+	 * pencils back at their starting positions.
+	 * @param startX Float containing the x-coordinate of the first pencil.
+	 * @return void
+	 */
+	public void restart(float startX) {
+		// the pool hands the most recently freed pencil out first, so
+		// freeing from the back keeps the pencils in the same order
+		while (size > 0)
+			pool.free(removeLast());
+
+		float x = startX;
+		for (int i = 0; i < count; i++) {
+			Pencil p = pool.obtain();
+			p.restart(x, difficulty.getScrollSpeed());
+			add(p);
+			x = p.getRightX() + difficulty.getPencilGap();
+		}
+		
+		resort();
+	}
+
+	/**
+	 * Makes the active pencils the same as those of another manager.
+	 * Nothing new is created as long as this manager has had at least
+	 * as many pencils before.
+	 * @param other ObstacleManager object to be copied.
+	 * @return void
+	 */
+	public void set(ObstacleManager other) {
+		while (size > other.size)
+			pool.free(removeLast());
+		while (size < other.size)
+			add(pool.obtain());
+		
+		// the pencils already here are copied over in place
+		for (int i = 0; i < size; i++)
+			get(i).set(other.get(i));
+		count = other.count;
+		
+		resort();
+	}
+
+	/**
+	 * Writes every active pencil to a buffer, from left to right.
+	 * @param out StateBuffer object the pencils are written to.
+	 * @return void
+	 */
+	public void writeState(StateBuffer out) {
+		out.putInt(count);
+		out.putInt(size);
+		for (int i = 0; i < size; i++)
+			get(i).writeState(out);
+	}
+	
+	/**
+	 * Reads back pencils that were written by writeState(). Nothing
+	 * new is created as long as this manager has had at least as many
+	 * pencils before.
+	 * @param in StateBuffer object the pencils are read from.
+	 * @return void
+	 */
+	public void readState(StateBuffer in) {
+		count = in.getInt();
+		int newSize = in.getInt();
+		
+		// every pencil takes up more than one int, so a damaged state
+		// is caught before any pencils are made for it
+		if (newSize < 0 || newSize > in.remaining())
+			throw new IndexOutOfBoundsException("Bad number of pencils");
+		
+		while (size > newSize)
+			pool.free(removeLast());
+		while (size < newSize)
+			add(pool.obtain());
+		
+		for (int i = 0; i < size; i++)
+			get(i).readState(in);
+		
+		resort();
+	}
+
+	/**
+	 * Takes the first pencil off of the screen and puts a pencil in
+	 * after the last one. The new pencil keeps the speed of the others
+	 * but still has to be reset to its new position by the caller.
+	 * @return Pencil object that was added to the end.
+	 */
+	public Pencil recycle() {
+		Pencil last = last();
+		Pencil first = removeFirst();
+		pool.free(first);
+
+		Pencil p = pool.obtain();
+		p.matchSpeed(last);
+		add(p);
+		
+		// the new pencil always goes in to the right of every other one,
+		// so it belongs at the end of the collision order
+		int i = 0;
+		while (sorted[i] != first)
+			i++;
+		System.arraycopy(sorted, i + 1, sorted, i, size - 1 - i);
+		sorted[size - 1] = p;
+		
+		return p;
+	}
+
+	/**
+	 * Changes the number of pencils used the next time the
+	 * game restarts.
+	 * @param count Int containing the new number of pencils.
+	 * @return void
+	 */
+	public void setCount(int count) {
+		this.count = count;
+	}
+
+	/**
+	 * Returns the number of pencils used when the game restarts.
+	 * @return Int containing the number of pencils.
+	 */
+	public int getCount() {
+		return count;
+	}
+
+	/**
+	 * Returns the number of pencils currently on the screen.
+	 * @return Int containing the number of active pencils.
+	 */
+	public int size() {
+		return size;
+	}
+
+	/**
+	 * Returns an active pencil, counting from the left.
+	 * @param i Int containing the position of the pencil.
+	 * @return Pencil object at that position.
+	 */
+	public Pencil get(int i) {
+		return ring[(head + i) % ring.length];
+	}
+
+	/**
+	 * Returns the left-most pencil, which is the next one to
+	 * scroll off of the screen.
+	 * @return Pencil object furthest to the left.
+	 */
+	public Pencil first() {
+		return ring[head];
+	}
+
+	/**
+	 * Returns the right-most pencil, which was the last one added.
+	 * @return Pencil object furthest to the right.
+	 */
+	public Pencil last() {
+		return get(size - 1);
+	}
+
+	/**
+	 * Adds a pencil to the end of the ring, making the ring
+	 * bigger if it is full.
+	 * @param p Pencil object to be added.
+	 * @return void
+	 */
+	private void add(Pencil p) {
+		if (size == ring.length) {
+			Pencil[] bigger = new Pencil[ring.length * 2];
+			for (int i = 0; i < size; i++)
+				bigger[i] = get(i);
+			ring = bigger;
+			head = 0;
+			
+			Pencil[] biggerSorted = new Pencil[ring.length];
+			System.arraycopy(sorted, 0, biggerSorted, 0, size);
+			sorted = biggerSorted;
+		}
+
+		ring[(head + size) % ring.length] = p;
+		size++;
+	}
+
+	/**
+	 * Removes the pencil at the start of the ring.
+	 * @return Pencil object that was removed.
+	 */
+	private Pencil removeFirst() {
+		Pencil p = ring[head];
+		ring[head] = null;
+		head = (head + 1) % ring.length;
+		size--;
+		return p;
+	}
+
+	/**
+	 * Removes the pencil at the end of the ring.
+	 * @return Pencil object that was removed.
+	 */
+	private Pencil removeLast() {
+		int i = (head + size - 1) % ring.length;
+		Pencil p = ring[i];
+		ring[i] = null;
+		size--;
+		return p;
+	}
+
+}
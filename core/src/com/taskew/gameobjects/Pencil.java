@@ -1,13 +1,14 @@
 package com.taskew.gameobjects;
 
-import java.util.Random;
-
 import com.badlogic.gdx.Gdx;
 import com.badlogic.gdx.math.Circle;
 import com.badlogic.gdx.math.Intersector;
 import com.badlogic.gdx.math.Polygon;
 import com.badlogic.gdx.math.Rectangle;
 import com.badlogic.gdx.math.Vector2;
+import com.taskew.helpers.GameRandom;
+import com.taskew.helpers.StateBuffer;
+import com.taskew.helpers.GameRandom.Stream;
 
 /**
  * @author Tyler Askew
@@ -24,6 +25,18 @@ public class Pencil extends Scrollable {
 	
 	// circle used to detect collisions
 	private Circle spinningCollisionBottom, spinningCollisionTop;
+	
+	// the collision areas of each state, in the order they are tested
+	private Rectangle[] verticalShapes, horizontalShapes;
+	private Circle[] spinningShapes;
+	
+	// the same collision areas relative to the pencil's position, only
+	// rebuilt when the height, state or shifting of the pencil changes
+	private Rectangle[] verticalTemplate, horizontalTemplate;
+	private Circle[] spinningTemplate;
+
+	// used to calculate random heights
+	private GameRandom random;
 
 	// used to determine if the player has surpassed a pencil
 	private boolean hasScored;
@@ -33,19 +46,29 @@ public class Pencil extends Scrollable {
 	private enum PencilState {
 		VERTICAL, HORIZONTAL, SPINNING
 	}
+	private static final PencilState[] STATES = PencilState.values();
+	
+	// degrees a spinning pencil turns each second and the rotation
+	// of a horizontal pencil
+	public static final float SPIN_SPEED = 600;
+	public static final int HORIZONTAL_ROTATION = 90;
 
 	/**
-	 * Constructor used to create a new pencil object and initializes
+	 * Constructor used to create a new pencil object and receives
 	 * the random object being used to calculate the random gap heights.
 	 * @param x Float containing the x-coordinate of the pencil.
 	 * @param y Float containing the y-coordinate of the pencil.
 	 * @param width Int representing the width of the pencil.
 	 * @param height Int representing the height of the pencil.
 	 * @param scrollSpeed Float containing the speed of the pencil.
+	 * @param random GameRandom object shared by the whole game.
+	 * @param difficulty Difficulty object shared by the whole game.
 	 * @return none
 	 */
-	public Pencil(float x, float y, int width, int height, float scrollSpeed) {
-		super(x, y, width, height, scrollSpeed);
+	public Pencil(float x, float y, int width, int height, float scrollSpeed,
+			GameRandom random, Difficulty difficulty) {
+		super(x, y, width, height, scrollSpeed, difficulty);
+		this.random = random;
 		verticalCollisionTop = new Rectangle();
 		verticalCollisionBottom = new Rectangle();
 		horizontalCollisionTop = new Rectangle();
@@ -53,87 +76,113 @@ public class Pencil extends Scrollable {
 		horizontalCollisionBottom = new Rectangle();
 		spinningCollisionTop = new Circle();
 		spinningCollisionBottom = new Circle();
+		verticalShapes = new Rectangle[] { verticalCollisionTop,
+				verticalCollisionBottom };
+		horizontalShapes = new Rectangle[] { horizontalCollisionMiddle,
+				horizontalCollisionTop, horizontalCollisionBottom };
+		spinningShapes = new Circle[] { spinningCollisionBottom,
+				spinningCollisionTop };
+		verticalTemplate = new Rectangle[] { new Rectangle(), new Rectangle() };
+		horizontalTemplate = new Rectangle[] { new Rectangle(),
+				new Rectangle(), new Rectangle() };
+		spinningTemplate = new Circle[] { new Circle(), new Circle() };
 		hasScored = false;
 		currentState = PencilState.VERTICAL;
+		buildCollisionTemplate();
 	}
 
 	/**
-	 * Calls the update methods corresponding to the pencil state.
+	 * Moves the collision areas of the current state along with the
+	 * pencil, turns it if it is spinning and checks if it has scrolled
+	 * off screen.
 	 * {@inheritDoc}
 	 */
 	@Override
 	public void update(float delta) {
 		super.update(delta);
-
+		placeCollisionShapes();
+		if (currentState == PencilState.SPINNING)
+			rotate(SPIN_SPEED * delta);
+		
+		// checks to see if the pencil has scrolled off screen
+		if (getTrailingX() < 0)
+			finishedScroll = true;
+	}
+	
+	/**
+	 * Sets up the collision areas of the current state relative to the
+	 * pencil's position. Only needs to be called when the height, state
+	 * or shifting of the pencil changes.
+	 * @return void
+	 */
+	private void buildCollisionTemplate() {
 		switch (currentState) {
 		case VERTICAL:
-			updateVertical(delta);
+			verticalTemplate[0].set(6, -(shiftAmount * 2),
+					width / 2, height + (shiftAmount * 2) + 10);
+			verticalTemplate[1].set(6, height + 47, width / 2, height + 129);
 			break;
 		case HORIZONTAL:
-			updateHorizontal(delta);
+			float left = -(height / 2.0f) + 15;
+			float middle = height + (height / 2.0f) + (width / 3.0f) + 5;
+			horizontalTemplate[0].set(left, middle, height - 8, width / 2.0f);
+			horizontalTemplate[1].set(left, middle - 65, height - 8,
+					width / 2.0f);
+			horizontalTemplate[2].set(left, middle + 65, height - 8,
+					width / 2.0f);
 			break;
 		case SPINNING:
-			updateSpinning(delta);
+			// spinning pencils stay at the same height while shifting,
+			// so these are relative to the top of the screen instead
+			spinningTemplate[0].set((width * 3) / 2.0f,
+					height + (height / 2.0f), height / 2.0f);
+			spinningTemplate[1].set((width * 3) / 2.0f,
+					(height * 3) / 2.0f - 150, height / 2.0f);
 			break;
 		default:
 			break;
 		}
 	}
-
-	/**
-	 * Handles the collision areas of the vertical pencils.
-	 * @param delta Float representing the amount of time since this 
-	 * method was called last.
-	 */
-	public void updateVertical(float delta) {
-		// checks to see if the pencil has scrolled off screen
-		if (position.x + width < 0)
-			finishedScroll = true;
-		
-		// setting the positions and dimensions of the collision areas
-		verticalCollisionTop.set(position.x + 6, position.y - (shiftAmount * 2),
-				width / 2, height + (shiftAmount * 2) + 10);
-		verticalCollisionBottom.set(position.x + 6, position.y + height + 47,
-				width / 2, height + position.y + 129);
-	}
 	
 	/**
-	 * Handles the collision areas of the horizontal pencils.
-	 * @param delta Float representing the amount of time since this 
-	 * method was called last.
+	 * Moves the collision areas of the current state to where the
+	 * pencil is in the game world.
+	 * @return void
 	 */
-	public void updateHorizontal(float delta) {
-		// checks to see if the pencil has scrolled off screen
-		if (horizontalCollisionMiddle.x + horizontalCollisionMiddle.width < 0)
-			finishedScroll = true;
-		
-		horizontalCollisionMiddle.set(getLeftX() - (getHeight() / 2.0f) + 15, 
-		getHeight() + (getHeight() / 2.0f) + (getWidth() / 3.0f) + 5 + getY(), 
-		getHeight() - 8, getWidth() / 2.0f);
-		horizontalCollisionTop.set(getLeftX() - (getHeight() / 2.0f) + 15, 
-		getHeight() + (getHeight() / 2.0f) + (getWidth() / 3.0f) - 60 + getY(), 
-		getHeight() - 8, getWidth() / 2.0f);
-		horizontalCollisionBottom.set(getLeftX() - (getHeight() / 2.0f) + 15, 
-				getHeight() + (getHeight() / 2.0f) + (getWidth() / 3.0f) + 70 +
-				getY(), getHeight() - 8, getWidth() / 2.0f);
+	private void placeCollisionShapes() {
+		switch (currentState) {
+		case VERTICAL:
+			place(verticalTemplate, verticalShapes, position.y);
+			break;
+		case HORIZONTAL:
+			place(horizontalTemplate, horizontalShapes, position.y);
+			break;
+		case SPINNING:
+			for (int i = 0; i < spinningShapes.length; i++) {
+				Circle local = spinningTemplate[i];
+				spinningShapes[i].set(local.x + position.x, local.y,
+						local.radius);
+			}
+			break;
+		default:
+			break;
+		}
 	}
 	
 	/**
-	 * Handles the collision areas of the spinning pencils.
-	 * @param delta Float representing the amount of time since this 
-	 * method was called last.
+	 * Helper method that copies each rectangle of a template into the
+	 * game world, offset by the pencil's position.
+	 * @param template Array of rectangles relative to the pencil.
+	 * @param shapes Array of rectangles placed in the game world.
+	 * @param y Float containing the vertical offset of the template.
+	 * @return void
 	 */
-	public void updateSpinning(float delta) {
-		// checks to see if the pencil has scrolled off screen
-		if ((spinningCollisionBottom.x - spinningCollisionBottom.radius) + 
-			spinningCollisionBottom.radius * 2 < 0)
-			finishedScroll = true;
-		
-		spinningCollisionBottom.set(getLeftX() + ((getWidth() * 3) / 2.0f), 
-				getHeight() + (getHeight() / 2.0f), getHeight() / 2.0f);
-		spinningCollisionTop.set(getLeftX() + ((getWidth() * 3) / 2.0f),
-				(spinningCollisionBottom.y - spinningCollisionBottom.radius -
-				150) + (getHeight() / 2.0f), getHeight() / 2.0f);
+	private void place(Rectangle[] template, Rectangle[] shapes, float y) {
+		for (int i = 0; i < shapes.length; i++) {
+			Rectangle local = template[i];
+			shapes[i].set(local.x + position.x, local.y + y,
+					local.width, local.height);
+		}
 	}
 	
 	/**
@@ -142,6 +191,8 @@ public class Pencil extends Scrollable {
 	 */
 	public void setVertical() {
 		currentState = PencilState.VERTICAL;
+		buildCollisionTemplate();
+		placeCollisionShapes();
 	}
 	
 	/**
@@ -150,6 +201,9 @@ public class Pencil extends Scrollable {
 	 */
 	public void setHorizontal() {
 		currentState = PencilState.HORIZONTAL;
+		setStartingRotation(HORIZONTAL_ROTATION);
+		buildCollisionTemplate();
+		placeCollisionShapes();
 	}
 	
 	/**
@@ -158,6 +212,139 @@ public class Pencil extends Scrollable {
 	 */
 	public void spin() {
 		currentState = PencilState.SPINNING;
+		buildCollisionTemplate();
+		placeCollisionShapes();
+	}
+	
+	/**
+	 * Rebuilds the collision areas since the top of a vertical pencil
+	 * stretches with the shifting.
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void shift(float s) {
+		super.shift(s);
+		buildCollisionTemplate();
+	}
+
+	/**
+	 * Makes this pencil the same as another one, including where its
+	 * collision areas were last placed, without creating any new objects.
+	 * @param other Pencil object to be copied.
+	 * @return void
+	 */
+	public void set(Pencil other) {
+		super.set(other);
+		hasScored = other.hasScored;
+		currentState = other.currentState;
+		
+		// the placed areas can be a step behind the templates, so both
+		// are copied instead of being built again
+		copy(other.verticalShapes, verticalShapes);
+		copy(other.horizontalShapes, horizontalShapes);
+		copy(other.verticalTemplate, verticalTemplate);
+		copy(other.horizontalTemplate, horizontalTemplate);
+		for (int i = 0; i < spinningShapes.length; i++) {
+			spinningShapes[i].set(other.spinningShapes[i]);
+			spinningTemplate[i].set(other.spinningTemplate[i]);
+		}
+	}
+	
+	/**
+	 * Helper method that copies every rectangle of one array into the
+	 * rectangles of another.
+	 * @param from Array of rectangles to be copied.
+	 * @param to Array of rectangles that are changed.
+	 * @return void
+	 */
+	private static void copy(Rectangle[] from, Rectangle[] to) {
+		for (int i = 0; i < to.length; i++)
+			to[i].set(from[i]);
+	}
+
+	/**
+	 * Writes everything that changes during a game to a buffer. Only
+	 * the collision areas of the current state are ever used, so the
+	 * others are left out.
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void writeState(StateBuffer out) {
+		super.writeState(out);
+		out.putBoolean(hasScored);
+		out.putInt(currentState.ordinal());
+		
+		switch (currentState) {
+		case VERTICAL:
+			writeShapes(out, verticalShapes);
+			break;
+		case HORIZONTAL:
+			writeShapes(out, horizontalShapes);
+			break;
+		case SPINNING:
+			for (int i = 0; i < spinningShapes.length; i++) {
+				Circle c = spinningShapes[i];
+				out.putFloat(c.x).putFloat(c.y).putFloat(c.radius);
+			}
+			break;
+		default:
+			break;
+		}
+	}
+	
+	/**
+	 * Reads back a state that was written by writeState(). The templates
+	 * only depend on the pencil's size, state and shifting, so they are
+	 * built again instead of being read.
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void readState(StateBuffer in) {
+		super.readState(in);
+		hasScored = in.getBoolean();
+		currentState = STATES[in.getInt()];
+		buildCollisionTemplate();
+		
+		switch (currentState) {
+		case VERTICAL:
+			readShapes(in, verticalShapes);
+			break;
+		case HORIZONTAL:
+			readShapes(in, horizontalShapes);
+			break;
+		case SPINNING:
+			for (int i = 0; i < spinningShapes.length; i++)
+				spinningShapes[i].set(in.getFloat(), in.getFloat(),
+						in.getFloat());
+			break;
+		default:
+			break;
+		}
+	}
+	
+	/**
+	 * Helper method that writes an array of rectangles to a buffer.
+	 * @param out StateBuffer object the rectangles are written to.
+	 * @param shapes Array of rectangles to be written.
+	 * @return void
+	 */
+	private static void writeShapes(StateBuffer out, Rectangle[] shapes) {
+		for (int i = 0; i < shapes.length; i++) {
+			Rectangle r = shapes[i];
+			out.putFloat(r.x).putFloat(r.y).putFloat(r.width).putFloat(r.height);
+		}
+	}
+	
+	/**
+	 * Helper method that reads an array of rectangles from a buffer.
+	 * @param in StateBuffer object the rectangles are read from.
+	 * @param shapes Array of rectangles that are changed.
+	 * @return void
+	 */
+	private static void readShapes(StateBuffer in, Rectangle[] shapes) {
+		for (int i = 0; i < shapes.length; i++)
+			shapes[i].set(in.getFloat(), in.getFloat(), in.getFloat(),
+					in.getFloat());
 	}
 
 	/**
@@ -173,11 +360,21 @@ public class Pencil extends Scrollable {
 		
 		// randomizes the height according to current state
 		if (isVertical())
-			height = random.nextInt(90) + 15;
+			height = random.nextInt(Stream.PENCIL_HEIGHT,
+					difficulty.getVerticalHeights()) +
+					difficulty.getVerticalMinHeight();
 		else if (isHorizontal())
-			height = random.nextInt(70) + 35;
+			height = random.nextInt(Stream.PENCIL_HEIGHT,
+					difficulty.getHorizontalHeights()) +
+					difficulty.getHorizontalMinHeight();
 		else if (isSpinning())
-			height = random.nextInt(20) + 85;
+			height = random.nextInt(Stream.PENCIL_HEIGHT,
+					difficulty.getSpinningHeights()) +
+					difficulty.getSpinningMinHeight();
+		
+		// the collision areas are in place before the next update
+		buildCollisionTemplate();
+		placeCollisionShapes();
 	}
 
 	/**
@@ -190,16 +387,6 @@ public class Pencil extends Scrollable {
 	public void restart(float f, float scrollSpeed) {
 		super.restart(scrollSpeed);
 		setVertical();
-		
-		// resetting the collisions
-		verticalCollisionTop = new Rectangle();
-		verticalCollisionBottom = new Rectangle();
-		horizontalCollisionTop = new Rectangle();
-		horizontalCollisionMiddle = new Rectangle();
-		horizontalCollisionBottom = new Rectangle();
-		spinningCollisionTop = new Circle();
-		spinningCollisionBottom = new Circle();
-		
 		reset(f);
 	}
 
@@ -210,22 +397,41 @@ public class Pencil extends Scrollable {
 	 * @return Boolean representing whether or not the terp has
 	 * collided with a pencil.
 	 */
-	public boolean collides(Terrapin terp) {		
-		// checks if there could be a possible collision
-		return (Intersector.overlaps(terp.getCollisionArea(), 
-				verticalCollisionTop) ||
-				Intersector.overlaps(terp.getCollisionArea(), 
-				verticalCollisionBottom) ||
-				Intersector.overlaps(terp.getCollisionArea(),
-				spinningCollisionBottom) ||
-				Intersector.overlaps(terp.getCollisionArea(),
-				horizontalCollisionMiddle) ||
-				Intersector.overlaps(terp.getCollisionArea(),
-				spinningCollisionTop) ||
-				Intersector.overlaps(terp.getCollisionArea(),
-				horizontalCollisionTop) ||
-				Intersector.overlaps(terp.getCollisionArea(),
-				horizontalCollisionBottom));
+	public boolean collides(Terrapin terp) {
+		return overlaps(terp.getCollisionArea());
+	}
+	
+	/**
+	 * Determines if a circle overlaps any of the collision areas of
+	 * the pencil's current state. The areas of the other states are
+	 * never tested.
+	 * @param c Circle object being tested against the pencil.
+	 * @return Boolean representing whether or not the circle overlaps
+	 * the pencil.
+	 */
+	public boolean overlaps(Circle c) {
+		switch (currentState) {
+		case VERTICAL:
+			for (int i = 0; i < verticalShapes.length; i++) {
+				if (Intersector.overlaps(c, verticalShapes[i]))
+					return true;
+			}
+			return false;
+		case HORIZONTAL:
+			for (int i = 0; i < horizontalShapes.length; i++) {
+				if (Intersector.overlaps(c, horizontalShapes[i]))
+					return true;
+			}
+			return false;
+		case SPINNING:
+			for (int i = 0; i < spinningShapes.length; i++) {
+				if (Intersector.overlaps(c, spinningShapes[i]))
+					return true;
+			}
+			return false;
+		default:
+			return false;
+		}
 	}
 
 	/**
@@ -248,6 +454,50 @@ public class Pencil extends Scrollable {
 		return verticalCollisionBottom;
 	}
 
+	/**
+	 * Returns the x-coordinate of the right side of whatever part of
+	 * the pencil sticks out the furthest, which depends on its state.
+	 * The next pencil is placed after this point.
+	 * @return Float containing the x-coordinate of the pencil's back edge.
+	 */
+	public float getTrailingX() {
+		if (isHorizontal())
+			return horizontalCollisionMiddle.x + horizontalCollisionMiddle.width;
+		else if (isSpinning())
+			return (spinningCollisionBottom.x - spinningCollisionBottom.radius) +
+					(spinningCollisionBottom.radius * 2);
+		
+		return getRightX();
+	}
+	
+	/**
+	 * Returns the x-coordinate of the left edge of the pencil's
+	 * collision areas in its current state.
+	 * @return Float containing the left-most x-coordinate that can collide.
+	 */
+	public float getCollisionLeft() {
+		if (isHorizontal())
+			return position.x - (height / 2.0f) + 15;
+		else if (isSpinning())
+			return position.x + ((width * 3) / 2.0f) - (height / 2.0f);
+		
+		return position.x + 6;
+	}
+	
+	/**
+	 * Returns the x-coordinate of the right edge of the pencil's
+	 * collision areas in its current state.
+	 * @return Float containing the right-most x-coordinate that can collide.
+	 */
+	public float getCollisionRight() {
+		if (isHorizontal())
+			return position.x + (height / 2.0f) + 7;
+		else if (isSpinning())
+			return position.x + ((width * 3) / 2.0f) + (height / 2.0f);
+		
+		return position.x + 6 + (width / 2);
+	}
+	
 	/**
 	 * Returns true if the pencil has been scored on and false if not.
 	 * @return boolean
@@ -1,25 +1,28 @@
 package com.taskew.gameobjects;
 
-import java.util.Random;
-
 import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.math.Circle;
+import com.taskew.gameworld.GameEvents;
 import com.taskew.gameworld.GameWorld;
-import com.taskew.helpers.AssetLoader;
+import com.taskew.helpers.GameRandom;
+import com.taskew.helpers.StateBuffer;
+import com.taskew.helpers.GameRandom.Stream;
 
 /**
  * @author Tyler Askew
  * @version 1.0
  * Creates all of the scrolling objects in the game. Each is initialized
  * and placed at certain coordinates on the screen. Also controls
- * the different speeds and gap lengths of the pencils.
+ * the different speeds and gap lengths of the pencils, which are
+ * kept by an ObstacleManager so there can be any number of them.
  */
 public class ScrollHandler {
 
 	// represents the game world
 	private GameWorld gameWorld;
 	
-	// creates the 3 pencil objects
-	private Pencil pencil1, pencil2, pencil3, pencil4;
+	// keeps all of the pencils moving across the screen
+	private ObstacleManager obstacles;
 	
 	// creates the different collectables
 	private Collectable collectable;
@@ -30,34 +33,62 @@ public class ScrollHandler {
 	// represents the scroll speeds of the objects
 	public static final int NORM_SCROLL_SPEED = -59;
 	private boolean speedIncreased, isShifting;
+	
+	// how much a sped up game slows back down and how much shifting
+	// objects settle each second
+	private static final float SPEED_RECOVERY = .6f;
+	private static final float SHIFT_RECOVERY = .6f;
+	
+	// number of pencils on the screen at once
+	public static final int PENCIL_COUNT = 4;
+	
+	// x-coordinate of the first pencil when the game starts
+	private static final int PENCIL_START = 210;
 		
 	// random number generator to change pencil states
-	private Random random;
+	private GameRandom random;
 	private int randomNum;
+	
+	// decides the gaps between pencils and their speed
+	private Difficulty difficulty;
 
 	
 	/**
 	 * Initializes the pencils within the game and receives the game
 	 * world where these pencils reside.
 	 * @param gameWorld GameWorld object representing the game world.
+	 * @param random GameRandom object used for every random choice.
+	 * @param difficulty Difficulty object deciding how hard the game is.
+	 * @return none
+	 */
+	public ScrollHandler(GameWorld gameWorld, GameRandom random,
+			Difficulty difficulty) {
+		this(gameWorld, PENCIL_COUNT, random, difficulty);
+	}
+	
+	/**
+	 * Initializes the given number of pencils within the game and 
+	 * receives the game world where these pencils reside.
+	 * @param gameWorld GameWorld object representing the game world.
+	 * @param pencilCount Int containing the number of pencils.
+	 * @param random GameRandom object used for every random choice.
+	 * @param difficulty Difficulty object deciding how hard the game is.
 	 * @return none
 	 */
-	public ScrollHandler(GameWorld gameWorld) {
+	public ScrollHandler(GameWorld gameWorld, int pencilCount, 
+			GameRandom random, Difficulty difficulty) {
 		this.gameWorld = gameWorld;
-		random = new Random();
+		this.random = random;
+		this.difficulty = difficulty;
 		randomNum = 0;
 		speedIncreased = false;
 		isShifting = false;
 		
-		pencil1 = new Pencil(210, 0, 22, 60, NORM_SCROLL_SPEED);
-		pencil2 = new Pencil(pencil1.getRightX() + NORM_PENCIL_GAP, 
-				0, 22, 70, NORM_SCROLL_SPEED);
-		pencil3 = new Pencil(pencil2.getRightX() + NORM_PENCIL_GAP, 
-				0, 22, 80, NORM_SCROLL_SPEED);
-		pencil4 = new Pencil(pencil3.getRightX() + NORM_PENCIL_GAP,
-				0, 22, 60, NORM_SCROLL_SPEED);
-		collectable = new Collectable(pencil1.getRightX() + 
-				(NORM_PENCIL_GAP / 2), 0, 10, 10, NORM_SCROLL_SPEED);
+		obstacles = new ObstacleManager(pencilCount, PENCIL_START, 
+				difficulty, random);
+		collectable = new Collectable(obstacles.first().getRightX() + 
+				(difficulty.getPencilGap() / 2.0f), 0, 10, 10, 
+				difficulty.getScrollSpeed(), random, difficulty);
 	}
 	
 	/**
@@ -69,10 +100,7 @@ public class ScrollHandler {
 	 * @return void
 	 */
 	public void update(float delta) {		
-		pencil1.update(delta);
-		pencil2.update(delta);
-		pencil3.update(delta);
-		pencil4.update(delta);
+		obstacles.update(delta);
 		collectable.update(delta);
 		
 		// updates these objects' states and positions
@@ -80,7 +108,7 @@ public class ScrollHandler {
        	updateCollectables();
        	
        	// modifies the game based on collectables and changes in the game
-       	modifyGame();
+       	modifyGame(delta);
 	}
 	
 	/**
@@ -91,15 +119,51 @@ public class ScrollHandler {
 	public void restart() {
 		speedIncreased = false;
 		isShifting = false;
-		pencil1.restart(210, NORM_SCROLL_SPEED);
-		pencil2.restart(pencil1.getRightX() + NORM_PENCIL_GAP, 
-				NORM_SCROLL_SPEED);
-		pencil3.restart(pencil2.getRightX() + NORM_PENCIL_GAP,
-				NORM_SCROLL_SPEED);
-		pencil4.restart(pencil3.getRightX() + NORM_PENCIL_GAP, 
-				NORM_SCROLL_SPEED);
-		collectable.restart(pencil1.getRightX() + (NORM_PENCIL_GAP / 2.0f), 
-				NORM_SCROLL_SPEED);
+		obstacles.restart(PENCIL_START);
+		collectable.restart(obstacles.first().getRightX() + 
+				(difficulty.getPencilGap() / 2.0f), difficulty.getScrollSpeed());
+	}
+	
+	/**
+	 * Makes every scrolling object the same as those of another
+	 * handler, without creating any new objects once the pencils have
+	 * been copied the first time.
+	 * @param other ScrollHandler object to be copied.
+	 * @return void
+	 */
+	public void set(ScrollHandler other) {
+		speedIncreased = other.speedIncreased;
+		isShifting = other.isShifting;
+		randomNum = other.randomNum;
+		obstacles.set(other.obstacles);
+		collectable.set(other.collectable);
+	}
+	
+	/**
+	 * Writes every scrolling object and what the last collectable did
+	 * to a buffer.
+	 * @param out StateBuffer object the state is written to.
+	 * @return void
+	 */
+	public void writeState(StateBuffer out) {
+		out.putBoolean(speedIncreased);
+		out.putBoolean(isShifting);
+		out.putInt(randomNum);
+		obstacles.writeState(out);
+		collectable.writeState(out);
+	}
+	
+	/**
+	 * Reads back a state that was written by writeState().
+	 * @param in StateBuffer object the state is read from.
+	 * @return void
+	 */
+	public void readState(StateBuffer in) {
+		speedIncreased = in.getBoolean();
+		isShifting = in.getBoolean();
+		randomNum = in.getInt();
+		obstacles.readState(in);
+		collectable.readState(in);
 	}
 	
 	/**
@@ -108,10 +172,9 @@ public class ScrollHandler {
 	 * @return void
 	 */
 	public void stop() {
-		pencil1.stop();
-		pencil2.stop();
-		pencil3.stop();
-		pencil4.stop();
+		for (int i = 0; i < obstacles.size(); i++)
+			obstacles.get(i).stop();
+		
 		collectable.stop();
 	}
 	
@@ -124,39 +187,20 @@ public class ScrollHandler {
 	 */
 	public boolean collides(Terrapin terp) {
 		// determining if the player has scored a point
-		if (!pencil1.hasScored() &&
-			pencil1.getLeftX() + (pencil1.getWidth() / 2) <
-			terp.getX() + terp.getWidth()) {
-			gameWorld.addScore(1);
-			pencil1.setScored(true);
-			AssetLoader.score.play();
-		} else if (!pencil2.hasScored() &&
-					pencil2.getLeftX() + (pencil2.getWidth() / 2) <
-					terp.getX() + terp.getWidth()) {
-			gameWorld.addScore(1);
-			pencil2.setScored(true);
-			AssetLoader.score.play();
-		} else if (!pencil3.hasScored() &&
-					pencil3.getLeftX() + (pencil3.getWidth() / 2) <
-					terp.getX() + terp.getWidth()) {
-			gameWorld.addScore(1);
-			pencil3.setScored(true);
-			AssetLoader.score.play();
-		} else if (!pencil4.hasScored() &&
-					pencil4.getLeftX() + (pencil4.getWidth() / 2) <
-					terp.getX() + terp.getWidth()) {
-			gameWorld.addScore(1);
-			pencil4.setScored(true);
-			AssetLoader.score.play();
+		for (int i = 0; i < obstacles.size(); i++) {
+			Pencil p = obstacles.get(i);
+			
+			if (!p.hasScored() && p.getLeftX() + (p.getWidth() / 2) <
+				terp.getX() + terp.getWidth()) {
+				gameWorld.addScore(1);
+				p.setScored(true);
+				gameWorld.emit(GameEvents.Type.SCORED);
+				break;
+			}
 		}
 		
-		
 		if (collectable.collected(terp) && !collectable.isCollected() &&
-			gameWorld.getScore() > 4 && 
-			!(collectable.collectableCollidesPencil(pencil1) ||
-					collectable.collectableCollidesPencil(pencil2) ||
-					collectable.collectableCollidesPencil(pencil3) ||
-					collectable.collectableCollidesPencil(pencil4))) {
+			gameWorld.getScore() > 4 && !collectableCollidesPencils()) {
 			// determines which action to do corresponding to the collectable
 			if (collectable.isM())
 				gameWorld.addScore(5);
@@ -169,121 +213,74 @@ public class ScrollHandler {
 				gameWorld.setEnlargedScoreCount(gameWorld.getScore());
 			}
 				
-			// plays collect sound and marks collectable as being collected
+			// marks collectable as being collected and plays collect sound
 			collectable.setCollected(true);
-			AssetLoader.collect.play();
+			gameWorld.emit(GameEvents.Type.COLLECTED);
+		}
+		
+		// only the pencils lined up with the terp are tested in full
+		Circle area = terp.getCollisionArea();
+		for (int i = obstacles.firstNear(area.x - area.radius); 
+				i < obstacles.size(); i++) {
+			Pencil p = obstacles.getSorted(i);
+			
+			if (p.getCollisionLeft() > area.x + area.radius)
+				break;
+			
+			if (p.collides(terp))
+				return true;
 		}
 		
-		return (pencil1.collides(terp) || pencil2.collides(terp) ||
-				pencil3.collides(terp) || pencil4.collides(terp));
+		return false;
 	}
 	
 	/**
-	 * Updates all of the pencils' states and positions if it
-	 * is done scrolling across the screen.
+	 * Determines if the collectable overlaps any of the pencils, in
+	 * which case it can not be collected or seen.
+	 * @return boolean
+	 */
+	public boolean collectableCollidesPencils() {
+		// only the pencils lined up with the collectable are tested in full
+		Circle area = collectable.getCollisionArea();
+		for (int i = obstacles.firstNear(area.x - area.radius); 
+				i < obstacles.size(); i++) {
+			Pencil p = obstacles.getSorted(i);
+			
+			if (p.getCollisionLeft() > area.x + area.radius)
+				break;
+			
+			if (collectable.collectableCollidesPencil(p))
+				return true;
+		}
+		
+		return false;
+	}
+	
+	/**
+	 * Replaces the left-most pencil once it is done scrolling across
+	 * the screen with one placed after the right-most pencil.
 	 */
 	private void updatePencils() {
-		if (pencil1.isFinishedScrolling()) {			
-			randomNum = random.nextInt(100) + 1;
-
-			// randomly changes pencil states
-			if (gameWorld.getScore() > 4) {
-				if (randomNum >= 1 && randomNum <= 20)
-					pencil1.setVertical();
-				else if (randomNum >= 30 && randomNum <= 50)
-					pencil1.setHorizontal();
-				else if (randomNum >= 60 && randomNum <= 80)
-					pencil1.spin();
-			}
-			                    	
-            // sets new position depending on the different pencil states
-            if (pencil4.isVertical())
-            	pencil1.reset(pencil4.getRightX() + NORM_PENCIL_GAP);
-            else if (pencil4.isHorizontal())
-            	pencil1.reset(pencil4.getHorizontalCollisionMiddle().x +
-            			pencil4.getHorizontalCollisionMiddle().width +
-            			NORM_PENCIL_GAP);
-            else if (pencil4.isSpinning())
-            	pencil1.reset((pencil4.getSpinningCollisionBottom().x -
-            			pencil4.getSpinningCollisionBottom().radius) + 
-            			(pencil4.getSpinningCollisionBottom().radius * 2) +
-            			NORM_PENCIL_GAP);
-        } else if (pencil2.isFinishedScrolling()) {  
-        	randomNum = random.nextInt(100) + 1;
-
-        	// randomly changes pencil states
-			if (gameWorld.getScore() > 4) {
-				if (randomNum >= 1 && randomNum <= 20)
-					pencil2.setVertical();
-				else if (randomNum >= 30 && randomNum <= 50)
-					pencil2.setHorizontal();
-				else if (randomNum >= 60 && randomNum <= 80)
-						pencil2.spin();
-			}
-                    	
-            // sets new position depending on the different pencil states
-        	if (pencil1.isVertical())
-        		pencil2.reset(pencil1.getRightX() + NORM_PENCIL_GAP);
-        	else if (pencil1.isHorizontal())
-        		pencil2.reset(pencil1.getHorizontalCollisionMiddle().x +
-        				pencil1.getHorizontalCollisionMiddle().width +
-        				NORM_PENCIL_GAP);
-        	else if (pencil1.isSpinning())
-        		pencil2.reset((pencil1.getSpinningCollisionBottom().x -
-        				pencil1.getSpinningCollisionBottom().radius) + 
-        				(pencil1.getSpinningCollisionBottom().radius * 2) +
-        				NORM_PENCIL_GAP);
-        } else if (pencil3.isFinishedScrolling()) { 
-        	randomNum = random.nextInt(100) + 1;
-
-        	// randomly changes pencil states
-			if (gameWorld.getScore() > 4) {
-				if (randomNum >= 1 && randomNum <= 20)
-					pencil3.setVertical();
-				else if (randomNum >= 30 && randomNum <= 50)
-					pencil3.setHorizontal();
-				else if (randomNum >= 60 && randomNum <= 80)
-						pencil3.spin();
-			}
-
-            // sets new position depending on the different pencil states
-        	if (pencil2.isVertical())
-        		pencil3.reset(pencil2.getRightX() + NORM_PENCIL_GAP);
-        	else if (pencil2.isHorizontal())
-        		pencil3.reset(pencil2.getHorizontalCollisionMiddle().x +
-        				pencil2.getHorizontalCollisionMiddle().width +
-        				NORM_PENCIL_GAP);
-        	else if (pencil2.isSpinning())
-        		pencil3.reset((pencil2.getSpinningCollisionBottom().x -
-        				pencil2.getSpinningCollisionBottom().radius) + 
-        				(pencil2.getSpinningCollisionBottom().radius * 2) +
-        				NORM_PENCIL_GAP);
-        } else if (pencil4.isFinishedScrolling()) {
-        	randomNum = random.nextInt(100) + 1;
+		if (!obstacles.first().isFinishedScrolling())
+			return;
+		
+		// sets new position depending on the last pencil's state
+		float newX = obstacles.last().getTrailingX() + 
+				difficulty.getPencilGap();
+		Pencil p = obstacles.recycle();
+		randomNum = random.nextInt(Stream.PENCIL_STATE, 100) + 1;
 
-        	// randomly changes pencil states
-			if (gameWorld.getScore() > 4) {
-				if (randomNum >= 1 && randomNum <= 20)
-					pencil4.setVertical();
-				else if (randomNum >= 30 && randomNum <= 50)
-					pencil4.setHorizontal();
-				else if (randomNum >= 60 && randomNum <= 80)
-						pencil4.spin();
-			}
-        	
-            // sets new position depending on the different pencil states
-        	if (pencil3.isVertical())
-        		pencil4.reset(pencil3.getRightX() + NORM_PENCIL_GAP);
-        	else if (pencil3.isHorizontal())
-        		pencil4.reset(pencil3.getHorizontalCollisionMiddle().x +
-        				pencil3.getHorizontalCollisionMiddle().width +
-        				NORM_PENCIL_GAP);
-        	else if (pencil3.isSpinning())
-        		pencil4.reset((pencil3.getSpinningCollisionBottom().x -
-        				pencil3.getSpinningCollisionBottom().radius) + 
-        				(pencil3.getSpinningCollisionBottom().radius * 2) +
-        				NORM_PENCIL_GAP);
-        }
+		// randomly changes pencil states
+		if (gameWorld.getScore() > 4) {
+			if (randomNum >= 1 && randomNum <= 20)
+				p.setVertical();
+			else if (randomNum >= 30 && randomNum <= 50)
+				p.setHorizontal();
+			else if (randomNum >= 60 && randomNum <= 80)
+				p.spin();
+		}
+		
+		p.reset(newX);
 	}
 	
 	/**
@@ -293,7 +290,7 @@ public class ScrollHandler {
 	private void updateCollectables() {
         if (collectable.isFinishedScrolling() &&
         		gameWorld.getScore() > 4) {
-        	randomNum = random.nextInt(4) + 1;
+        	randomNum = random.nextInt(Stream.COLLECTABLE_TYPE, 4) + 1;
 
         	// randomly changes the type of collectable
         	if (randomNum == 1)
@@ -305,19 +302,11 @@ public class ScrollHandler {
         	else if (randomNum == 4)
         		collectable.setCoffee();
 
-        	// determines where to randomly place the collectable
-        	if (randomNum == 1 && pencil1.getLeftX() >= 210)
-        		collectable.reset(pencil1.getRightX() + 
-        				(NORM_PENCIL_GAP / 2.0f));
-        	else if (randomNum == 2 && pencil2.getLeftX() >= 210)
-        		collectable.reset(pencil2.getRightX() +
-        				(NORM_PENCIL_GAP / 2.0f));
-        	else if (randomNum == 3 && pencil3.getLeftX() >= 210)
-        		collectable.reset(pencil3.getRightX() +
-        				(NORM_PENCIL_GAP / 2.0f));
-        	else if (randomNum == 4 && pencil4.getLeftX() >= 210)
-        		collectable.reset(pencil4.getRightX() +
-        				(NORM_PENCIL_GAP / 2.0f));
+        	// places the collectable behind a pencil that is still off screen
+        	Pencil p = obstacles.get((randomNum - 1) % obstacles.size());
+        	if (p.getLeftX() >= PENCIL_START)
+        		collectable.reset(p.getRightX() + 
+        				(difficulty.getPencilGap() / 2.0f));
         }
 	}
 	
@@ -325,30 +314,30 @@ public class ScrollHandler {
 	 * Modifies the game if a player has hit the beer or coffee
 	 * collectable. Also, decreases the amount of speed and shifting
 	 * gradually, if these have been altered by the player.
+	 * @param delta Float containing number of seconds since the last
+	 * time this method was called.
 	 */
-	private void modifyGame() {
+	private void modifyGame(float delta) {
 		/* 
 		 * If the player hits a coffee collectable, 
 		 * the speed of the objects increase.
 		 */
         if (speedIncreased) {
-        	pencil1.modifyScrollSpeed(10);
-        	pencil2.modifyScrollSpeed(10);
-        	pencil3.modifyScrollSpeed(10);
-        	pencil4.modifyScrollSpeed(10);
+        	for (int i = 0; i < obstacles.size(); i++)
+        		obstacles.get(i).modifyScrollSpeed(10);
+        	
         	collectable.modifyScrollSpeed(10);
         	speedIncreased = false;
         }
                 
         /* 
-         * If the player hits a beer collectable,
-         * the objects in the game start shifting vertically.
+         * If the player hits a beer collectable, the objects in the game
+         * start shifting vertically, every other pencil twice as much.
          */
         if (isShifting) {
-        	pencil1.shift(5);
-        	pencil2.shift(10);
-        	pencil3.shift(5);
-        	pencil4.shift(10);
+        	for (int i = 0; i < obstacles.size(); i++)
+        		obstacles.get(i).shift((i % 2 == 0) ? 5 : 10);
+        	
         	collectable.shift(7);
         	isShifting = false;
         }
@@ -358,31 +347,24 @@ public class ScrollHandler {
          * Only one of the altered objects needs to be compared to the normal
          * scroll speed because they all get changed equally at the same time.
          */
-        if (pencil1.getScrollingSpeed() < NORM_SCROLL_SPEED) {
-        	pencil1.modifyScrollSpeed(-.01f);
-        	pencil2.modifyScrollSpeed(-.01f);
-        	pencil3.modifyScrollSpeed(-.01f);
-        	pencil4.modifyScrollSpeed(-.01f);
-        	collectable.modifyScrollSpeed(-.01f);
+        if (obstacles.first().getScrollingSpeed() < 
+        		difficulty.getScrollSpeed()) {
+        	for (int i = 0; i < obstacles.size(); i++)
+        		obstacles.get(i).modifyScrollSpeed(-SPEED_RECOVERY * delta);
+        	
+        	collectable.modifyScrollSpeed(-SPEED_RECOVERY * delta);
         }
         
         /*
          * Gradually decreases the shifting amount if its been altered.
          */
-        if (pencil1.getShiftAmount() > 0)
-        	pencil1.shift(-.01f);
-        
-        if (pencil2.getShiftAmount() > 0)
-        	pencil2.shift(-.01f);
-
-        if (pencil3.getShiftAmount() > 0)
-        	pencil3.shift(-.01f);
-
-        if (pencil4.getShiftAmount() > 0)
-        	pencil4.shift(-.01f);
+        for (int i = 0; i < obstacles.size(); i++) {
+        	if (obstacles.get(i).getShiftAmount() > 0)
+        		obstacles.get(i).shift(-SHIFT_RECOVERY * delta);
+        }
 
         if (collectable.getShiftAmount() > 0)
-        	collectable.shift(-.01f);
+        	collectable.shift(-SHIFT_RECOVERY * delta);
         
         /*
          * Changes the terp's size back to normal once the player
@@ -394,35 +376,11 @@ public class ScrollHandler {
 	}
 	
 	/**
-	 * Returns the first pencil.
-	 * @return Pencil object representing the first pencil.
-	 */
-	public Pencil getPencil1() {
-		return pencil1;
-	}
-	
-	/**
-	 * Returns the second pencil.
-	 * @return Pencil object representing the second pencil.
-	 */
-	public Pencil getPencil2() {
-		return pencil2;
-	}
-	
-	/**
-	 * Returns the third pencil.
-	 * @return Pencil object representing the third pencil.
-	 */
-	public Pencil getPencil3() {
-		return pencil3;
-	}
-	
-	/**
-	 * Returns the fourth pencil.
-	 * @return Pencil object representing the fourth pencil.
+	 * Returns the manager holding every pencil in the game.
+	 * @return ObstacleManager object containing the pencils.
 	 */
-	public Pencil getPencil4() {
-		return pencil4;
+	public ObstacleManager getObstacles() {
+		return obstacles;
 	}
 	
 	/**
@@ -1,9 +1,8 @@
 package com.taskew.gameobjects;
 
-import java.util.Random;
-
 import com.badlogic.gdx.Gdx;
 import com.badlogic.gdx.math.Vector2;
+import com.taskew.helpers.StateBuffer;
 
 /**
  * @author Tyler Askew
@@ -16,13 +15,19 @@ public class Scrollable {
 
 	// Variables
 	protected Vector2 position, velocity;
+	
+	// position at the start of the last update, used for interpolation
+	protected Vector2 previousPosition;
 	protected int width, height;
 	protected float startingY, shiftAmount;
-	protected int rotation;
+	protected float rotation;
+	
+	// rotation at the start of the last update, used for interpolation
+	protected float previousRotation;
 	protected boolean finishedScroll, isShifting, shiftSwitch;
 	
-	// used to calculate random heights
-	protected Random random;
+	// decides how fast the object may scroll
+	protected Difficulty difficulty;
 	
 	/**
 	 * Constructor that creates a new Scrollable object with
@@ -32,14 +37,16 @@ public class Scrollable {
 	 * @param width Int holding the width of the object.
 	 * @param height Int holding the height of the object.
 	 * @param scrollSpeed Float containing the speed of the scrolling object.
+	 * @param difficulty Difficulty object shared by the whole game.
 	 * @return none
 	 */
 	public Scrollable(float x, float y, 
-			int width, int height, float scrollSpeed) {
+			int width, int height, float scrollSpeed, Difficulty difficulty) {
 		position = new Vector2(x, y);
+		previousPosition = new Vector2(position);
 		velocity = new Vector2(scrollSpeed, 0);
 		startingY = position.y;
-		random = new Random();
+		this.difficulty = difficulty;
 		this.width = width;
 		this.height = height;
 		finishedScroll = false;
@@ -47,6 +54,7 @@ public class Scrollable {
 		shiftSwitch = false;
 		shiftAmount = 0;
 		rotation = 0;
+		previousRotation = 0;
 	}
 	
 	/**
@@ -58,7 +66,9 @@ public class Scrollable {
 	 * @return void
 	 */
 	public void update(float delta) {
-		position.add(velocity.cpy().scl(delta));
+		previousPosition.set(position);
+		previousRotation = rotation;
+		position.mulAdd(velocity, delta);
 		
 		// shifts the objects up and down by the shiftAmount
 		if (isShifting) {
@@ -87,6 +97,9 @@ public class Scrollable {
 	public void reset(float newX) {
 		position.x = newX;
 		finishedScroll = false;
+		
+		// jumps straight to the new position instead of interpolating to it
+		previousPosition.set(position);
 	}
 	
 	/**
@@ -97,11 +110,70 @@ public class Scrollable {
 	public void restart(float scrollSpeed) {
 		velocity.x = scrollSpeed;
 		position.y = startingY;
+		previousPosition.set(position);
 		isShifting = false;
 		shiftSwitch = false;
 		shiftAmount = 0;
 	}
 	
+	/**
+	 * Makes this object the same as another one, without creating any
+	 * new objects. Both are expected to share the same difficulty.
+	 * @param other Scrollable object to be copied.
+	 * @return void
+	 */
+	public void set(Scrollable other) {
+		position.set(other.position);
+		previousPosition.set(other.previousPosition);
+		velocity.set(other.velocity);
+		width = other.width;
+		height = other.height;
+		startingY = other.startingY;
+		shiftAmount = other.shiftAmount;
+		rotation = other.rotation;
+		previousRotation = other.previousRotation;
+		finishedScroll = other.finishedScroll;
+		isShifting = other.isShifting;
+		shiftSwitch = other.shiftSwitch;
+	}
+	
+	/**
+	 * Writes everything that changes during a game to a buffer.
+	 * @param out StateBuffer object the state is written to.
+	 * @return void
+	 */
+	public void writeState(StateBuffer out) {
+		out.putFloat(position.x).putFloat(position.y);
+		out.putFloat(previousPosition.x).putFloat(previousPosition.y);
+		out.putFloat(velocity.x).putFloat(velocity.y);
+		out.putInt(width).putInt(height);
+		out.putFloat(startingY).putFloat(shiftAmount);
+		out.putFloat(rotation).putFloat(previousRotation);
+		out.putBoolean(finishedScroll);
+		out.putBoolean(isShifting);
+		out.putBoolean(shiftSwitch);
+	}
+	
+	/**
+	 * Reads back a state that was written by writeState().
+	 * @param in StateBuffer object the state is read from.
+	 * @return void
+	 */
+	public void readState(StateBuffer in) {
+		position.set(in.getFloat(), in.getFloat());
+		previousPosition.set(in.getFloat(), in.getFloat());
+		velocity.set(in.getFloat(), in.getFloat());
+		width = in.getInt();
+		height = in.getInt();
+		startingY = in.getFloat();
+		shiftAmount = in.getFloat();
+		rotation = in.getFloat();
+		previousRotation = in.getFloat();
+		finishedScroll = in.getBoolean();
+		isShifting = in.getBoolean();
+		shiftSwitch = in.getBoolean();
+	}
+	
 	/**
 	 * Stops the scrolling objects from scrolling across the screen.
 	 * @return void
@@ -134,6 +206,28 @@ public class Scrollable {
 		return position.y;
 	}
 	
+	/**
+	 * Returns the x-coordinate of the left side of the object
+	 * interpolated between the last two updates.
+	 * @param alpha Float between 0 and 1 containing how far the current
+	 * frame is between the previous update and the latest one.
+	 * @return Float containing the interpolated x-coordinate.
+	 */
+	public float getRenderX(float alpha) {
+		return previousPosition.x + (position.x - previousPosition.x) * alpha;
+	}
+	
+	/**
+	 * Returns the y-coordinate of the object interpolated between the
+	 * last two updates.
+	 * @param alpha Float between 0 and 1 containing how far the current
+	 * frame is between the previous update and the latest one.
+	 * @return Float containing the interpolated y-coordinate.
+	 */
+	public float getRenderY(float alpha) {
+		return previousPosition.y + (position.y - previousPosition.y) * alpha;
+	}
+	
 	/**
 	 * Returns the width of the object.
 	 * @return Int containing the width of the object.
@@ -152,25 +246,37 @@ public class Scrollable {
 	
 	/**
 	 * Returns the rotation of the object.
-	 * @return Int containing the rotation of the object.
+	 * @return Float containing the rotation of the object.
 	 */
-	public int getRotation() {
+	public float getRotation() {
 		return rotation;
 	}
 	
+	/**
+	 * Returns the rotation of the object interpolated between the last
+	 * two updates.
+	 * @param alpha Float between 0 and 1 containing how far the current
+	 * frame is between the previous update and the latest one.
+	 * @return Float containing the interpolated rotation.
+	 */
+	public float getRenderRotation(float alpha) {
+		return previousRotation + (rotation - previousRotation) * alpha;
+	}
+	
 	/**
 	 * Rotates the object to a different starting position.
-	 * @param r Int containing the degrees to rotate.
+	 * @param r Float containing the degrees to rotate.
 	 */
-	public void setStartingRotation(int r) {
+	public void setStartingRotation(float r) {
 		rotation = r;
+		previousRotation = r;
 	}
 	
 	/**
 	 * Rotates the object by whatever degree is given.
-	 * @param r Int containing the new rotation addition.
+	 * @param r Float containing the new rotation addition.
 	 */
-	public void rotate(int r) {
+	public void rotate(float r) {
 		rotation += r;
 	}
 	
@@ -215,10 +321,20 @@ public class Scrollable {
 	 */
 	public void modifyScrollSpeed(float s) {
 		// puts a cap on the scrolling speed
-		if (velocity.x > -89)
+		if (velocity.x > difficulty.getSpeedCap())
 			velocity.x -= s;
 	}
 	
+	/**
+	 * Changes the scroll speed of the object to the speed of another
+	 * scrolling object.
+	 * @param other Scrollable object whose speed is copied.
+	 * @return void
+	 */
+	public void matchSpeed(Scrollable other) {
+		velocity.x = other.velocity.x;
+	}
+	
 	/**
 	 * Sets the isShifting variable to true and then adds the parameter
 	 * amount to the shifting amount of the object.
@@ -3,7 +3,7 @@ package com.taskew.gameobjects;
 import com.badlogic.gdx.Gdx;
 import com.badlogic.gdx.math.Circle;
 import com.badlogic.gdx.math.Vector2;
-import com.taskew.helpers.AssetLoader;
+import com.taskew.helpers.StateBuffer;
 
 /**
  * @author Tyler Askew
@@ -16,11 +16,18 @@ public class Terrapin {
 	// Represents terp's position, speed, and change in speed.
 	private Vector2 position, startingPosition, velocity, acceleration;
 	
-	// Terp's width and height
+	// position at the start of the last update, used for interpolation
+	private Vector2 previousPosition;
+	
+	// Terp's width and height, and the size it goes back to
 	private int width, height;
+	private int normalWidth, normalHeight;
 	
 	// terp's rotation 
 	private float rotation;
+	
+	// rotation at the start of the last update, used for interpolation
+	private float previousRotation;
 		
 	// circle around the turtle used for collision detection
 	private Circle collisionArea;
@@ -33,6 +40,7 @@ public class Terrapin {
 	private enum SizeState {
 		NORMAL, ENLARGED
 	}
+	private static final SizeState[] STATES = SizeState.values();
 			
 	/**
 	 * Constructor that creates a new Terrapin with the specified
@@ -47,11 +55,15 @@ public class Terrapin {
 	public Terrapin(float x, float y, int width, int height) {
 		this.width = width;
 		this.height = height;
+		normalWidth = width;
+		normalHeight = height;
 		startingPosition = new Vector2(x, y);
 		position = new Vector2(startingPosition);
+		previousPosition = new Vector2(startingPosition);
 		velocity = new Vector2(0, 0);
 		acceleration = new Vector2(0, 460);
 		rotation = 0;
+		previousRotation = 0;
 		collisionArea = new Circle();
 		isAlive = true;
 		currentState = SizeState.NORMAL;
@@ -68,7 +80,9 @@ public class Terrapin {
 	 * @return void
 	 */
 	public void update(float delta) {
-		velocity.add(acceleration.cpy().scl(delta));
+		previousPosition.set(position);
+		previousRotation = rotation;
+		velocity.mulAdd(acceleration, delta);
 		
 		// this sets a terminal velocity
 		if (velocity.y > 200)
@@ -108,7 +122,7 @@ public class Terrapin {
 				rotation = 90;
 		}
 				
-		position.add(velocity.cpy().scl(delta));
+		position.mulAdd(velocity, delta);
 	}
 	
 	/**
@@ -137,11 +151,13 @@ public class Terrapin {
 	public void restart() {
 		position.x = startingPosition.x;
 		position.y = startingPosition.y;
+		previousPosition.set(position);
 		velocity.x = 0;
 		velocity.y = 0;
 		acceleration.x = 0;
 		acceleration.y = 460;
 		rotation = 0;
+		previousRotation = 0;
 		isAlive = true;
 		
 		// resets the size and state if necessary
@@ -149,6 +165,71 @@ public class Terrapin {
 			normalize();
 	}
 	
+	/**
+	 * Makes this terrapin the same as another one, without creating
+	 * any new objects.
+	 * @param other Terrapin object to be copied.
+	 * @return void
+	 */
+	public void set(Terrapin other) {
+		position.set(other.position);
+		startingPosition.set(other.startingPosition);
+		previousPosition.set(other.previousPosition);
+		velocity.set(other.velocity);
+		acceleration.set(other.acceleration);
+		width = other.width;
+		height = other.height;
+		normalWidth = other.normalWidth;
+		normalHeight = other.normalHeight;
+		rotation = other.rotation;
+		previousRotation = other.previousRotation;
+		collisionArea.set(other.collisionArea);
+		isAlive = other.isAlive;
+		currentState = other.currentState;
+	}
+	
+	/**
+	 * Writes everything that changes during a game to a buffer.
+	 * @param out StateBuffer object the state is written to.
+	 * @return void
+	 */
+	public void writeState(StateBuffer out) {
+		out.putFloat(position.x).putFloat(position.y);
+		out.putFloat(startingPosition.x).putFloat(startingPosition.y);
+		out.putFloat(previousPosition.x).putFloat(previousPosition.y);
+		out.putFloat(velocity.x).putFloat(velocity.y);
+		out.putFloat(acceleration.x).putFloat(acceleration.y);
+		out.putInt(width).putInt(height);
+		out.putInt(normalWidth).putInt(normalHeight);
+		out.putFloat(rotation).putFloat(previousRotation);
+		out.putFloat(collisionArea.x).putFloat(collisionArea.y)
+				.putFloat(collisionArea.radius);
+		out.putBoolean(isAlive);
+		out.putInt(currentState.ordinal());
+	}
+	
+	/**
+	 * Reads back a state that was written by writeState().
+	 * @param in StateBuffer object the state is read from.
+	 * @return void
+	 */
+	public void readState(StateBuffer in) {
+		position.set(in.getFloat(), in.getFloat());
+		startingPosition.set(in.getFloat(), in.getFloat());
+		previousPosition.set(in.getFloat(), in.getFloat());
+		velocity.set(in.getFloat(), in.getFloat());
+		acceleration.set(in.getFloat(), in.getFloat());
+		width = in.getInt();
+		height = in.getInt();
+		normalWidth = in.getInt();
+		normalHeight = in.getInt();
+		rotation = in.getFloat();
+		previousRotation = in.getFloat();
+		collisionArea.set(in.getFloat(), in.getFloat(), in.getFloat());
+		isAlive = in.getBoolean();
+		currentState = STATES[in.getInt()];
+	}
+	
 	/**
 	 * The actions that are taken when a user presses on
 	 * the screen. Basically, this is the jumping action for our
@@ -156,10 +237,8 @@ public class Terrapin {
 	 * @return void
 	 */
 	public void onClick() {
-		if (isAlive()) {
+		if (isAlive())
 			velocity.y = -140;
-			AssetLoader.flap.play();
-		}
 	}
 	
 	/**
@@ -178,6 +257,37 @@ public class Terrapin {
 		return position.y;
 	}
 
+	/**
+	 * Returns the vertical speed of the terrapin. Negative values
+	 * mean the terp is moving up the screen.
+	 * @return Float containing the vertical speed of the terp.
+	 */
+	public float getVelocityY() {
+		return velocity.y;
+	}
+	
+	/**
+	 * Returns the x-coordinate of the terrapin interpolated between the
+	 * last two updates.
+	 * @param alpha Float between 0 and 1 containing how far the current
+	 * frame is between the previous update and the latest one.
+	 * @return Float containing the interpolated x-coordinate.
+	 */
+	public float getRenderX(float alpha) {
+		return previousPosition.x + (position.x - previousPosition.x) * alpha;
+	}
+	
+	/**
+	 * Returns the y-coordinate of the terrapin interpolated between the
+	 * last two updates.
+	 * @param alpha Float between 0 and 1 containing how far the current
+	 * frame is between the previous update and the latest one.
+	 * @return Float containing the interpolated y-coordinate.
+	 */
+	public float getRenderY(float alpha) {
+		return previousPosition.y + (position.y - previousPosition.y) * alpha;
+	}
+
 	/**
 	 * Returns the width of the terrapin.
 	 * @return Float displaying the width of the terp.
@@ -202,6 +312,17 @@ public class Terrapin {
 		return rotation;
 	}
 	
+	/**
+	 * Returns the rotation of the terrapin interpolated between the
+	 * last two updates.
+	 * @param alpha Float between 0 and 1 containing how far the current
+	 * frame is between the previous update and the latest one.
+	 * @return Float containing the interpolated rotation.
+	 */
+	public float getRenderRotation(float alpha) {
+		return previousRotation + (rotation - previousRotation) * alpha;
+	}
+	
 	/**
 	 * Returns the collision circle of the terrapin.
 	 * @return Circle representing the collision area of the terrapin.
@@ -268,8 +389,10 @@ public class Terrapin {
 	 * @return void
 	 */
 	public void normalize() {
-		width = (int) (width / 1.5);
-		height = (int) (height / 1.5);
+		// dividing back down would round 15 to 14, so the
+		// original size is used instead
+		width = normalWidth;
+		height = normalHeight;
 		currentState = SizeState.NORMAL;
 	}
 	
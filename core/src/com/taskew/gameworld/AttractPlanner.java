@@ -0,0 +1,280 @@
+package com.taskew.gameworld;
+
+import com.badlogic.gdx.utils.TimeUtils;
+
+/**
+ * @author Tyler Askew
+ * @version 1.0
+ * Plays the game on its own behind the main menu. Every few updates it
+ * copies the world into worlds of its own and plays a few hundred
+ * milliseconds ahead, choosing to jump or not at each step, to find out
+ * if jumping now keeps the terp alive longer than not jumping. The
+ * search stops early once it has used up its number of updates or its
+ * time, so it never takes much of a frame. How long each search took is
+ * kept so the cost can be checked on a real device.
+ */
+public class AttractPlanner {
+
+	// updates between two choices and number of choices looked ahead
+	public static final int DEFAULT_DECISION_TICKS = 6;
+	public static final int DEFAULT_DEPTH = 8;
+
+	// most updates and nanoseconds a single search may use
+	public static final int DEFAULT_TICK_BUDGET = 240;
+	public static final long DEFAULT_TIME_BUDGET = 800000;
+
+	// the world being played
+	private GameWorld world;
+
+	// copies of the world at the start of each choice being looked at
+	private GameWorld[] branches;
+	
+	// choices being tried and the last line of choices that made it to
+	// the end, which is tried first next time since it still works
+	private boolean[] line, plan;
+	private boolean hasPlan;
+
+	// length of one update
+	private float step;
+
+	// how far ahead to look and how much a search may use
+	private int decisionTicks, depth, tickBudget;
+	private long timeBudget;
+
+	// what is left of the budgets during a search
+	private int ticksLeft;
+	private long deadline;
+	private boolean outOfBudget;
+
+	// how long the searches have taken
+	private long lastNanos, maxNanos, totalNanos, simulatedTicks;
+	private int searches, exhaustedSearches;
+
+	/**
+	 * Constructor that creates a planner for the given world with the
+	 * default look ahead and budgets.
+	 * @param world GameWorld object to be played.
+	 * @param tickRate Int containing the updates per second of the world.
+	 * @return none
+	 */
+	public AttractPlanner(GameWorld world, int tickRate) {
+		this(world, tickRate, DEFAULT_DECISION_TICKS, DEFAULT_DEPTH,
+				DEFAULT_TICK_BUDGET, DEFAULT_TIME_BUDGET);
+	}
+
+	/**
+	 * Constructor that creates a planner for the given world.
+	 * @param world GameWorld object to be played.
+	 * @param tickRate Int containing the updates per second of the world.
+	 * @param decisionTicks Int containing the updates between two choices.
+	 * @param depth Int containing the number of choices looked ahead.
+	 * @param tickBudget Int containing the most updates a search may run.
+	 * @param timeBudget Long containing the most nanoseconds a search
+	 * may take.
+	 * @return none
+	 */
+	public AttractPlanner(GameWorld world, int tickRate, int decisionTicks,
+			int depth, int tickBudget, long timeBudget) {
+		this.world = world;
+		step = 1.0f / tickRate;
+		this.decisionTicks = decisionTicks;
+		this.depth = depth;
+		this.tickBudget = tickBudget;
+		this.timeBudget = timeBudget;
+
+		line = new boolean[depth];
+		plan = new boolean[depth];
+		hasPlan = false;
+
+		// the copies are made once and then only ever set
+		branches = new GameWorld[depth + 1];
+		for (int i = 0; i < branches.length; i++) {
+			branches[i] = new GameWorld(world.getMidScreen(), 0,
+					world.getDifficulty());
+			branches[i].set(world);
+		}
+
+		resetStats();
+	}
+
+	/**
+	 * Determines if the terp should jump before the next update. Only
+	 * searches when a new choice is due, every other update is free.
+	 * @return Boolean, returns true if the planner wants to jump.
+	 */
+	public boolean shouldFlap() {
+		if (!isAlive(world) || world.getTicks() % decisionTicks != 0)
+			return false;
+
+		long start = TimeUtils.nanoTime();
+		ticksLeft = tickBudget;
+		deadline = start + timeBudget;
+		outOfBudget = false;
+
+		// tries the more likely choice first and only tries the
+		// other one if the first does not make it to the end
+		int horizon = depth * decisionTicks;
+		branches[0].set(world);
+		boolean usePlan = hasPlan;
+		hasPlan = false;
+		boolean flap = guess(0, world, usePlan);
+		int survived = search(0, flap, usePlan);
+		if (survived < horizon && search(0, !flap, usePlan) > survived)
+			flap = !flap;
+
+		lastNanos = TimeUtils.nanoTime() - start;
+		maxNanos = Math.max(maxNanos, lastNanos);
+		totalNanos += lastNanos;
+		searches++;
+		if (outOfBudget)
+			exhaustedSearches++;
+
+		return flap;
+	}
+
+	/**
+	 * Plays one choice ahead from a copy of the world and then the
+	 * choices after it, stopping at the first line of choices that
+	 * keeps the terp alive to the end.
+	 * @param d Int containing which choice is being made.
+	 * @param flap Boolean containing if the terp jumps for this choice.
+	 * @param usePlan Boolean containing if the last plan is tried first.
+	 * @return Int containing the most updates the terp stayed alive for,
+	 * counted from the start of the search.
+	 */
+	private int search(int d, boolean flap, boolean usePlan) {
+		line[d] = flap;
+		GameWorld branch = branches[d + 1];
+		branch.set(branches[d]);
+		if (flap)
+			branch.flap();
+
+		int start = d * decisionTicks;
+		for (int i = 0; i < decisionTicks; i++) {
+			// a line that runs out of budget counts as far as it got
+			if (ticksLeft == 0 || TimeUtils.nanoTime() > deadline) {
+				outOfBudget = true;
+				return start + i;
+			}
+
+			branch.update(step);
+			ticksLeft--;
+			simulatedTicks++;
+
+			if (!isAlive(branch))
+				return start + i;
+		}
+
+		if (d + 1 == depth) {
+			// the search ends here, so the plan is not read again
+			System.arraycopy(line, 0, plan, 0, depth);
+			hasPlan = true;
+			return depth * decisionTicks;
+		}
+
+		boolean next = guess(d + 1, branch, usePlan);
+		int survived = search(d + 1, next, usePlan);
+		if (survived < depth * decisionTicks)
+			survived = Math.max(survived, search(d + 1, !next, usePlan));
+
+		return survived;
+	}
+	
+	/**
+	 * Picks the choice to try first. The world only moves by a single
+	 * choice between searches, so the rest of the last plan still keeps
+	 * the terp alive and only the last choice has to be guessed.
+	 * @param d Int containing which choice is being made.
+	 * @param w GameWorld object the choice is made in.
+	 * @param usePlan Boolean containing if the last plan can be used.
+	 * @return Boolean, returns true if jumping should be tried first.
+	 */
+	private boolean guess(int d, GameWorld w, boolean usePlan) {
+		if (usePlan && d + 1 < depth)
+			return plan[d + 1];
+		
+		return prefersFlap(w);
+	}
+
+	/**
+	 * Guesses which choice is more likely to keep the terp alive, which
+	 * is to jump once it is falling below the middle of the screen.
+	 * @param w GameWorld object the choice is made in.
+	 * @return Boolean, returns true if jumping should be tried first.
+	 */
+	private boolean prefersFlap(GameWorld w) {
+		return w.getTerp().getVelocityY() >= 0 &&
+				w.getTerp().getCollisionArea().y > w.getMidScreen();
+	}
+
+	/**
+	 * Determines if the terp in a world is still alive and moving.
+	 * @param w GameWorld object being checked.
+	 * @return boolean
+	 */
+	private boolean isAlive(GameWorld w) {
+		return w.isRunning() && w.getTerp().isAlive();
+	}
+
+	/**
+	 * Forgets how long the searches so far have taken.
+	 * @return void
+	 */
+	public void resetStats() {
+		lastNanos = 0;
+		maxNanos = 0;
+		totalNanos = 0;
+		simulatedTicks = 0;
+		searches = 0;
+		exhaustedSearches = 0;
+	}
+
+	/**
+	 * Returns how long the last search took.
+	 * @return Long containing the time in nanoseconds.
+	 */
+	public long getLastNanos() {
+		return lastNanos;
+	}
+
+	/**
+	 * Returns how long the slowest search took.
+	 * @return Long containing the time in nanoseconds.
+	 */
+	public long getMaxNanos() {
+		return maxNanos;
+	}
+
+	/**
+	 * Returns how long a search took on average.
+	 * @return Long containing the time in nanoseconds.
+	 */
+	public long getMeanNanos() {
+		return (searches == 0) ? 0 : totalNanos / searches;
+	}
+
+	/**
+	 * Returns the number of searches run.
+	 * @return Int containing the number of searches.
+	 */
+	public int getSearches() {
+		return searches;
+	}
+
+	/**
+	 * Returns the number of searches that were cut short by a budget.
+	 * @return Int containing the number of searches.
+	 */
+	public int getExhaustedSearches() {
+		return exhaustedSearches;
+	}
+
+	/**
+	 * Returns the number of updates run by every search together.
+	 * @return Long containing the number of updates.
+	 */
+	public long getSimulatedTicks() {
+		return simulatedTicks;
+	}
+
+}
@@ -0,0 +1,286 @@
+package com.taskew.gameworld;
+
+import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.graphics.g2d.BitmapFont;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.badlogic.gdx.utils.StringBuilder;
+import com.taskew.gameobjects.Collectable;
+import com.taskew.gameobjects.ObstacleManager;
+import com.taskew.gameobjects.Pencil;
+import com.taskew.gameobjects.Terrapin;
+import com.taskew.helpers.AssetLoader;
+
+/**
+ * @author Tyler Askew
+ * @version 1.0
+ * Adds the commands that draw the pencils, collectable, terp, ground
+ * and score of a GameWorld to a RenderQueue, and dims them once the game
+ * is over. Nothing is drawn here, so a frame can be put together and
+ * checked without any graphics, and the GameRenderer only adds the
+ * backdrop and draws the queue.
+ */
+public class FrameEmitter {
+
+	// depths of what is drawn within each layer of the queue
+	public static final int BACKDROP = 0, PENCILS = 1, COLLECTABLES = 2,
+			TERP = 3, GROUND = 4;
+	public static final int SHADOW = 0, TEXT = 1;
+	public static final int DIM = 0;
+
+	// colors of the dirt and of the dimming behind the game over menu
+	private static final Color DIRT_COLOR =
+			new Color(147 / 255.0f, 80 / 255.0f, 27 / 255.0f, 1);
+	private static final Color DIM_COLOR = new Color(0, 0, 0, .7f);
+
+	// asks for a tap before the game starts and while it is paused
+	private static final String TAP_TEXT = "Tap Screen";
+
+	// the world drawn and the queue the current frame is added to
+	private GameWorld world;
+	private RenderQueue queue;
+
+	// height and midpoint of the game screen
+	private float gameHeight, midScreen;
+
+	// how far the current frame is between the last two world updates
+	private float alpha;
+
+	// text of the score, only rebuilt when the score changes
+	private StringBuilder scoreText;
+	private int shownScore;
+
+	// game objects
+	private Terrapin terp;
+	private ObstacleManager obstacles;
+	private Collectable collectable;
+
+	// game assets
+	private TextureRegion terpImage;
+	private TextureRegion pencilTipUp, pencilTipDown, pencilBody, fullPencil;
+	private TextureRegion mSymbol, coffee, pizza, beer;
+	private TextureRegion white;
+	private BitmapFont font, shadow;
+
+	/**
+	 * Constructor that adds the commands of a world, drawn with the
+	 * images and fonts the AssetLoader has loaded.
+	 * @param world GameWorld object being drawn.
+	 * @param gameHeight Float containing the height of the game screen.
+	 * @param midScreen Float containing the midpoint of the game screen.
+	 * @return none
+	 */
+	public FrameEmitter(GameWorld world, float gameHeight, float midScreen) {
+		this.world = world;
+		this.gameHeight = gameHeight;
+		this.midScreen = midScreen;
+
+		// initializing the score text
+		scoreText = new StringBuilder(8);
+		shownScore = -1;
+
+		terp = world.getTerp();
+		obstacles = world.getScroller().getObstacles();
+		collectable = world.getScroller().getCollectable();
+
+		terpImage = AssetLoader.terp;
+		pencilTipUp = AssetLoader.pencilTipUp;
+		pencilTipDown = AssetLoader.pencilTipDown;
+		pencilBody = AssetLoader.pencilBody;
+		fullPencil = AssetLoader.fullPencil;
+		mSymbol = AssetLoader.mSymbol;
+		coffee = AssetLoader.coffee;
+		pizza = AssetLoader.pizza;
+		beer = AssetLoader.beer;
+		white = AssetLoader.white;
+		font = AssetLoader.gameplayFont;
+		shadow = AssetLoader.gameplayShadow;
+	}
+
+	/**
+	 * Adds the commands of the current frame. Moving objects are placed
+	 * between their previous and current positions.
+	 * @param queue RenderQueue object the commands are added to.
+	 * @param alpha Float between 0 and 1 containing how far the current
+	 * frame is between the previous world update and the latest one.
+	 * @return void
+	 */
+	public void emit(RenderQueue queue, float alpha) {
+		this.queue = queue;
+		this.alpha = alpha;
+
+		// adds all of the pencils and the collectable in the game
+		for (int i = 0; i < obstacles.size(); i++)
+			emitPencil(obstacles.get(i));
+		emitCollectable();
+
+		// adds the terp
+		queue.add(RenderQueue.WORLD, TERP, terpImage,
+				terp.getRenderX(alpha), terp.getRenderY(alpha),
+				terp.getWidth() / 2.0f, terp.getHeight() / 2.0f,
+				terp.getWidth(), terp.getHeight(), terp.getRenderRotation(alpha));
+
+		// adds the dirt, which the bottoms of the pencils go behind
+		queue.addFill(RenderQueue.WORLD, GROUND, white, DIRT_COLOR,
+				0, midScreen + 100, 136, 52);
+
+		// adds the score and call-to-action text
+		emitHud();
+
+		// dims the game behind the game over menu
+		if (isGameOver())
+			queue.addFill(RenderQueue.OVERLAY, DIM, white, DIM_COLOR,
+					0, 0, 136, gameHeight);
+
+		this.queue = null;
+	}
+
+	/**
+	 * Returns if the game has ended, which is when the game over menu
+	 * is shown over the dimmed frame.
+	 * @return Boolean containing if the game has ended.
+	 */
+	public boolean isGameOver() {
+		return !world.isReady() && (world.isHighScore() || world.isGameOver());
+	}
+
+	/**
+	 * Adds the commands for a pencil, matching its state.
+	 * @param p Pencil object being drawn.
+	 * @return void
+	 */
+	private void emitPencil(Pencil p) {
+		if (p.isVertical())
+			emitVerticalPencil(p);
+		else if (p.isHorizontal())
+			emitHorizontalPencil(p);
+		else if (p.isSpinning())
+			emitSpinningPencil(p);
+	}
+
+	/**
+	 * Adds the bodies and tips of a vertical pencil.
+	 * @param p Pencil object being drawn.
+	 * @return void
+	 */
+	private void emitVerticalPencil(Pencil p) {
+		float x = p.getRenderX(alpha);
+		float y = p.getRenderY(alpha);
+
+		queue.add(RenderQueue.WORLD, PENCILS, pencilBody, x,
+				y - (p.getShiftAmount() * 2), p.getWidth() + 1,
+				p.getHeight() + (p.getShiftAmount() * 2));
+		queue.add(RenderQueue.WORLD, PENCILS, pencilBody, x,
+				y + p.getHeight() + 57,
+				p.getWidth() + 1, midScreen + 66 - p.getHeight());
+		queue.add(RenderQueue.WORLD, PENCILS, pencilTipUp, x - 5,
+				y + p.getHeight() - 1, 32, 32);
+		queue.add(RenderQueue.WORLD, PENCILS, pencilTipDown, x - 5,
+				y + p.getHeight() + 25, 32, 32);
+	}
+
+	/**
+	 * Adds the three full pencils of a horizontal pencil.
+	 * @param p Pencil object being drawn.
+	 * @return void
+	 */
+	private void emitHorizontalPencil(Pencil p) {
+		float x = p.getRenderX(alpha);
+		float y = p.getRenderY(alpha) + p.getHeight();
+		float rotation = p.getRenderRotation(alpha);
+
+		for (int offset = -65; offset <= 65; offset += 65)
+			queue.add(RenderQueue.WORLD, PENCILS, fullPencil, x, y + offset,
+					p.getWidth() / 2.0f, p.getHeight() / 2.0f,
+					p.getWidth() * 3, p.getHeight(), rotation);
+	}
+
+	/**
+	 * Adds the two full pencils of a spinning pencil, which turn in
+	 * opposite directions.
+	 * @param p Pencil object being drawn.
+	 * @return void
+	 */
+	private void emitSpinningPencil(Pencil p) {
+		float rotation = p.getRenderRotation(alpha);
+		queue.add(RenderQueue.WORLD, PENCILS, fullPencil, p.getRenderX(alpha),
+				p.getHeight(), (p.getWidth() * 3) / 2.0f, p.getHeight() / 2.0f,
+				p.getWidth() * 3, p.getHeight(), rotation);
+		queue.add(RenderQueue.WORLD, PENCILS, fullPencil, p.getRenderX(alpha),
+				p.getSpinningCollisionBottom().y - 150 -
+				p.getSpinningCollisionBottom().radius,
+				(p.getWidth() * 3) / 2.0f, p.getHeight() / 2.0f,
+				p.getWidth() * 3, p.getHeight(), -rotation);
+	}
+
+	/**
+	 * Adds the collectable once the score is high enough, unless it
+	 * has been collected or overlaps a pencil.
+	 * @return void
+	 */
+	private void emitCollectable() {
+		if (world.getScore() <= 4 || collectable.isCollected())
+			return;
+
+		TextureRegion image = collectableImage();
+		if (image == null || world.getScroller().collectableCollidesPencils())
+			return;
+
+		queue.add(RenderQueue.WORLD, COLLECTABLES, image,
+				collectable.getRenderX(alpha),
+				collectable.getHeight() + collectable.getRenderY(alpha),
+				5, 5, 10, 10, collectable.getRenderRotation(alpha));
+	}
+
+	/**
+	 * Returns the image of the collectable's current type.
+	 * @return TextureRegion object of the image, or null if the
+	 * collectable has no type.
+	 */
+	private TextureRegion collectableImage() {
+		if (collectable.isM())
+			return mSymbol;
+		else if (collectable.isBeer())
+			return beer;
+		else if (collectable.isCoffee())
+			return coffee;
+		else if (collectable.isPizza())
+			return pizza;
+		return null;
+	}
+
+	/**
+	 * Adds the score, and asks for a tap before the game starts or while
+	 * it is paused, each written in shadow and then text.
+	 * @return void
+	 */
+	private void emitHud() {
+		if (world.isReady()) {
+			emitText(TAP_TEXT, (136 / 2) - 50, 76);
+			return;
+		}
+
+		// rebuilds the score text only when the score has changed
+		if (world.getScore() != shownScore) {
+			shownScore = world.getScore();
+			scoreText.setLength(0);
+			scoreText.append(shownScore);
+		}
+		emitText(scoreText, (136 / 2) - (3 * scoreText.length()), 12);
+
+		if (world.isPaused())
+			emitText(TAP_TEXT, (136 / 2) - 50, 76);
+	}
+
+	/**
+	 * Adds a line of text with its shadow one unit down and to the left.
+	 * @param text CharSequence containing the text.
+	 * @param x Float containing the left of the shadow.
+	 * @param y Float containing the top of the shadow.
+	 * @return void
+	 */
+	private void emitText(CharSequence text, float x, float y) {
+		queue.addText(RenderQueue.HUD, SHADOW, shadow, text, x, y);
+		queue.addText(RenderQueue.HUD, TEXT, font, text, x + 1, y - 1);
+	}
+
+}
@@ -0,0 +1,39 @@
+package com.taskew.gameworld;
+
+/**
+ * @author Tyler Askew
+ * @version 1.0
+ * Listener that ignores everything that happens in the game world.
+ * Extended by listeners that only care about a few of the events.
+ */
+public class GameAdapter implements GameListener {
+
+	@Override
+	public void flapped(int tick) {
+	}
+
+	@Override
+	public void scored(int tick, int score) {
+	}
+
+	@Override
+	public void collected(int tick) {
+	}
+
+	@Override
+	public void died(int tick) {
+	}
+
+	@Override
+	public void gameOver(int tick, int score) {
+	}
+
+	@Override
+	public void highScore(int tick, int score) {
+	}
+
+	@Override
+	public void drained() {
+	}
+
+}
@@ -0,0 +1,178 @@
+package com.taskew.gameworld;
+
+import com.badlogic.gdx.utils.Array;
+
+/**
+ * @author Tyler Askew
+ * @version 1.0
+ * Queue of everything that happened in the game world since it was last
+ * emptied. The world only adds to it while it updates, and once a frame
+ * the screen drains it into the listeners that play sounds, save scores
+ * and count what happened. That keeps the world free of any audio or
+ * storage and lets each listener deal with a whole frame at once. The
+ * queue is a ring of fixed size made when it is created, so adding and
+ * draining creates nothing. A queue nobody drains, like the one of the
+ * main menu's world, simply keeps the newest events.
+ */
+public class GameEvents {
+
+	// room for far more events than a frame of updates can cause
+	public static final int DEFAULT_CAPACITY = 64;
+
+	// every kind of event the world can cause
+	public enum Type {
+		FLAPPED, SCORED, COLLECTED, DIED, GAME_OVER, HIGH_SCORE
+	}
+
+	// the events, stored as a ring starting at head
+	private Type[] types;
+	private int[] ticks, scores;
+	private int head, size;
+
+	// events thrown away because the queue was full
+	private int dropped;
+
+	// receive every event when the queue is drained
+	private Array<GameListener> listeners;
+
+	/**
+	 * Constructor that creates an empty queue with the default room.
+	 * @return none
+	 */
+	public GameEvents() {
+		this(DEFAULT_CAPACITY);
+	}
+
+	/**
+	 * Constructor that creates an empty queue with the given room.
+	 * @param capacity Int containing the most events the queue holds.
+	 * @return none
+	 */
+	public GameEvents(int capacity) {
+		types = new Type[capacity];
+		ticks = new int[capacity];
+		scores = new int[capacity];
+		listeners = new Array<GameListener>(false, 4);
+		clear();
+	}
+
+	/**
+	 * Adds an event to the end of the queue. If the queue is full the
+	 * oldest event is thrown away to make room.
+	 * @param type Type of the event.
+	 * @param tick Int containing the update the event happened on.
+	 * @param score Int containing the player's score at the time.
+	 * @return void
+	 */
+	public void add(Type type, int tick, int score) {
+		if (size == types.length) {
+			head = (head + 1) % types.length;
+			size--;
+			dropped++;
+		}
+
+		int i = (head + size) % types.length;
+		types[i] = type;
+		ticks[i] = tick;
+		scores[i] = score;
+		size++;
+	}
+
+	/**
+	 * Hands every event in the queue, oldest first, to each listener and
+	 * empties the queue. Each listener is told once the events are all
+	 * handed over, even if there were none, so it can act on the whole
+	 * frame at once.
+	 * @return void
+	 */
+	public void drain() {
+		for (int l = 0; l < listeners.size; l++) {
+			GameListener listener = listeners.get(l);
+
+			for (int n = 0; n < size; n++) {
+				int i = (head + n) % types.length;
+				dispatch(listener, types[i], ticks[i], scores[i]);
+			}
+
+			listener.drained();
+		}
+
+		clear();
+	}
+
+	/**
+	 * Calls the method of the listener matching the event.
+	 * @param listener GameListener object receiving the event.
+	 * @param type Type of the event.
+	 * @param tick Int containing the update the event happened on.
+	 * @param score Int containing the player's score at the time.
+	 * @return void
+	 */
+	private void dispatch(GameListener listener, Type type, int tick,
+			int score) {
+		switch (type) {
+		case FLAPPED:
+			listener.flapped(tick);
+			break;
+		case SCORED:
+			listener.scored(tick, score);
+			break;
+		case COLLECTED:
+			listener.collected(tick);
+			break;
+		case DIED:
+			listener.died(tick);
+			break;
+		case GAME_OVER:
+			listener.gameOver(tick, score);
+			break;
+		case HIGH_SCORE:
+			listener.highScore(tick, score);
+			break;
+		}
+	}
+
+	/**
+	 * Throws away every event in the queue without handing it over.
+	 * @return void
+	 */
+	public void clear() {
+		head = 0;
+		size = 0;
+	}
+
+	/**
+	 * Adds a listener that receives every event when the queue is drained.
+	 * @param listener GameListener object to be added.
+	 * @return void
+	 */
+	public void addListener(GameListener listener) {
+		listeners.add(listener);
+	}
+
+	/**
+	 * Removes a listener that was added before.
+	 * @param listener GameListener object to be removed.
+	 * @return void
+	 */
+	public void removeListener(GameListener listener) {
+		listeners.removeValue(listener, true);
+	}
+
+	/**
+	 * Returns the number of events waiting in the queue.
+	 * @return Int containing the number of events.
+	 */
+	public int size() {
+		return size;
+	}
+
+	/**
+	 * Returns the number of events thrown away because the queue was full.
+	 * @return Int containing the number of events.
+	 */
+	public int getDropped() {
+		return dropped;
+	}
+
+}
@@ -0,0 +1,67 @@
+package com.taskew.gameworld;
+
+/**
+ * @author Tyler Askew
+ * @version 1.0
+ * Receives everything that happens in the game world that has an effect
+ * outside of it, such as playing sounds or saving high scores. The world
+ * never calls a listener itself, it adds events to its GameEvents queue
+ * and the queue hands them over once a frame, so the world can run
+ * without any audio or storage.
+ */
+public interface GameListener {
+
+	/**
+	 * Called when the terp jumps.
+	 * @param tick Int containing the update the terp jumped on.
+	 * @return void
+	 */
+	public void flapped(int tick);
+
+	/**
+	 * Called when the player passes a pencil and scores a point.
+	 * @param tick Int containing the update the point was scored on.
+	 * @param score Int containing the player's new score.
+	 * @return void
+	 */
+	public void scored(int tick, int score);
+
+	/**
+	 * Called when the terp picks up a collectable.
+	 * @param tick Int containing the update it was picked up on.
+	 * @return void
+	 */
+	public void collected(int tick);
+
+	/**
+	 * Called when the terp runs into a pencil.
+	 * @param tick Int containing the update the terp died on.
+	 * @return void
+	 */
+	public void died(int tick);
+
+	/**
+	 * Called when the terp hits the ground and the game is over.
+	 * @param tick Int containing the update the game ended on.
+	 * @param score Int containing the player's final score.
+	 * @return void
+	 */
+	public void gameOver(int tick, int score);
+
+	/**
+	 * Called right after gameOver() when the final score beats the
+	 * score the world was told to beat.
+	 * @param tick Int containing the update the game ended on.
+	 * @param score Int containing the player's final score.
+	 * @return void
+	 */
+	public void highScore(int tick, int score);
+
+	/**
+	 * Called once all of the events of a frame have been handed over,
+	 * even if there were none.
+	 * @return void
+	 */
+	public void drained();
+
+}
@@ -7,10 +7,11 @@ import com.badlogic.gdx.Gdx;
 import com.badlogic.gdx.graphics.Color;
 import com.badlogic.gdx.graphics.GL20;
 import com.badlogic.gdx.graphics.OrthographicCamera;
+import com.badlogic.gdx.graphics.Pixmap.Format;
+import com.badlogic.gdx.graphics.Texture.TextureFilter;
 import com.badlogic.gdx.graphics.g2d.SpriteBatch;
 import com.badlogic.gdx.graphics.g2d.TextureRegion;
-import com.badlogic.gdx.graphics.glutils.ShapeRenderer;
-import com.badlogic.gdx.graphics.glutils.ShapeRenderer.ShapeType;
+import com.badlogic.gdx.graphics.glutils.FrameBuffer;
 import com.badlogic.gdx.math.Intersector;
 import com.badlogic.gdx.scenes.scene2d.InputEvent;
 import com.badlogic.gdx.scenes.scene2d.Stage;
@@ -22,9 +23,7 @@ import com.badlogic.gdx.scenes.scene2d.ui.Table;
 import com.badlogic.gdx.scenes.scene2d.ui.TextField;
 import com.badlogic.gdx.scenes.scene2d.utils.ClickListener;
 import com.badlogic.gdx.scenes.scene2d.utils.SpriteDrawable;
-import com.taskew.gameobjects.Collectable;
-import com.taskew.gameobjects.Pencil;
-import com.taskew.gameobjects.Terrapin;
+import com.badlogic.gdx.utils.StringBuilder;
 import com.taskew.helpers.AssetLoader;
 import com.taskew.helpers.InputHandler;
 import com.taskew.screens.MainMenuScreen;
@@ -39,6 +38,17 @@ import com.taskew.screens.MainMenuScreen;
  */
 public class GameRenderer {	
 
+	// most times the SpriteBatch should flush to draw a frame of the
+	// game, once for the backdrop and once for the atlas
+	public static final int MAX_RENDER_CALLS = 2;
+	
+	// most pixels the backdrop has per unit of the game's width
+	private static final int BACKDROP_SCALE = 2;
+	
+	// color of the sky behind the library
+	private static final Color SKY_COLOR = 
+			new Color(127 / 255.0f, 205 / 255.0f, 255 / 255.0f, 1);
+
 	// Contains the most current version of the game world
 	private GameWorld world;
 
@@ -51,22 +61,27 @@ public class GameRenderer {
 	private Label gameoverLabel, scoreLabel;
 	private Label.LabelStyle gameoverStyle, scoreStyle;
 
-	// used to draw the textures and shapes
+	// used to draw the textures and the solid fills, the commands for
+	// everything drawn in a frame and what adds the world's commands
 	private SpriteBatch batcher;
-	private ShapeRenderer shapeRenderer;
+	private RenderQueue queue;
+	private FrameEmitter emitter;
+	
+	// the sky and library, which never move, drawn once into a texture
+	// of their own and drawn again when the screen changes size
+	private FrameBuffer backdrop;
+	private TextureRegion backdropImage;
+	private boolean backdropBaked;
 
 	// midpoint of the game screen
 	private float midScreen;
 	
-	// game objects
-	private Terrapin terp;
-	private Pencil pencil1, pencil2, pencil3, pencil4;
-	private Collectable collectable;
+	// text of the final score, only rebuilt when the score changes
+	private StringBuilder gameoverScoreText;
+	private int shownGameoverScore;
 
-	// game assets
-	private TextureRegion terpImage;
-	private TextureRegion pencilTipUp, pencilTipDown, pencilBody, fullPencil;
-	private TextureRegion mSymbol, coffee, pizza, beer;
+	// white image the solid fills are drawn with
+	private TextureRegion white;
 	
 	// represents the entire game
 	private Game game;
@@ -91,118 +106,97 @@ public class GameRenderer {
 		// initializing batcher
 		batcher = new SpriteBatch();
 		batcher.setProjectionMatrix(cam.combined);
+		queue = new RenderQueue();
+		queue.setView(cam.frustum);
+		emitter = new FrameEmitter(world, gameHeight, midScreen);
 
-		// initializing the shape renderer
-		shapeRenderer = new ShapeRenderer();
-		shapeRenderer.setProjectionMatrix(cam.combined);
-		
 		// initializes the game
 		this.game = game;
+		
+		// initializing the score text
+		gameoverScoreText = new StringBuilder(16);
+		shownGameoverScore = -1;
 
 		// initialize all of the game components 
-		initGameObjects();
-		initAssets();
+		white = AssetLoader.white;
 		initGameOverMenu();
 	}
 
 	/**
 	 * Draws the visual display of the game onto the screen
 	 * including backgrounds, grass, pencils, terrapins, and other components.
+	 * Moving objects are drawn between their previous and current positions
+	 * so that the display stays smooth when the world updates at a fixed
+	 * rate that differs from the frame rate.
 	 * @param runtime Float containing how long the game has been running.
+	 * @param alpha Float between 0 and 1 containing how far the current
+	 * frame is between the previous world update and the latest one.
 	 * @return void
 	 */
-	public void render(float runtime) {		
+	public void render(float runtime, float alpha) {
 		// Fill the entire screen with black to prevent potential flickering
 		Gdx.gl.glClearColor(0, 0, 0, 1);
 		Gdx.gl.glClear(GL20.GL_COLOR_BUFFER_BIT);
 
-		// drawing the background color
-		shapeRenderer.begin(ShapeType.Filled);
-		shapeRenderer.setColor(127 / 255.0f, 205 / 255.0f, 255 / 255.0f, 1);
-		shapeRenderer.rect(0, 0, 136, midScreen * 2);
-		shapeRenderer.end();
+		if (!backdropBaked)
+			bakeBackdrop();
 
-		// starts the SpriteBatch
-		batcher.begin();
-		
-		// draws the background
-		drawBackground();
-		
-		// enabling transparency
-		batcher.enableBlending();
-		
-		// draws all of the pencils in the game
-		drawAllPencils();
-		
-		// draws all collectables in the game
-		drawCollectables();
+		// the backdrop covers the screen so nothing behind it has to be
+		// blended, and is missing only while the window has no size
+		if (backdropImage != null)
+			queue.addOpaque(RenderQueue.WORLD, FrameEmitter.BACKDROP, 
+					backdropImage, 0, 0, cam.viewportWidth, cam.viewportHeight);
 		
-		// draws the terp on the screen
-		batcher.draw(terpImage, terp.getX(), terp.getY(),
-				terp.getWidth() / 2.0f, terp.getHeight() / 2.0f,
-				terp.getWidth(), terp.getHeight(), 
-				1, 1, terp.getRotation());
-		
-		// draws the call-to-action text before the game starts
-		if (world.isReady()) {
-			AssetLoader.gameplayShadow.draw(batcher, "Tap Screen", (136 / 2)
-					- (50), 76);
-			AssetLoader.gameplayFont.draw(batcher, "Tap Screen", (136 / 2)
-					- (50 - 1), 75);
-		} else {
-
-			if (world.isHighScore() || world.isGameOver())
-				drawGameOverMenu();
-			
-			// Draw shadow and then the text to display score
-			String score = String.valueOf(world.getScore());
-			AssetLoader.gameplayShadow.draw(batcher, score, 
-					(136 / 2) - (3 * score.length()), 12);
-			AssetLoader.gameplayFont.draw(batcher, score, 
-					(136 / 2) - (3 * score.length() - 1), 11);
-		}
+		// adds the pencils, collectable, terp, dirt and text, dimmed
+		// once the game is over
+		emitter.emit(queue, alpha);
+		boolean gameOver = emitter.isGameOver();
 
-		// ends the SpriteBatch
+		// draws the whole frame in one pass of the SpriteBatch
+		batcher.begin();
+		queue.render(batcher);
 		batcher.end();
+		if (AssetLoader.profiler != null) {
+			AssetLoader.profiler.addBatch(batcher);
+			AssetLoader.profiler.addSprites(queue.getDrawn(), queue.getCulled());
+		}
+		
+		// every sprite comes from one atlas, so switching textures part
+		// way through the frame means an image was loaded on its own
+		if (batcher.renderCalls > MAX_RENDER_CALLS)
+			Gdx.app.debug("GameRenderer", "Frame drawn in " + 
+					batcher.renderCalls + " batches instead of " + 
+					MAX_RENDER_CALLS);
 		
-		// drawing the dirt
-		shapeRenderer.begin(ShapeType.Filled);
-		shapeRenderer.setColor(147 / 255.0f, 80 / 255.0f, 27 / 255.0f, 1);
-		shapeRenderer.rect(0, midScreen + 100, 136, 52);
-		shapeRenderer.end();
+		// the menu has a batch of its own, so it goes over the frame
+		if (gameOver)
+			drawGameOverMenu();
 	}
 
 	/**
-	 * Helper method that initializes all of the
-	 * objects used in the game.
+	 * Draws the backdrop again at the new size of the screen before the
+	 * next frame. Also called when the app comes back from the
+	 * background, since the graphics may have been lost meanwhile.
+	 * @param width Int containing the width of the screen in pixels.
+	 * @param height Int containing the height of the screen in pixels.
 	 * @return void
 	 */
-	private void initGameObjects() {
-		terp = world.getTerp();
-		pencil1 = world.getScroller().getPencil1();
-		pencil2 = world.getScroller().getPencil2();
-		pencil3 = world.getScroller().getPencil3();
-		pencil4 = world.getScroller().getPencil4();
-		collectable = world.getScroller().getCollectable();
+	public void resize(int width, int height) {
+		backdropBaked = false;
 	}
 
 	/**
-	 * Helper method that initializes all of the game's
-	 * assets.
+	 * Takes the game over menu off of the shared stage and frees the
+	 * renderer's batches once it is no longer needed.
 	 * @return void
 	 */
-	private void initAssets() {
-		terpImage = AssetLoader.terp;
-		pencilTipUp = AssetLoader.pencilTipUp;
-		pencilTipDown = AssetLoader.pencilTipDown;
-		pencilBody = AssetLoader.pencilBody;
-		fullPencil = AssetLoader.fullPencil;
-		mSymbol = AssetLoader.mSymbol;
-		coffee = AssetLoader.coffee;
-		pizza = AssetLoader.pizza;
-		beer = AssetLoader.beer;
+	public void dispose() {
+		table.remove();
+		batcher.dispose();
+		if (backdrop != null)
+			backdrop.dispose();
 	}
-	
+
 	/**
 	 * Helper method that initializes all components for the
 	 * game over menu.
@@ -226,6 +220,7 @@ public class GameRenderer {
 			@Override
 			public void clicked(InputEvent event, float x, float y) {
 				world.restart();
+				Gdx.input.setInputProcessor(new InputHandler(world));
 			}
 		});
 		
@@ -260,322 +255,48 @@ public class GameRenderer {
 	}
 
 	/**
-	 * Helper method that draws the tips of the pencils for the
-	 * vertical and horizontal pencils.
+	 * Draws the background color, the image of McKeldin library and the
+	 * sky into the backdrop's texture, at no more than BACKDROP_SCALE
+	 * pixels per unit so it takes little memory and is quick to fill.
 	 * @return void
 	 */
-	private void drawPencilTips() {
-		if (pencil1.isVertical()) {
-			batcher.draw(pencilTipUp, pencil1.getLeftX() - 5,
-					pencil1.getY() + pencil1.getHeight() - 1, 32, 32);
-			batcher.draw(pencilTipDown, pencil1.getLeftX() - 5,
-					pencil1.getY() + pencil1.getHeight() + 25, 32, 32);
-		}
-		
-		if (pencil2.isVertical()) {
-			batcher.draw(pencilTipUp, pencil2.getLeftX() - 5,
-					pencil2.getY() + pencil2.getHeight() - 1, 32, 32);
-			batcher.draw(pencilTipDown, pencil2.getLeftX() - 5,
-					pencil2.getY() + pencil2.getHeight() + 25, 32, 32);
-		}
-		
-		if (pencil3.isVertical()) {
-			batcher.draw(pencilTipUp, pencil3.getLeftX() - 5,
-					pencil3.getY() + pencil3.getHeight() - 1, 32, 32);
-			batcher.draw(pencilTipDown, pencil3.getLeftX() - 5,
-					pencil3.getY() + pencil3.getHeight() + 25, 32, 32);
-		}
+	private void bakeBackdrop() {
+		// a hidden window has no size to draw at
+		if (Gdx.graphics.getWidth() <= 0)
+			return;
 		
-		if (pencil4.isVertical()) {
-			batcher.draw(pencilTipUp, pencil4.getLeftX() - 5,
-					pencil4.getY() + pencil4.getHeight() - 1, 32, 32);
-			batcher.draw(pencilTipDown, pencil4.getLeftX() - 5,
-					pencil4.getY() + pencil4.getHeight() + 25, 32, 32);
-		}
-	}
-
-	/**
-	 * Helper method that draws the bodies of the vertical and
-	 * horizontal pencils.
-	 * @return void
-	 */
-	private void drawPencilBodies() {
-		if (pencil1.isVertical()) {
-			batcher.draw(pencilBody, pencil1.getLeftX(), 
-					pencil1.getY() - (pencil1.getShiftAmount() * 2), 
-					pencil1.getWidth() + 1,
-					pencil1.getHeight() + (pencil1.getShiftAmount() * 2));
-			batcher.draw(pencilBody, pencil1.getLeftX(), 
-					pencil1.getY() + pencil1.getHeight() + 57,
-					pencil1.getWidth() + 1, midScreen + 66 - 
-					pencil1.getHeight());
-		}
+		if (backdrop != null)
+			backdrop.dispose();
+		int width = Math.min(Gdx.graphics.getWidth(), 
+				(int) cam.viewportWidth * BACKDROP_SCALE);
+		int height = Math.round(width * cam.viewportHeight / cam.viewportWidth);
+		backdrop = new FrameBuffer(Format.RGB888, width, height, false);
+		backdrop.getColorBufferTexture().setFilter(TextureFilter.Nearest, 
+				TextureFilter.Nearest);
 		
-		if (pencil2.isVertical()) {
-			batcher.draw(pencilBody, pencil2.getLeftX(), 
-					pencil2.getY() - (pencil2.getShiftAmount() * 2),
-					pencil2.getWidth() + 1,
-					pencil2.getHeight() + (pencil2.getShiftAmount() * 2));
-			batcher.draw(pencilBody, pencil2.getLeftX(),
-					pencil2.getY() + pencil2.getHeight() + 57,
-					pencil2.getWidth() + 1, midScreen + 66 -
-					(pencil2.getHeight()));
-		}
+		// the texture is upside down compared to images, which the camera
+		// already turns the right way up
+		backdropImage = new TextureRegion(backdrop.getColorBufferTexture());
 		
-		if (pencil3.isVertical()) {
-			batcher.draw(pencilBody, pencil3.getLeftX(), 
-					pencil3.getY() - (pencil3.getShiftAmount() * 2),
-					pencil3.getWidth() + 1,
-					pencil3.getHeight() + (pencil3.getShiftAmount() * 2));
-			batcher.draw(pencilBody, pencil3.getLeftX(), 
-					pencil3.getY() + pencil3.getHeight() + 57,
-					pencil3.getWidth() + 1, midScreen + 66 - 
-					(pencil3.getHeight()));
-		}
+		queue.addFill(RenderQueue.WORLD, FrameEmitter.BACKDROP, white, 
+				SKY_COLOR, 0, 0, 136, midScreen * 2);
+		queue.add(RenderQueue.WORLD, FrameEmitter.BACKDROP, 
+				AssetLoader.bgImage, -83, midScreen - 30, 300, 185);
+		queue.add(RenderQueue.WORLD, FrameEmitter.BACKDROP, 
+				AssetLoader.skyImage, 0, 0, 300, midScreen - 20);
 		
-		if (pencil4.isVertical()) {
-			batcher.draw(pencilBody, pencil4.getLeftX(), 
-					pencil4.getY() - (pencil4.getShiftAmount() * 2),
-					pencil4.getWidth() + 1,
-					pencil4.getHeight() + (pencil4.getShiftAmount() * 2));
-			batcher.draw(pencilBody, pencil4.getLeftX(), 
-					pencil4.getY() + pencil4.getHeight() + 57,
-					pencil4.getWidth() + 1, midScreen + 66 - 
-					(pencil4.getHeight()));
-		}
-	}
-	
-	/**
-	 * Draws the horizontal pencils on the screen.
-	 * @return void
-	 */
-	private void drawHorizontalPencils() {
-		if (pencil1.isHorizontal()) {
-			pencil1.setStartingRotation(90);
-			batcher.draw(fullPencil, pencil1.getLeftX(), 
-					pencil1.getHeight() + pencil1.getY(),
-					pencil1.getWidth() / 2.0f, pencil1.getHeight() / 2.0f,
-					pencil1.getWidth() * 3, pencil1.getHeight(), 
-					1, 1, pencil1.getRotation());
-			batcher.draw(fullPencil, pencil1.getLeftX(), pencil1.getHeight() -
-					65 + pencil1.getY(), pencil1.getWidth() / 2.0f, 
-					pencil1.getHeight() / 2.0f,
-					pencil1.getWidth() * 3, pencil1.getHeight(), 
-					1, 1, pencil1.getRotation());
-			batcher.draw(fullPencil, pencil1.getLeftX(), pencil1.getHeight() +
-					65 + pencil1.getY(), pencil1.getWidth() / 2.0f, 
-					pencil1.getHeight() / 2.0f,
-					pencil1.getWidth() * 3, pencil1.getHeight(), 
-					1, 1, pencil1.getRotation());
-		} 
-		
-		if (pencil2.isHorizontal()) {
-			pencil2.setStartingRotation(90);
-			batcher.draw(fullPencil, pencil2.getLeftX(), 
-					pencil2.getHeight() + pencil2.getY(),
-					pencil2.getWidth() / 2.0f, pencil2.getHeight() / 2.0f,
-					pencil2.getWidth() * 3, pencil2.getHeight(), 
-					1, 1, pencil2.getRotation());
-			batcher.draw(fullPencil, pencil2.getLeftX(), pencil2.getHeight() -
-					65 + pencil2.getY(), pencil2.getWidth() / 2.0f, 
-					pencil2.getHeight() / 2.0f,
-					pencil2.getWidth() * 3, pencil2.getHeight(), 
-					1, 1, pencil2.getRotation());
-			batcher.draw(fullPencil, pencil2.getLeftX(), pencil2.getHeight() +
-					65 + pencil2.getY(), pencil2.getWidth() / 2.0f, 
-					pencil2.getHeight() / 2.0f,
-					pencil2.getWidth() * 3, pencil2.getHeight(), 
-					1, 1, pencil2.getRotation());
-		}
-		
-		if (pencil3.isHorizontal()) {
-			pencil3.setStartingRotation(90);
-			batcher.draw(fullPencil, pencil3.getLeftX(), 
-					pencil3.getHeight() + pencil3.getY(),
-					pencil3.getWidth() / 2.0f, pencil3.getHeight() / 2.0f,
-					pencil3.getWidth() * 3, pencil3.getHeight(), 
-					1, 1, pencil3.getRotation());
-			batcher.draw(fullPencil, pencil3.getLeftX(), pencil3.getHeight() -
-					65 + pencil3.getY(), pencil3.getWidth() / 2.0f, 
-					pencil3.getHeight() / 2.0f,
-					pencil3.getWidth() * 3, pencil3.getHeight(), 
-					1, 1, pencil3.getRotation());
-			batcher.draw(fullPencil, pencil3.getLeftX(), pencil3.getHeight() +
-					65 + pencil3.getY(), pencil3.getWidth() / 2.0f, 
-					pencil3.getHeight() / 2.0f,
-					pencil3.getWidth() * 3, pencil3.getHeight(), 
-					1, 1, pencil3.getRotation());
-		}
-		
-		if (pencil4.isHorizontal()) {
-			pencil4.setStartingRotation(90);
-			batcher.draw(fullPencil, pencil4.getLeftX(), 
-					pencil4.getHeight() + pencil4.getY(),
-					pencil4.getWidth() / 2.0f, pencil4.getHeight() / 2.0f,
-					pencil4.getWidth() * 3, pencil4.getHeight(), 
-					1, 1, pencil4.getRotation());
-			batcher.draw(fullPencil, pencil4.getLeftX(), pencil4.getHeight() -
-					65 + pencil4.getY(), pencil4.getWidth() / 2.0f,
-					pencil4.getHeight() / 2.0f,
-					pencil4.getWidth() * 3, pencil4.getHeight(), 
-					1, 1, pencil4.getRotation());
-			batcher.draw(fullPencil, pencil4.getLeftX(), pencil4.getHeight() +
-					65 + pencil4.getY(), pencil4.getWidth() / 2.0f, 
-					pencil4.getHeight() / 2.0f,
-					pencil4.getWidth() * 3, pencil4.getHeight(), 
-					1, 1, pencil4.getRotation());
-		}
-	}
-	
-	/**
-	 * Draws the full pencil images used when the pencils are
-	 * spinning.
-	 * @return void
-	 */
-	private void drawSpinningPencils() {
-		if (pencil1.isSpinning()) {
-			pencil1.rotate(10);
-			batcher.draw(fullPencil, pencil1.getLeftX(), 
-					pencil1.getHeight(),
-					(pencil1.getWidth() * 3) / 2.0f, 
-					pencil1.getHeight() / 2.0f,
-					pencil1.getWidth() * 3, pencil1.getHeight(), 
-					1, 1, pencil1.getRotation());
-			batcher.draw(fullPencil, pencil1.getLeftX(),
-					pencil1.getSpinningCollisionBottom().y - 150 - 
-					pencil1.getSpinningCollisionBottom().radius,
-					(pencil1.getWidth() * 3) / 2.0f, 
-					pencil1.getHeight() / 2.0f,
-					pencil1.getWidth() * 3, pencil1.getHeight(), 
-					1, 1, pencil1.getRotation() * -1);
-		}
-		
-		if (pencil2.isSpinning()) {
-			pencil2.rotate(10);
-			batcher.draw(fullPencil, pencil2.getLeftX(), 
-					pencil2.getHeight(),
-					(pencil2.getWidth() * 3) / 2.0f, 
-					pencil2.getHeight() / 2.0f,
-					pencil2.getWidth() * 3, pencil2.getHeight(), 
-					1, 1, pencil2.getRotation());
-			batcher.draw(fullPencil, pencil2.getLeftX(),
-					pencil2.getSpinningCollisionBottom().y - 150 - 
-					pencil2.getSpinningCollisionBottom().radius,
-					(pencil2.getWidth() * 3) / 2.0f, 
-					pencil2.getHeight() / 2.0f,
-					pencil2.getWidth() * 3, pencil2.getHeight(), 
-					1, 1, pencil2.getRotation() * -1);
-		}
-		
-		if (pencil3.isSpinning()) {
-			pencil3.rotate(10);
-			batcher.draw(fullPencil, pencil3.getLeftX(),
-					pencil3.getHeight(),
-					(pencil3.getWidth() * 3) / 2.0f,
-					pencil3.getHeight() / 2.0f,
-					pencil3.getWidth() * 3, pencil3.getHeight(), 
-					1, 1, pencil3.getRotation());
-			batcher.draw(fullPencil, pencil3.getLeftX(),
-					pencil3.getSpinningCollisionBottom().y - 150 - 
-					pencil3.getSpinningCollisionBottom().radius,
-					(pencil3.getWidth() * 3) / 2.0f, 
-					pencil3.getHeight() / 2.0f,
-					pencil3.getWidth() * 3, pencil3.getHeight(), 
-					1, 1, pencil3.getRotation() * -1);
-		}
-		
-		if (pencil4.isSpinning()) {
-			pencil4.rotate(10);
-			batcher.draw(fullPencil, pencil4.getLeftX(), 
-					pencil4.getHeight(),
-					(pencil4.getWidth() * 3) / 2.0f, 
-					pencil4.getHeight() / 2.0f,
-					pencil4.getWidth() * 3, pencil4.getHeight(), 
-					1, 1, pencil4.getRotation());
-			batcher.draw(fullPencil, pencil4.getLeftX(),
-					pencil4.getSpinningCollisionBottom().y - 150 - 
-					pencil4.getSpinningCollisionBottom().radius,
-					(pencil4.getWidth() * 3) / 2.0f, 
-					pencil4.getHeight() / 2.0f,
-					pencil4.getWidth() * 3, pencil4.getHeight(), 
-					1, 1, pencil4.getRotation() * -1);
-		}
-	}
-	
-	/**
-	 * Helper method that draws all of the pencils in the game by
-	 * calling other methods in this class.
-	 */
-	private void drawAllPencils() {
-		// draws the vertical pencils
-		if (pencil1.isVertical() || pencil2.isVertical() ||
-				pencil3.isVertical() || pencil4.isVertical()) {
-			drawPencilBodies();
-			drawPencilTips();
-		}
-		
-		// draws the horizontal pencils
-		if (pencil1.isHorizontal() || pencil2.isHorizontal() ||
-				pencil3.isHorizontal() || pencil4.isHorizontal())
-			drawHorizontalPencils();
+		backdrop.begin();
+		batcher.begin();
+		queue.render(batcher);
+		batcher.end();
+		backdrop.end();
 		
-		// draws the spinning pencils
-		if (pencil1.isSpinning() || pencil2.isSpinning() || 
-				pencil3.isSpinning() || pencil4.isSpinning())
-			drawSpinningPencils();
-	}
-	
-	/**
-	 * Helper method that draws the collectables
-	 * to the game screen.
-	 */
-	private void drawCollectables() {
-		if (world.getScore() > 4 && !collectable.isCollected()) {
-			collectable.rotate(1);
-
-			// if collectable doesn't overlap a pencil, then it gets drawn
-			if (!(collectable.collectableCollidesPencil(pencil1) ||
-					collectable.collectableCollidesPencil(pencil2) ||
-					collectable.collectableCollidesPencil(pencil3) ||
-					collectable.collectableCollidesPencil(pencil4))) {
-				if (collectable.isM())
-					batcher.draw(mSymbol, collectable.getLeftX(),
-							collectable.getHeight() + collectable.getY(), 
-							5, 5, 10, 10, 
-							1, 1, collectable.getRotation());
-				else if (collectable.isBeer())
-					batcher.draw(beer, collectable.getLeftX(),
-							collectable.getHeight() + collectable.getY(),
-							5, 5, 10, 10, 
-							1, 1, collectable.getRotation());
-				else if (collectable.isCoffee())
-					batcher.draw(coffee, collectable.getLeftX(),
-							collectable.getHeight() + collectable.getY(), 
-							5, 5, 10, 10, 
-							1, 1, collectable.getRotation());
-				else if (collectable.isPizza())
-					batcher.draw(pizza, collectable.getLeftX(),
-							collectable.getHeight() + collectable.getY(), 
-							5, 5, 10, 10, 
-							1, 1, collectable.getRotation());
-			}
-		}
-	}
-	
-	/**
-	 * Draws the background image of the game.
-	 */
-	private void drawBackground() {
-		// draws the image of McKeldin library
-		batcher.draw(AssetLoader.bgImage, -83, midScreen - 30, 300, 185);
-
-		// draws the sky
-		batcher.disableBlending();
-		batcher.draw(AssetLoader.skyImage, 0, 0, 300, midScreen - 20);
+		backdropBaked = true;
 	}
 	
 	/**
-	 * Draws the game over menu on the screen.
+	 * Draws the game over menu on the screen, over the dimmed frame
+	 * once the SpriteBatch has ended.
 	 */
 	private void drawGameOverMenu() {
 		if (world.isHighScore()) {
@@ -588,17 +309,17 @@ public class GameRenderer {
 		
 		Gdx.input.setInputProcessor(AssetLoader.gameoverStage);
 
-		// draws semi-transparent black background
-		shapeRenderer.begin(ShapeType.Filled);
-		shapeRenderer.setColor(0, 0, 0, .7f);
-		shapeRenderer.rect(0, 0, 
-				Gdx.graphics.getWidth(), Gdx.graphics.getHeight());
-		shapeRenderer.end();
-
 		// setting label to display the most current score
-		scoreLabel.setText("Score: " + world.getScore());
+		if (world.getScore() != shownGameoverScore) {
+			shownGameoverScore = world.getScore();
+			gameoverScoreText.setLength(0);
+			gameoverScoreText.append("Score: ").append(shownGameoverScore);
+			scoreLabel.setText(gameoverScoreText);
+		}
 
 		AssetLoader.gameoverStage.draw();
+		if (AssetLoader.profiler != null)
+			AssetLoader.profiler.addBatch(AssetLoader.gameoverStage.getBatch());
 	}
 
 }
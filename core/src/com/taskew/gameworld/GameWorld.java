@@ -1,19 +1,21 @@
 package com.taskew.gameworld;
 
-import com.badlogic.gdx.Gdx;
 import com.badlogic.gdx.math.Intersector;
 import com.badlogic.gdx.math.Rectangle;
+import com.taskew.gameobjects.Difficulty;
 import com.taskew.gameobjects.ScrollHandler;
 import com.taskew.gameobjects.Terrapin;
-import com.taskew.helpers.AssetLoader;
-import com.taskew.helpers.InputHandler;
+import com.taskew.helpers.GameRandom;
+import com.taskew.helpers.StateBuffer;
 
 /**
  * @author Tyler Askew
  * @version 1.0
  * Contains all of the objects that are going to be presented to the
  * screen. This class DOES NOT draw anything to the screen, that is the
- * job of the GameRenderer class.
+ * job of the GameRenderer class. Everything that should play a sound or
+ * save a score is added to a GameEvents queue instead of being done here,
+ * so the world can also run without a device.
  */
 public class GameWorld {
 	
@@ -25,6 +27,7 @@ public class GameWorld {
 		
 	// represents collision area of the ground
 	private Rectangle ground;
+	private int midScreen;
 	
 	// contains the player's score
 	private int score;
@@ -32,26 +35,80 @@ public class GameWorld {
 	// used to determine when the terp will normalize
 	private int enlargedScoreCount;
 	
+	// every random choice in a game comes from here, starting from the
+	// seed of that game so it can be played again exactly the same way
+	private GameRandom random;
+	private long seed;
+	
+	// decides how hard the game is
+	private Difficulty difficulty;
+	
+	// number of updates run in the current game and the one the terp
+	// died on, or -1 while it is still alive
+	private int ticks, deathTick;
+	
+	// records the current game so it can be replayed, if set
+	private RunRecording recording;
+	
+	// everything that happened since the screen last drained it
+	private GameEvents events;
+	
+	// lowest score that makes the high scores, the world never decides
+	// this on its own so it can not reach the high score state headless
+	private int scoreToBeat;
+	
 	// represents the current state of the game and all possible game states
 	private GameState currentState;
 	private enum GameState {
 		READY, RUNNING, PAUSED, GAMEOVER, HIGHSCORE
 	}
+	private static final GameState[] STATES = GameState.values();
 	
 	/**
 	 * Default constructor that initializes all of the 
-	 * instance variables in this class.
+	 * instance variables in this class with a seed based on the time.
 	 * @param midScreen Int containing the y-coordinate pointing to 
 	 * the middle of the game's screen.
 	 * @return none
 	 */
 	public GameWorld(int midScreen) {
+		this(midScreen, System.nanoTime());
+	}
+	
+	/**
+	 * Constructor that initializes all of the instance variables in
+	 * this class and starts the first game from the given seed.
+	 * @param midScreen Int containing the y-coordinate pointing to 
+	 * the middle of the game's screen.
+	 * @param seed Long containing the seed of the first game.
+	 * @return none
+	 */
+	public GameWorld(int midScreen, long seed) {
+		this(midScreen, seed, new Difficulty());
+	}
+	
+	/**
+	 * Constructor that initializes all of the instance variables in
+	 * this class and starts the first game from the given seed with
+	 * the given difficulty.
+	 * @param midScreen Int containing the y-coordinate pointing to 
+	 * the middle of the game's screen.
+	 * @param seed Long containing the seed of the first game.
+	 * @param difficulty Difficulty object deciding how hard the game is.
+	 * @return none
+	 */
+	public GameWorld(int midScreen, long seed, Difficulty difficulty) {
+		this.seed = seed;
+		this.difficulty = difficulty;
+		random = new GameRandom(seed);
 		terp = new Terrapin(21, midScreen - 5, 15, 15);
-		scroller = new ScrollHandler(this);
+		scroller = new ScrollHandler(this, random, difficulty);
 		ground = new Rectangle(0, midScreen + 100, 136, 10);
-		score = 0;
-		enlargedScoreCount = 0;
-		currentState = GameState.READY;
+		this.midScreen = midScreen;
+		events = new GameEvents();
+		scoreToBeat = Integer.MAX_VALUE;
+		recording = null;
+		reset();
 	}
 	
 	/**
@@ -77,29 +134,26 @@ public class GameWorld {
 	}
 	
 	/**
-	 * Calls the restart method to make sure everything
+	 * Calls the reset method to make sure everything
 	 * is ready for correct game play.
 	 * @param delta Float containing the seconds since the last time this
 	 * method was called.
 	 * @return void
 	 */
 	public void updateReady(float delta) {
-		restart();
+		reset();
 	}
 
 	/**
 	 * Updates all of the objects contained within the GameWorld so that
 	 * these objects with their new attributes can be drawn to the game
 	 * screen via the GameRenderer class.
-	 * @param delta Float containing the number of seconds since the last
-	 * time this update method was called.
+	 * @param delta Float containing the length of one fixed update step
+	 * in seconds.
 	 * @return void
 	 */
 	public void updateRunning(float delta) {
-		// puts a cap on the delta in case the game lags for a long time
-		if (delta > .15f)
-			delta = .15f;
-		
+		ticks++;
 		terp.update(delta);
 		scroller.update(delta);
 		
@@ -107,7 +161,8 @@ public class GameWorld {
 		if (scroller.collides(terp) && terp.isAlive()) {
 			scroller.stop();
 			terp.kill();
-			AssetLoader.dead.play();
+			deathTick = ticks;
+			emit(GameEvents.Type.DIED);
 		}
 		
 		// checks if terp has hit the ground
@@ -116,36 +171,101 @@ public class GameWorld {
 			terp.kill();
 			terp.decelerate();
 			currentState = GameState.GAMEOVER;
-						
-			// changes the top five highscores if new score belongs in there
-			if (score > AssetLoader.getHighScore(4)) {
-				if (score < AssetLoader.getHighScore(3)) {
-					AssetLoader.setHighScore(score, 4);
-				} else if (score < AssetLoader.getHighScore(2)) {
-					AssetLoader.setHighScore(AssetLoader.getHighScore(3), 4);
-					AssetLoader.setHighScore(score, 3);
-				} else if (score < AssetLoader.getHighScore(1)) {
-					AssetLoader.setHighScore(AssetLoader.getHighScore(3), 4);
-					AssetLoader.setHighScore(AssetLoader.getHighScore(2), 3);
-					AssetLoader.setHighScore(score, 2);
-				} else if (score < AssetLoader.getHighScore(0)) {
-					AssetLoader.setHighScore(AssetLoader.getHighScore(3), 4);
-					AssetLoader.setHighScore(AssetLoader.getHighScore(2), 3);
-					AssetLoader.setHighScore(AssetLoader.getHighScore(1), 2);
-					AssetLoader.setHighScore(score, 1);
-				} else {
-					AssetLoader.setHighScore(AssetLoader.getHighScore(3), 4);
-					AssetLoader.setHighScore(AssetLoader.getHighScore(2), 3);
-					AssetLoader.setHighScore(AssetLoader.getHighScore(1), 2);
-					AssetLoader.setHighScore(AssetLoader.getHighScore(0), 1);
-					AssetLoader.setHighScore(score, 0);
-				}
-				
+			
+			if (deathTick < 0)
+				deathTick = ticks;
+			if (recording != null)
+				recording.finish(score, deathTick, ticks);
+			
+			emit(GameEvents.Type.GAME_OVER);
+			if (score > scoreToBeat) {
 				currentState = GameState.HIGHSCORE;
+				emit(GameEvents.Type.HIGH_SCORE);
 			}
 		}
 	}
 	
+	/**
+	 * Makes this world the same as another one, so it carries on from
+	 * exactly the same point. The events, score to beat and recording
+	 * are not copied, and both worlds are expected to share the same
+	 * difficulty. Nothing new is created once this world has been set
+	 * the first time.
+	 * @param other GameWorld object to be copied.
+	 * @return void
+	 */
+	public void set(GameWorld other) {
+		terp.set(other.terp);
+		scroller.set(other.scroller);
+		ground.set(other.ground);
+		midScreen = other.midScreen;
+		score = other.score;
+		enlargedScoreCount = other.enlargedScoreCount;
+		random.set(other.random);
+		seed = other.seed;
+		ticks = other.ticks;
+		deathTick = other.deathTick;
+		currentState = other.currentState;
+	}
+	
+	/**
+	 * Writes the whole state of the world, including where the random
+	 * numbers are, to a buffer. Like set(), the events, score to beat
+	 * and recording are left out. WorldSnapshot keeps the buffer this
+	 * is written to.
+	 * @param out StateBuffer object the state is written to.
+	 * @return void
+	 */
+	public void writeState(StateBuffer out) {
+		terp.writeState(out);
+		scroller.writeState(out);
+		out.putFloat(ground.x).putFloat(ground.y)
+				.putFloat(ground.width).putFloat(ground.height);
+		out.putInt(midScreen);
+		out.putInt(score);
+		out.putInt(enlargedScoreCount);
+		random.writeState(out);
+		out.putLong(seed);
+		out.putInt(ticks);
+		out.putInt(deathTick);
+		out.putInt(currentState.ordinal());
+	}
+	
+	/**
+	 * Reads back a state that was written by writeState(), so the
+	 * world carries on from exactly that point.
+	 * @param in StateBuffer object the state is read from.
+	 * @return void
+	 */
+	public void readState(StateBuffer in) {
+		terp.readState(in);
+		scroller.readState(in);
+		ground.set(in.getFloat(), in.getFloat(), in.getFloat(),
+				in.getFloat());
+		midScreen = in.getInt();
+		score = in.getInt();
+		enlargedScoreCount = in.getInt();
+		random.readState(in);
+		seed = in.getLong();
+		ticks = in.getInt();
+		deathTick = in.getInt();
+		currentState = STATES[in.getInt()];
+	}
+	
+	/**
+	 * Makes the terp jump if it is still alive.
+	 * @return void
+	 */
+	public void flap() {
+		if (terp.isAlive()) {
+			terp.onClick();
+			emit(GameEvents.Type.FLAPPED);
+			
+			if (recording != null)
+				recording.addFlap(ticks);
+		}
+	}
+	
 	/**
 	 * Returns the Terrapin object in the world.
 	 * @return Terrapin object representing the terp character.
@@ -163,6 +283,98 @@ public class GameWorld {
 		return scroller;
 	}
 	
+	/**
+	 * Returns the queue of everything that happened in the world since
+	 * it was last drained.
+	 * @return GameEvents object the world adds its events to.
+	 */
+	public GameEvents getEvents() {
+		return events;
+	}
+	
+	/**
+	 * Adds an event to the queue, marked with the current update and
+	 * score.
+	 * @param type Type of the event.
+	 * @return void
+	 */
+	public void emit(GameEvents.Type type) {
+		events.add(type, ticks, score);
+	}
+	
+	/**
+	 * Returns the lowest score that makes the high scores.
+	 * @return Int containing the score a game has to beat.
+	 */
+	public int getScoreToBeat() {
+		return scoreToBeat;
+	}
+	
+	/**
+	 * Sets the lowest score that makes the high scores. A game that ends
+	 * with a higher score goes to the high score state.
+	 * @param scoreToBeat Int containing the score a game has to beat.
+	 * @return void
+	 */
+	public void setScoreToBeat(int scoreToBeat) {
+		this.scoreToBeat = scoreToBeat;
+	}
+	
+	/**
+	 * Returns the recording of the current game.
+	 * @return RunRecording object being recorded to, or null if the
+	 * game is not being recorded.
+	 */
+	public RunRecording getRecording() {
+		return recording;
+	}
+	
+	/**
+	 * Records the current game and every game after it so they can be
+	 * replayed. The recording only ever holds the current game.
+	 * @param recording RunRecording object to record to, or null to
+	 * stop recording.
+	 * @return void
+	 */
+	public void setRecording(RunRecording recording) {
+		this.recording = recording;
+		
+		if (recording != null)
+			recording.begin(seed, midScreen);
+	}
+	
+	/**
+	 * Returns the difficulty the game is played with.
+	 * @return Difficulty object deciding how hard the game is.
+	 */
+	public Difficulty getDifficulty() {
+		return difficulty;
+	}
+	
+	/**
+	 * Returns the middle of the game's screen.
+	 * @return Int containing the y-coordinate of the middle of the screen.
+	 */
+	public int getMidScreen() {
+		return midScreen;
+	}
+	
+	/**
+	 * Returns the number of updates run so far in the current game.
+	 * @return Int containing the number of updates.
+	 */
+	public int getTicks() {
+		return ticks;
+	}
+	
+	/**
+	 * Returns the update the terp died on in the current game.
+	 * @return Int containing the update, or -1 if the terp is alive.
+	 */
+	public int getDeathTick() {
+		return deathTick;
+	}
+	
 	/**
 	 * Returns the player's score.
 	 * @return Int representing the player's score.
@@ -268,14 +480,50 @@ public class GameWorld {
 	}
 	
 	/**
-	 * Restarts all of the game's components and sets the
-	 * current state to the ready state. Also resets the input processor.
+	 * Restarts all of the game's components for a new game and sets the
+	 * current state to the ready state. The seed of the new game comes
+	 * from the seed of the last one, so a whole series of games can be
+	 * repeated from the seed of the first.
 	 * @return void
 	 */
 	public void restart() {
-		Gdx.input.setInputProcessor(new InputHandler(this));
+		restart(GameRandom.mix(seed));
+	}
+	
+	/**
+	 * Restarts all of the game's components for a new game played from
+	 * the given seed and sets the current state to the ready state.
+	 * @param seed Long containing the seed of the new game.
+	 * @return void
+	 */
+	public void restart(long seed) {
+		this.seed = seed;
+		reset();
+	}
+	
+	/**
+	 * Returns the seed of the current game.
+	 * @return Long containing the seed the current game started from.
+	 */
+	public long getSeed() {
+		return seed;
+	}
+	
+	/**
+	 * Puts all of the game's components back to the start of the
+	 * current game and sets the current state to the ready state.
+	 * @return void
+	 */
+	private void reset() {
 		score = 0;
 		enlargedScoreCount = 0;
+		ticks = 0;
+		deathTick = -1;
+		random.setSeed(seed);
+		
+		if (recording != null)
+			recording.begin(seed, midScreen);
+		
 		terp.restart();
 		scroller.restart();
 		currentState = GameState.READY;
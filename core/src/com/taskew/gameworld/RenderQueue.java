@@ -0,0 +1,463 @@
+package com.taskew.gameworld;
+
+import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.g2d.BitmapFont;
+import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.badlogic.gdx.math.Frustum;
+import com.badlogic.gdx.math.MathUtils;
+
+/**
+ * @author Tyler Askew
+ * @version 1.0
+ * Collects what a frame draws as commands and then draws all of them
+ * with a single SpriteBatch. Each command belongs to a layer, drawn in
+ * the order WORLD, HUD and OVERLAY, and has a depth within its layer.
+ * Commands are sorted by layer and depth, and within a depth the opaque
+ * ones go first and the rest are grouped by texture, so the batch
+ * changes state as seldom as possible. Commands of the same layer, depth
+ * and state are drawn in the order they were added. Every command is
+ * kept in arrays that are only grown when a frame needs more of them
+ * than any frame before, so drawing creates no garbage. Once given the
+ * camera's frustum, images whose turned bounds are entirely outside of
+ * it are left out instead of being added.
+ */
+public class RenderQueue {
+
+	// layers, drawn in this order
+	public static final int WORLD = 0;
+	public static final int HUD = 1;
+	public static final int OVERLAY = 2;
+
+	// most depths within a layer
+	public static final int MAX_DEPTH = 256;
+
+	// commands kept when no number is given
+	public static final int DEFAULT_CAPACITY = 64;
+
+	// how the sort key is put together, layer and depth above the blend
+	// state above the texture
+	private static final int TEXTURE_BITS = 19;
+	private static final int BLENDED = 1 << TEXTURE_BITS;
+	private static final int DEPTH_SHIFT = TEXTURE_BITS + 1;
+	private static final int LAYER_SHIFT = DEPTH_SHIFT + 8;
+
+	// color of a command that is not tinted
+	private static final float WHITE_BITS = Color.WHITE.toFloatBits();
+
+	// the image or the text and font of each command
+	private TextureRegion[] regions;
+	private BitmapFont[] fonts;
+	private CharSequence[] texts;
+
+	// where, how large, turned how far and tinted how each command is
+	private float[] x, y, originX, originY, width, height, rotation, colors;
+
+	// sort key of each command and the commands in the order drawn
+	private int[] keys, order;
+	private int count;
+
+	// commands of the last frame that changed texture or blending
+	private int stateChanges;
+
+	// what the camera sees, or null to keep every image
+	private Frustum view;
+
+	// images kept and left out since the last frame was drawn, and
+	// those of the last frame
+	private int drawn, culled, lastDrawn, lastCulled;
+
+	/**
+	 * Constructor that creates a queue with room for the default number
+	 * of commands.
+	 * @return none
+	 */
+	public RenderQueue() {
+		this(DEFAULT_CAPACITY);
+	}
+
+	/**
+	 * Constructor that creates a queue.
+	 * @param capacity Int containing the number of commands there is
+	 * room for before the queue has to grow.
+	 * @return none
+	 */
+	public RenderQueue(int capacity) {
+		regions = new TextureRegion[capacity];
+		fonts = new BitmapFont[capacity];
+		texts = new CharSequence[capacity];
+		x = new float[capacity];
+		y = new float[capacity];
+		originX = new float[capacity];
+		originY = new float[capacity];
+		width = new float[capacity];
+		height = new float[capacity];
+		rotation = new float[capacity];
+		colors = new float[capacity];
+		keys = new int[capacity];
+		order = new int[capacity];
+	}
+
+	/**
+	 * Adds an image that is blended with what is behind it.
+	 * @param layer Int containing the layer drawn in.
+	 * @param depth Int containing the depth within the layer, drawn from
+	 * lowest to highest.
+	 * @param region TextureRegion object of the image.
+	 * @param x Float containing the left of the image.
+	 * @param y Float containing the top of the image.
+	 * @param width Float containing the width of the image.
+	 * @param height Float containing the height of the image.
+	 * @return void
+	 */
+	public void add(int layer, int depth, TextureRegion region, float x,
+			float y, float width, float height) {
+		add(layer, depth, region, x, y, 0, 0, width, height, 0);
+	}
+
+	/**
+	 * Adds an image, turned around a point, that is blended with what is
+	 * behind it.
+	 * @param layer Int containing the layer drawn in.
+	 * @param depth Int containing the depth within the layer, drawn from
+	 * lowest to highest.
+	 * @param region TextureRegion object of the image.
+	 * @param x Float containing the left of the image.
+	 * @param y Float containing the top of the image.
+	 * @param originX Float containing the point turned around, from the
+	 * left of the image.
+	 * @param originY Float containing the point turned around, from the
+	 * top of the image.
+	 * @param width Float containing the width of the image.
+	 * @param height Float containing the height of the image.
+	 * @param rotation Float containing the degrees the image is turned.
+	 * @return void
+	 */
+	public void add(int layer, int depth, TextureRegion region, float x,
+			float y, float originX, float originY, float width, float height,
+			float rotation) {
+		if (view != null && !inView(x, y, originX, originY, width, height,
+				rotation)) {
+			culled++;
+			return;
+		}
+		drawn++;
+
+		int i = next(layer, depth, region.getTexture());
+		regions[i] = region;
+		this.x[i] = x;
+		this.y[i] = y;
+		this.originX[i] = originX;
+		this.originY[i] = originY;
+		this.width[i] = width;
+		this.height[i] = height;
+		this.rotation[i] = rotation;
+		colors[i] = WHITE_BITS;
+	}
+
+	/**
+	 * Adds an image that replaces what is behind it instead of being
+	 * blended, for images without any transparency.
+	 * @param layer Int containing the layer drawn in.
+	 * @param depth Int containing the depth within the layer, drawn from
+	 * lowest to highest.
+	 * @param region TextureRegion object of the image.
+	 * @param x Float containing the left of the image.
+	 * @param y Float containing the top of the image.
+	 * @param width Float containing the width of the image.
+	 * @param height Float containing the height of the image.
+	 * @return void
+	 */
+	public void addOpaque(int layer, int depth, TextureRegion region,
+			float x, float y, float width, float height) {
+		int added = count;
+		add(layer, depth, region, x, y, width, height);
+
+		// opaque commands sort ahead of blended ones at the same depth
+		if (count > added)
+			keys[count - 1] &= ~BLENDED;
+	}
+
+	/**
+	 * Adds a solid rectangle, drawn with an image tinted by a color.
+	 * @param layer Int containing the layer drawn in.
+	 * @param depth Int containing the depth within the layer, drawn from
+	 * lowest to highest.
+	 * @param white TextureRegion object of a white image.
+	 * @param color Color object of the rectangle.
+	 * @param x Float containing the left of the rectangle.
+	 * @param y Float containing the top of the rectangle.
+	 * @param width Float containing the width of the rectangle.
+	 * @param height Float containing the height of the rectangle.
+	 * @return void
+	 */
+	public void addFill(int layer, int depth, TextureRegion white,
+			Color color, float x, float y, float width, float height) {
+		int added = count;
+		add(layer, depth, white, x, y, width, height);
+		if (count > added)
+			colors[count - 1] = color.toFloatBits();
+	}
+
+	/**
+	 * Adds a line of text. The text is read when the queue is drawn, so
+	 * it must not change before then.
+	 * @param layer Int containing the layer drawn in.
+	 * @param depth Int containing the depth within the layer, drawn from
+	 * lowest to highest.
+	 * @param font BitmapFont object the text is written in.
+	 * @param text CharSequence containing the text.
+	 * @param x Float containing the left of the text.
+	 * @param y Float containing the top of the text.
+	 * @return void
+	 */
+	public void addText(int layer, int depth, BitmapFont font,
+			CharSequence text, float x, float y) {
+		int i = next(layer, depth, font.getRegion().getTexture());
+		fonts[i] = font;
+		texts[i] = text;
+		this.x[i] = x;
+		this.y[i] = y;
+	}
+
+	/**
+	 * Draws every command in order with a batch that has already begun,
+	 * leaves the batch blending with no tint, and empties the queue.
+	 * @param batch SpriteBatch object drawn with.
+	 * @return void
+	 */
+	public void render(SpriteBatch batch) {
+		sort();
+
+		stateChanges = 0;
+		Texture texture = null;
+		boolean blending = batch.isBlendingEnabled();
+		for (int n = 0; n < count; n++) {
+			int i = order[n];
+
+			// either change makes the batch flush, so a command changing
+			// both is only counted once
+			boolean changed = false;
+			boolean blend = (keys[i] & BLENDED) != 0;
+			if (blend != blending) {
+				if (blend)
+					batch.enableBlending();
+				else
+					batch.disableBlending();
+				blending = blend;
+				changed = true;
+			}
+
+			Texture next = (fonts[i] != null) ?
+					fonts[i].getRegion().getTexture() : regions[i].getTexture();
+			if (next != texture) {
+				texture = next;
+				changed = true;
+			}
+			if (changed)
+				stateChanges++;
+
+			if (fonts[i] != null) {
+				fonts[i].draw(batch, texts[i], x[i], y[i]);
+			} else {
+				batch.setColor(colors[i]);
+				batch.draw(regions[i], x[i], y[i], originX[i], originY[i],
+						width[i], height[i], 1, 1, rotation[i]);
+			}
+		}
+
+		batch.setColor(Color.WHITE);
+		if (!blending)
+			batch.enableBlending();
+		lastDrawn = drawn;
+		lastCulled = culled;
+		clear();
+	}
+
+	/**
+	 * Sets what the camera sees, so images outside of it are left out.
+	 * The frustum is read every time an image is added, so it follows
+	 * the camera as long as the camera is updated.
+	 * @param view Frustum object of the camera, or null to keep every
+	 * image.
+	 * @return void
+	 */
+	public void setView(Frustum view) {
+		this.view = view;
+	}
+
+	/**
+	 * Returns if any of an image, turned around a point, can be seen.
+	 * Uses the box around the turned image, turned the same way
+	 * SpriteBatch turns it.
+	 * @param x Float containing the left of the image.
+	 * @param y Float containing the top of the image.
+	 * @param originX Float containing the point turned around, from the
+	 * left of the image.
+	 * @param originY Float containing the point turned around, from the
+	 * top of the image.
+	 * @param width Float containing the width of the image.
+	 * @param height Float containing the height of the image.
+	 * @param rotation Float containing the degrees the image is turned.
+	 * @return Boolean containing if the image can be seen.
+	 */
+	private boolean inView(float x, float y, float originX, float originY,
+			float width, float height, float rotation) {
+		float centerX = x + width / 2;
+		float centerY = y + height / 2;
+		float halfWidth = width / 2;
+		float halfHeight = height / 2;
+
+		if (rotation != 0) {
+			float cos = MathUtils.cosDeg(rotation);
+			float sin = MathUtils.sinDeg(rotation);
+
+			// the center turns around the origin, and the box around the
+			// image grows with the angle
+			float fromOriginX = width / 2 - originX;
+			float fromOriginY = height / 2 - originY;
+			centerX = x + originX + fromOriginX * cos - fromOriginY * sin;
+			centerY = y + originY + fromOriginX * sin + fromOriginY * cos;
+			halfWidth = (Math.abs(cos) * width + Math.abs(sin) * height) / 2;
+			halfHeight = (Math.abs(sin) * width + Math.abs(cos) * height) / 2;
+		}
+
+		// images lie on the near plane, so they are given some depth to
+		// keep rounding from putting them behind it
+		return view.boundsInFrustum(centerX, centerY, 0, halfWidth,
+				halfHeight, 1);
+	}
+
+	/**
+	 * Removes every command without drawing it.
+	 * @return void
+	 */
+	public void clear() {
+		// lets go of the images, fonts and text so nothing is kept alive
+		for (int i = 0; i < count; i++) {
+			regions[i] = null;
+			fonts[i] = null;
+			texts[i] = null;
+		}
+		count = 0;
+		drawn = 0;
+		culled = 0;
+	}
+
+	/**
+	 * Returns the number of commands waiting to be drawn.
+	 * @return Int containing the number of commands.
+	 */
+	public int size() {
+		return count;
+	}
+
+	/**
+	 * Returns the number of images the last frame drew.
+	 * @return Int containing the number of images.
+	 */
+	public int getDrawn() {
+		return lastDrawn;
+	}
+
+	/**
+	 * Returns the number of images the last frame left out because the
+	 * camera could not see them.
+	 * @return Int containing the number of images.
+	 */
+	public int getCulled() {
+		return lastCulled;
+	}
+
+	/**
+	 * Returns how many commands of the last frame drawn changed texture
+	 * or blending, counting the first, which is how many batches the
+	 * frame needed.
+	 * @return Int containing the number of changes.
+	 */
+	public int getStateChanges() {
+		return stateChanges;
+	}
+
+	/**
+	 * Makes room for a blended command and gives it its sort key.
+	 * @param layer Int containing the layer drawn in.
+	 * @param depth Int containing the depth within the layer.
+	 * @param texture Texture object drawn from.
+	 * @return Int containing where the command is kept.
+	 */
+	private int next(int layer, int depth, Texture texture) {
+		if (count == keys.length)
+			grow();
+
+		int i = count++;
+		keys[i] = (layer << LAYER_SHIFT) | (depth << DEPTH_SHIFT) | BLENDED |
+				(texture.getTextureObjectHandle() & (BLENDED - 1));
+		return i;
+	}
+
+	/**
+	 * Puts the commands in the order they are drawn. An insertion sort,
+	 * since commands are mostly added in order already, which keeps
+	 * commands with the same key in the order they were added. Called
+	 * by render(), so it only needs to be called to sort without drawing.
+	 * @return void
+	 */
+	public void sort() {
+		for (int n = 0; n < count; n++) {
+			int i = order[n] = n;
+			int m = n - 1;
+			while (m >= 0 && keys[order[m]] > keys[i]) {
+				order[m + 1] = order[m];
+				m--;
+			}
+			order[m + 1] = i;
+		}
+	}
+
+	/**
+	 * Doubles the number of commands there is room for.
+	 * @return void
+	 */
+	private void grow() {
+		int capacity = keys.length * 2;
+
+		TextureRegion[] newRegions = new TextureRegion[capacity];
+		System.arraycopy(regions, 0, newRegions, 0, count);
+		regions = newRegions;
+		BitmapFont[] newFonts = new BitmapFont[capacity];
+		System.arraycopy(fonts, 0, newFonts, 0, count);
+		fonts = newFonts;
+		CharSequence[] newTexts = new CharSequence[capacity];
+		System.arraycopy(texts, 0, newTexts, 0, count);
+		texts = newTexts;
+
+		x = grow(x, capacity);
+		y = grow(y, capacity);
+		originX = grow(originX, capacity);
+		originY = grow(originY, capacity);
+		width = grow(width, capacity);
+		height = grow(height, capacity);
+		rotation = grow(rotation, capacity);
+		colors = grow(colors, capacity);
+
+		int[] newKeys = new int[capacity];
+		System.arraycopy(keys, 0, newKeys, 0, count);
+		keys = newKeys;
+		order = new int[capacity];
+	}
+
+	/**
+	 * Copies an array into a larger one.
+	 * @param values Array of floats to be copied.
+	 * @param capacity Int containing the length of the new array.
+	 * @return Array of floats holding the values.
+	 */
+	private float[] grow(float[] values, int capacity) {
+		float[] grown = new float[capacity];
+		System.arraycopy(values, 0, grown, 0, count);
+		return grown;
+	}
+
+}
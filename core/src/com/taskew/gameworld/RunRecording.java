@@ -0,0 +1,251 @@
+package com.taskew.gameworld;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+import com.badlogic.gdx.utils.IntArray;
+
+/**
+ * @author Tyler Askew
+ * @version 1.0
+ * Everything needed to play a single game again exactly the same way.
+ * Since all of the randomness comes from the seed and the world only
+ * moves in fixed steps, the seed, the size of the screen, the tick rate
+ * and the update each flap happened before are enough. The score and
+ * the ticks the terp died and the game ended on are kept as well so a
+ * replay can check that it ended the same way.
+ */
+public class RunRecording {
+
+	// marks the start of a recording written to a file
+	private static final int MAGIC = 0x54525243;
+	private static final int VERSION = 1;
+	
+	// more flaps than this between two updates can not come from a player
+	private static final int MAX_FLAPS_PER_TICK = 4;
+	
+	// longest game that can be read, an hour at 60 updates per second
+	public static final int MAX_TICKS = 60 * 3600;
+
+	// what the game was started from
+	private long seed;
+	private int midScreen, tickRate;
+
+	// number of updates that had run before each flap
+	private IntArray flapTicks;
+
+	// how the game ended, or -1 if it has not yet
+	private int score, deathTick, endTick;
+
+	/**
+	 * Constructor that creates an empty recording of a game updated
+	 * the given number of times per second.
+	 * @param tickRate Int containing the updates per second.
+	 * @return none
+	 */
+	public RunRecording(int tickRate) {
+		this.tickRate = tickRate;
+		flapTicks = new IntArray();
+		begin(0, 0);
+	}
+
+	/**
+	 * Constructor that copies another recording.
+	 * @param other RunRecording object to be copied.
+	 * @return none
+	 */
+	public RunRecording(RunRecording other) {
+		this(other.tickRate);
+		set(other);
+	}
+
+	/**
+	 * Clears the recording to start recording a new game.
+	 * @param seed Long containing the seed of the new game.
+	 * @param midScreen Int containing the middle of the game's screen.
+	 * @return void
+	 */
+	public void begin(long seed, int midScreen) {
+		this.seed = seed;
+		this.midScreen = midScreen;
+		flapTicks.clear();
+		score = -1;
+		deathTick = -1;
+		endTick = -1;
+	}
+
+	/**
+	 * Adds a flap that happened before the given update.
+	 * @param tick Int containing the number of updates run before the flap.
+	 * @return void
+	 */
+	public void addFlap(int tick) {
+		flapTicks.add(tick);
+	}
+
+	/**
+	 * Records how the game ended.
+	 * @param score Int containing the final score.
+	 * @param deathTick Int containing the update the terp died on.
+	 * @param endTick Int containing the update the game ended on.
+	 * @return void
+	 */
+	public void finish(int score, int deathTick, int endTick) {
+		this.score = score;
+		this.deathTick = deathTick;
+		this.endTick = endTick;
+	}
+
+	/**
+	 * Makes this recording the same as another one.
+	 * @param other RunRecording object to be copied.
+	 * @return void
+	 */
+	public void set(RunRecording other) {
+		seed = other.seed;
+		midScreen = other.midScreen;
+		tickRate = other.tickRate;
+		flapTicks.clear();
+		flapTicks.addAll(other.flapTicks);
+		score = other.score;
+		deathTick = other.deathTick;
+		endTick = other.endTick;
+	}
+
+	/**
+	 * Returns true once the game has ended and false otherwise.
+	 * @return boolean
+	 */
+	public boolean isFinished() {
+		return endTick >= 0;
+	}
+
+	/**
+	 * Returns the seed the game was started from.
+	 * @return Long containing the seed.
+	 */
+	public long getSeed() {
+		return seed;
+	}
+
+	/**
+	 * Returns the middle of the screen the game was played on.
+	 * @return Int containing the y-coordinate of the middle of the screen.
+	 */
+	public int getMidScreen() {
+		return midScreen;
+	}
+
+	/**
+	 * Returns the number of updates per second the game was played at.
+	 * @return Int containing the tick rate.
+	 */
+	public int getTickRate() {
+		return tickRate;
+	}
+
+	/**
+	 * Returns the number of flaps in the game.
+	 * @return Int containing the number of flaps.
+	 */
+	public int getFlapCount() {
+		return flapTicks.size;
+	}
+
+	/**
+	 * Returns the number of updates that had run before a flap.
+	 * @param i Int containing which flap to look at.
+	 * @return Int containing the tick of the flap.
+	 */
+	public int getFlapTick(int i) {
+		return flapTicks.get(i);
+	}
+
+	/**
+	 * Returns the final score of the game.
+	 * @return Int containing the score, or -1 if the game has not ended.
+	 */
+	public int getScore() {
+		return score;
+	}
+
+	/**
+	 * Returns the update the terp died on.
+	 * @return Int containing the tick, or -1 if the terp has not died.
+	 */
+	public int getDeathTick() {
+		return deathTick;
+	}
+
+	/**
+	 * Returns the update the game ended on.
+	 * @return Int containing the tick, or -1 if the game has not ended.
+	 */
+	public int getEndTick() {
+		return endTick;
+	}
+
+	/**
+	 * Writes the recording to a stream. The stream is not closed.
+	 * @param out OutputStream object the recording is written to.
+	 * @return void
+	 * @throws IOException if the stream could not be written to.
+	 */
+	public void write(OutputStream out) throws IOException {
+		DataOutputStream data = new DataOutputStream(out);
+		data.writeInt(MAGIC);
+		data.writeInt(VERSION);
+		data.writeLong(seed);
+		data.writeInt(midScreen);
+		data.writeInt(tickRate);
+		data.writeInt(score);
+		data.writeInt(deathTick);
+		data.writeInt(endTick);
+		data.writeInt(flapTicks.size);
+		for (int i = 0; i < flapTicks.size; i++)
+			data.writeInt(flapTicks.get(i));
+		data.flush();
+	}
+
+	/**
+	 * Reads a recording that was written by write(). The stream is
+	 * not closed.
+	 * @param in InputStream object the recording is read from.
+	 * @return RunRecording object that was read.
+	 * @throws IOException if the stream could not be read, does not
+	 * hold a recording or holds a game longer than MAX_TICKS.
+	 */
+	public static RunRecording read(InputStream in) throws IOException {
+		DataInputStream data = new DataInputStream(in);
+		if (data.readInt() != MAGIC || data.readInt() != VERSION)
+			throw new IOException("Not a run recording");
+
+		long seed = data.readLong();
+		int midScreen = data.readInt();
+		RunRecording recording = new RunRecording(0);
+		recording.tickRate = data.readInt();
+		recording.begin(seed, midScreen);
+
+		int score = data.readInt();
+		int deathTick = data.readInt();
+		int endTick = data.readInt();
+		if (endTick > MAX_TICKS)
+			throw new IOException("Run recording is too long");
+		recording.finish(score, deathTick, endTick);
+
+		// guards against a damaged count, and only makes room for flaps
+		// as they are read so a short stream can not ask for more
+		int flaps = data.readInt();
+		if (flaps < 0 ||
+				flaps > (Math.max(endTick, 0) + 1) * MAX_FLAPS_PER_TICK)
+			throw new IOException("Too many flaps in run recording");
+		for (int i = 0; i < flaps; i++)
+			recording.flapTicks.add(data.readInt());
+
+		return recording;
+	}
+
+}
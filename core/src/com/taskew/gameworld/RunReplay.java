@@ -0,0 +1,120 @@
+package com.taskew.gameworld;
+
+/**
+ * @author Tyler Askew
+ * @version 1.0
+ * Plays a recorded game again in a new world. The world is started from
+ * the recorded seed and each recorded flap happens before the same
+ * update it did originally, so the replay follows the original game
+ * exactly. It can be driven one update at a time by the game screen to
+ * watch it in real time or run to the end as fast as possible.
+ */
+public class RunReplay {
+
+	// the game being replayed and the world it is replayed in
+	private RunRecording recording;
+	private GameWorld world;
+
+	// length of one update and the next recorded flap
+	private float step;
+	private int nextFlap;
+
+	/**
+	 * Constructor that creates a world to replay the recording in.
+	 * @param recording RunRecording object of the game to be replayed.
+	 * @return none
+	 */
+	public RunReplay(RunRecording recording) {
+		this.recording = recording;
+		world = new GameWorld(recording.getMidScreen(), recording.getSeed());
+		step = 1.0f / recording.getTickRate();
+		restart();
+	}
+
+	/**
+	 * Starts the replay over from the beginning.
+	 * @return void
+	 */
+	public void restart() {
+		world.restart(recording.getSeed());
+		world.start();
+		nextFlap = 0;
+	}
+
+	/**
+	 * Runs a single update of the replay, flapping first if the
+	 * recording flapped before this update.
+	 * @return void
+	 */
+	public void tick() {
+		if (isFinished())
+			return;
+
+		while (nextFlap < recording.getFlapCount() &&
+				recording.getFlapTick(nextFlap) == world.getTicks()) {
+			world.flap();
+			nextFlap++;
+		}
+
+		world.update(step);
+	}
+
+	/**
+	 * Runs the replay until the game ends or the given number of
+	 * updates have run.
+	 * @param maxTicks Int containing the most updates to run.
+	 * @return Boolean containing true if the game ended the same way
+	 * it did in the recording.
+	 */
+	public boolean runToEnd(int maxTicks) {
+		while (!isFinished() && world.getTicks() < maxTicks)
+			tick();
+
+		return matches();
+	}
+
+	/**
+	 * Returns true if the replayed game has ended and false otherwise.
+	 * @return boolean
+	 */
+	public boolean isFinished() {
+		return world.isGameOver() || world.isHighScore();
+	}
+
+	/**
+	 * Determines if the replay ended with the same score on the same
+	 * updates as the recording.
+	 * @return Boolean containing true if the replay matches.
+	 */
+	public boolean matches() {
+		return isFinished() &&
+				world.getScore() == recording.getScore() &&
+				world.getDeathTick() == recording.getDeathTick() &&
+				world.getTicks() == recording.getEndTick();
+	}
+
+	/**
+	 * Returns the world the recording is replayed in.
+	 * @return GameWorld object running the replay.
+	 */
+	public GameWorld getWorld() {
+		return world;
+	}
+
+	/**
+	 * Returns the recording being replayed.
+	 * @return RunRecording object being replayed.
+	 */
+	public RunRecording getRecording() {
+		return recording;
+	}
+
+	/**
+	 * Returns the length of one update of the replay.
+	 * @return Float containing the seconds in one update.
+	 */
+	public float getStep() {
+		return step;
+	}
+
+}
@@ -0,0 +1,166 @@
+package com.taskew.gameworld;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+/**
+ * @author Tyler Askew
+ * @version 1.0
+ * A game that was interrupted, kept small enough to be saved every
+ * time the app is paused. Holds a snapshot of the world and, when it
+ * fits, the recording of the game so far so that the finished game can
+ * still be replayed and verified. A game with too many flaps to fit is
+ * saved without its recording instead of making the save any bigger.
+ */
+public class RunSave {
+
+	// marks the start of a save written to a file
+	private static final int MAGIC = 0x54525356;
+	private static final int VERSION = 3;
+
+	// largest a save is allowed to get
+	public static final int MAX_SIZE = 4096;
+
+	// bytes taken by everything but the snapshot and the flaps
+	private static final int HEADER_SIZE = 64;
+
+	// the world and the recording of the game so far
+	private WorldSnapshot snapshot;
+	private RunRecording recording;
+	private boolean hasRecording;
+
+	// updates per second the game was played at
+	private int tickRate;
+
+	/**
+	 * Constructor that creates an empty save.
+	 * @return none
+	 */
+	public RunSave() {
+		snapshot = new WorldSnapshot();
+		recording = new RunRecording(0);
+		hasRecording = false;
+		tickRate = 0;
+	}
+
+	/**
+	 * Saves the world as it is right now, along with its recording if
+	 * it has one that fits.
+	 * @param world GameWorld object to be saved.
+	 * @param tickRate Int containing the updates per second of the game.
+	 * @return void
+	 */
+	public void capture(GameWorld world, int tickRate) {
+		this.tickRate = tickRate;
+		snapshot.capture(world);
+
+		RunRecording current = world.getRecording();
+		int room = MAX_SIZE - HEADER_SIZE - snapshot.size() * 4;
+		hasRecording = current != null &&
+				current.getFlapCount() * 4 <= room;
+		if (hasRecording)
+			recording.set(current);
+	}
+
+	/**
+	 * Puts the saved game back into a world and pauses it. If the save
+	 * has a recording, it is copied into the recording the world
+	 * already has.
+	 * @param world GameWorld object to be restored.
+	 * @return void
+	 */
+	public void restore(GameWorld world) {
+		snapshot.restore(world);
+		world.pause();
+
+		// setting the recording starts it over, so it is filled in after
+		RunRecording current = world.getRecording();
+		if (current != null && hasRecording) {
+			world.setRecording(current);
+			current.set(recording);
+		}
+	}
+
+	/**
+	 * Returns true if the save holds the recording of the game.
+	 * @return boolean
+	 */
+	public boolean hasRecording() {
+		return hasRecording;
+	}
+
+	/**
+	 * Returns the number of updates per second the game was played at.
+	 * @return Int containing the tick rate.
+	 */
+	public int getTickRate() {
+		return tickRate;
+	}
+
+	/**
+	 * Writes the save to a stream. The stream is not closed.
+	 * @param out OutputStream object the save is written to.
+	 * @return void
+	 * @throws IOException if the stream could not be written to.
+	 */
+	public void write(OutputStream out) throws IOException {
+		DataOutputStream data = new DataOutputStream(out);
+		data.writeInt(MAGIC);
+		data.writeInt(VERSION);
+		data.writeInt(tickRate);
+		snapshot.write(data);
+
+		// only the part of the recording that a game in progress has
+		data.writeBoolean(hasRecording);
+		if (hasRecording) {
+			data.writeLong(recording.getSeed());
+			data.writeInt(recording.getMidScreen());
+			data.writeInt(recording.getTickRate());
+			data.writeInt(recording.getFlapCount());
+			for (int i = 0; i < recording.getFlapCount(); i++)
+				data.writeInt(recording.getFlapTick(i));
+		}
+		data.flush();
+	}
+
+	/**
+	 * Reads a save that was written by write(). The stream is not
+	 * closed.
+	 * @param in InputStream object the save is read from.
+	 * @return RunSave object that was read.
+	 * @throws IOException if the stream could not be read or does not
+	 * hold a save.
+	 */
+	public static RunSave read(InputStream in) throws IOException {
+		DataInputStream data = new DataInputStream(in);
+		if (data.readInt() != MAGIC || data.readInt() != VERSION)
+			throw new IOException("Not a run save");
+
+		RunSave save = new RunSave();
+		save.tickRate = data.readInt();
+		if (save.tickRate <= 0)
+			throw new IOException("Bad tick rate in run save");
+		save.snapshot.read(data);
+
+		save.hasRecording = data.readBoolean();
+		if (save.hasRecording) {
+			long seed = data.readLong();
+			int midScreen = data.readInt();
+			save.recording = new RunRecording(data.readInt());
+			save.recording.begin(seed, midScreen);
+
+			// guards against a damaged count before reading the flaps
+			int flaps = data.readInt();
+			if (flaps < 0 || flaps > MAX_SIZE / 4)
+				throw new IOException("Too many flaps in run save");
+			for (int i = 0; i < flaps; i++)
+				save.recording.addFlap(data.readInt());
+		}
+
+		return save;
+	}
+
+}
@@ -0,0 +1,143 @@
+package com.taskew.gameworld;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+import com.taskew.helpers.StateBuffer;
+
+/**
+ * @author Tyler Askew
+ * @version 1.0
+ * The whole state of a GameWorld at one moment, kept in a single flat
+ * buffer that is used again for every snapshot. Taking and restoring
+ * a snapshot creates nothing, so it can be done every frame to go back
+ * in time, to look ahead or to seek through a replay. A snapshot can
+ * also be written to a file and read back, which is how a crashed or
+ * killed game can be looked at or picked up again.
+ */
+public class WorldSnapshot {
+
+	// marks the start of a snapshot written to a file
+	private static final int MAGIC = 0x54525753;
+	private static final int VERSION = 1;
+
+	// room for a world with the usual number of pencils, in ints
+	private static final int DEFAULT_CAPACITY = 256;
+
+	// largest snapshot that will be read from a file, in ints
+	private static final int MAX_SIZE = 1 << 18;
+
+	// holds the state between the start and the limit
+	private StateBuffer buffer;
+
+	/**
+	 * Constructor that creates an empty snapshot with room for a world
+	 * with the usual number of pencils.
+	 * @return none
+	 */
+	public WorldSnapshot() {
+		this(DEFAULT_CAPACITY);
+	}
+
+	/**
+	 * Constructor that creates an empty snapshot with the given room.
+	 * @param capacity Int containing the size of the buffer in ints.
+	 * @return none
+	 */
+	public WorldSnapshot(int capacity) {
+		buffer = new StateBuffer(capacity);
+	}
+
+	/**
+	 * Takes a snapshot of the world, replacing the last one. The buffer
+	 * only grows if the world has more pencils than it has room for.
+	 * @param world GameWorld object to take the snapshot of.
+	 * @return void
+	 */
+	public void capture(GameWorld world) {
+		buffer.clear();
+		world.writeState(buffer);
+		buffer.flip();
+	}
+
+	/**
+	 * Puts a world back into the state of the snapshot. The world must
+	 * have been created with the same difficulty as the one the
+	 * snapshot was taken of.
+	 * @param world GameWorld object to be restored.
+	 * @return void
+	 * @throws IndexOutOfBoundsException if a snapshot read from a file
+	 * turns out to be damaged, in which case the world is left half
+	 * restored and has to be restarted.
+	 */
+	public void restore(GameWorld world) {
+		buffer.rewind();
+		world.readState(buffer);
+	}
+
+	/**
+	 * Returns true if nothing has been captured or read yet and false
+	 * otherwise.
+	 * @return boolean
+	 */
+	public boolean isEmpty() {
+		return buffer.limit() == 0;
+	}
+
+	/**
+	 * Returns the size of the snapshot.
+	 * @return Int containing the number of ints the state takes up.
+	 */
+	public int size() {
+		return buffer.limit();
+	}
+
+	/**
+	 * Writes the snapshot to a stream. The stream is not closed.
+	 * @param out OutputStream object the snapshot is written to.
+	 * @return void
+	 * @throws IOException if the stream could not be written to.
+	 */
+	public void write(OutputStream out) throws IOException {
+		DataOutputStream data = new DataOutputStream(out);
+		data.writeInt(MAGIC);
+		data.writeInt(VERSION);
+		data.writeInt(buffer.limit());
+		
+		int[] ints = buffer.array();
+		for (int i = 0; i < buffer.limit(); i++)
+			data.writeInt(ints[i]);
+		data.flush();
+	}
+
+	/**
+	 * Replaces the snapshot with one that was written by write(). The
+	 * stream is not closed.
+	 * @param in InputStream object the snapshot is read from.
+	 * @return void
+	 * @throws IOException if the stream could not be read or does not
+	 * hold a snapshot.
+	 */
+	public void read(InputStream in) throws IOException {
+		DataInputStream data = new DataInputStream(in);
+		if (data.readInt() != MAGIC || data.readInt() != VERSION)
+			throw new IOException("Not a world snapshot");
+
+		// guards against a damaged size before making room for it
+		int size = data.readInt();
+		if (size < 0 || size > MAX_SIZE)
+			throw new IOException("Bad world snapshot size");
+
+		// stays empty unless the whole snapshot could be read
+		buffer.clear();
+		buffer.ensureCapacity(size);
+		int[] ints = buffer.array();
+		for (int i = 0; i < size; i++)
+			ints[i] = data.readInt();
+		buffer.limit(size);
+	}
+
+}
@@ -0,0 +1,43 @@
+package com.taskew.helpers;
+
+import com.taskew.gameworld.GameAdapter;
+
+/**
+ * @author Tyler Askew
+ * @version 1.0
+ * Listener used while the game is being played on a device. Asks the
+ * SoundManager for the sounds of each event and has it play them once
+ * the events of a frame have all been handed over.
+ */
+public class AssetListener extends GameAdapter {
+
+	@Override
+	public void flapped(int tick) {
+		AssetLoader.sounds.flap.request();
+	}
+
+	@Override
+	public void scored(int tick, int score) {
+		AssetLoader.sounds.score.request();
+	}
+
+	@Override
+	public void collected(int tick) {
+		AssetLoader.sounds.collect.request();
+	}
+
+	@Override
+	public void died(int tick) {
+		AssetLoader.sounds.dead.request();
+	}
+
+	/**
+	 * Plays every sound that was asked for during the frame.
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void drained() {
+		AssetLoader.sounds.update();
+	}
+
+}
@@ -1,5 +1,6 @@
 package com.taskew.helpers;
 
+import com.badlogic.gdx.Application;
 import com.badlogic.gdx.Gdx;
 import com.badlogic.gdx.Preferences;
 import com.badlogic.gdx.audio.Sound;
@@ -7,6 +8,7 @@ import com.badlogic.gdx.graphics.Texture;
 import com.badlogic.gdx.graphics.Texture.TextureFilter;
 import com.badlogic.gdx.graphics.g2d.BitmapFont;
 import com.badlogic.gdx.graphics.g2d.Sprite;
+import com.badlogic.gdx.graphics.g2d.TextureAtlas;
 import com.badlogic.gdx.graphics.g2d.TextureRegion;
 import com.badlogic.gdx.scenes.scene2d.Stage;
 import com.badlogic.gdx.scenes.scene2d.ui.ImageButton;
@@ -19,12 +21,12 @@ import com.badlogic.gdx.scenes.scene2d.ui.ImageButton;
  */
 public class AssetLoader {
 
-	// textures made up with the terp, pencils, collectables, and background
-	public static Texture terpTexture;
-	public static Texture pBodyTexture, pTipTexture;
-	public static Texture pFullTexture;
-	public static Texture bgTexture;
-	public static Texture collectablesTexture;
+	// atlas holding the terp, pencils, collectables, background and
+	// in game fonts on a single texture, so a frame of the game is drawn
+	// without switching textures
+	public static TextureAtlas gameplayAtlas;
+	public static final String GAMEPLAY_ATLAS = "images/gameplay.atlas";
+	
 	public static Texture highscoreBGTexture;
 	
 	// textures used for the menus and user input
@@ -43,6 +45,9 @@ public class AssetLoader {
 	// contains the background and sky images
 	public static TextureRegion bgImage, skyImage;
 	
+	// single white pixel that solid fills are drawn with in any color
+	public static TextureRegion white;
+	
 	// contains the images for the menus
 	public static Sprite playButtonUp, playButtonDown;
 	public static Sprite highscoresButtonUp, highscoresButtonDown;
@@ -50,8 +55,9 @@ public class AssetLoader {
 	public static Sprite highscoreBackground, menuBackground;
 	public static Sprite replayButtonUp, replayButtonDown;
 		
-	// all of the sounds in the game
+	// all of the sounds in the game and what plays them
 	public static Sound dead, flap, score, collect;
+	public static SoundManager sounds;
 	
 	// fonts being used in the game
 	public static BitmapFont gameplayFont, gameplayShadow;
@@ -60,8 +66,31 @@ public class AssetLoader {
 	// used to overlay a game over menu on the screen
 	public static Stage gameoverStage;
 	
-	// storage of the high scores
+	// storage of the high scores and the number of them kept
 	public static Preferences highScores;
+	public static Leaderboard leaderboard;
+	public static final int HIGH_SCORES = 5;
+	
+	// every game played and the statistics over all of them
+	public static RunHistory runHistory;
+	
+	// counts what happens over every game played since the app started
+	public static StatsListener stats;
+	
+	// leaderboard server games are sent to, or null to keep them on the
+	// device, and the name they are sent under
+	public static String leaderboardUrl;
+	public static String playerName;
+	
+	// sends every game to the leaderboard server, if there is one, and
+	// the file games waiting to be sent are kept in
+	public static ScoreUploader scoreUploader;
+	public static final String SCORE_QUEUE_FILE = "scores.queue";
+	
+	// measures what each frame costs, only while debugging, and the
+	// file its frames are written to when the game closes
+	public static RenderProfiler profiler;
+	public static final String PROFILE_FILE = "frames.csv";
 	
 	/**
 	 * Initializes all of the assets that will be used within
@@ -69,60 +98,39 @@ public class AssetLoader {
 	 * @return void
 	 */
 	public static void load() {
-		// initializing the terp texture
-		terpTexture = new Texture(Gdx.files.internal("images/testudo.png"));
-		terpTexture.setFilter(TextureFilter.Nearest, TextureFilter.Nearest);
-		terp = new TextureRegion(terpTexture, 0, 0, 48, 48);
-		terp.flip(false, true);
-		
-		// initializing the pencil body structures
-		pBodyTexture = new Texture(Gdx.files.internal
-				("images/pencil_body.png"));
-		pBodyTexture.setFilter(TextureFilter.Nearest, TextureFilter.Nearest);
-		pencilBody = new TextureRegion(pBodyTexture, 0, 0, 92, 16);
-		pencilBody.flip(false, true);
+		// initializing the atlas all of the gameplay images come from
+		gameplayAtlas = new TextureAtlas(Gdx.files.internal(GAMEPLAY_ATLAS));
 		
-		// initializing the pencil tip structures
-		pTipTexture = new Texture(Gdx.files.internal
-				("images/pencil_tip.png"));
-		pTipTexture.setFilter(TextureFilter.Nearest, TextureFilter.Nearest);
-		pencilTipUp = new TextureRegion(pTipTexture, 0, 0, 128, 128);
-		pencilTipDown = new TextureRegion(pencilTipUp);
-		pencilTipDown.flip(false, true);
+		// initializing the terp
+		terp = gameplayRegion("testudo");
 		
-		// initializing the full pencil
-		pFullTexture = new Texture(Gdx.files.internal
-				("images/full_pencil.png"));
-		pFullTexture.setFilter(TextureFilter.Nearest, TextureFilter.Nearest);
-		fullPencil = new TextureRegion(pFullTexture, 0, 0, 512, 512);
-		fullPencil.flip(false, true);
+		// initializing the pencil structures
+		pencilBody = gameplayRegion("pencil_body");
+		pencilTipUp = new TextureRegion(gameplayAtlas.findRegion("pencil_tip"));
+		pencilTipDown = gameplayRegion("pencil_tip");
+		fullPencil = gameplayRegion("full_pencil");
 		
 		// initializing the background and sky visuals
-		bgTexture = new Texture(Gdx.files.internal("images/McKeldin.png"));
-		bgTexture.setFilter(TextureFilter.Nearest, TextureFilter.Nearest);
-		bgImage = new TextureRegion(bgTexture, 0, 0, 500, 376);
-		bgImage.flip(false, true);
-		skyImage = new TextureRegion(bgTexture, 0, 0, 500, 25);
-		skyImage.flip(false, true);
+		bgImage = gameplayRegion("McKeldin");
+		skyImage = gameplayRegion("sky");
+		white = gameplayRegion("white");
 		
 		// initializing the collectable images
-		collectablesTexture = 
-				new Texture(Gdx.files.internal("images/collectables.png"));
-		collectablesTexture.setFilter(TextureFilter.Nearest, TextureFilter.Nearest);
-		mSymbol = new TextureRegion(collectablesTexture, 232, 2, 48, 48);
-		mSymbol.flip(false, true);
-		beer = new TextureRegion(collectablesTexture, 132, 2, 98, 108);
-		beer.flip(false, true);
-		pizza = new TextureRegion(collectablesTexture, 232, 52, 32, 32);
-		pizza.flip(false, true);
-		coffee = new TextureRegion(collectablesTexture, 2, 2, 122, 128);
-		coffee.flip(false, true);
+		mSymbol = gameplayRegion("M");
+		beer = gameplayRegion("beer");
+		pizza = gameplayRegion("pizza");
+		coffee = gameplayRegion("coffee");
 		
 		// initializing the sound files
 		dead = Gdx.audio.newSound(Gdx.files.internal("sounds/dead.wav"));
 		flap = Gdx.audio.newSound(Gdx.files.internal("sounds/flap.wav"));
 		score = Gdx.audio.newSound(Gdx.files.internal("sounds/score.wav"));
 		collect = Gdx.audio.newSound(Gdx.files.internal("sounds/collect.wav"));
+		sounds = new SoundManager();
+		
+		// plays the sounds that have loaded already, the main menu
+		// keeps trying the rest
+		sounds.warmUp();
 		
 		// initializing main menu images
 		buttonsTexture = 
@@ -154,9 +162,11 @@ public class AssetLoader {
 		highscoreBackground = new Sprite(highscoreBGTexture);
 		
 		// initializing the fonts
-		gameplayFont = new BitmapFont(Gdx.files.internal("fonts/in_game_text.fnt"));
+		gameplayFont = new BitmapFont(Gdx.files.internal("fonts/in_game_text.fnt"),
+				gameplayAtlas.findRegion("in_game_text"), false);
 		gameplayFont.setScale(.25f, -.25f);
-		gameplayShadow = new BitmapFont(Gdx.files.internal("fonts/in_game_shadow.fnt"));
+		gameplayShadow = new BitmapFont(Gdx.files.internal("fonts/in_game_shadow.fnt"),
+				gameplayAtlas.findRegion("in_game_shadow"), false);
 		gameplayShadow.setScale(.25f, -.25f);
 		menuFont = new BitmapFont(Gdx.files.internal("fonts/main_menu_font.fnt"));
 		regularFont = new BitmapFont(Gdx.files.internal("fonts/regular_font.fnt"));
@@ -164,11 +174,36 @@ public class AssetLoader {
 		
 		// initializing the variable or retrieving past high scores
 		highScores = Gdx.app.getPreferences("Terp Run");
-		if (!highScores.contains("highScore"))
-			highScores.putInteger("highScore", 0);
+		leaderboard = new Leaderboard(highScores, HIGH_SCORES);
+		runHistory = new RunHistory(Gdx.files.local("runs.log"),
+				Gdx.files.local("runs.stats"), RunHistory.DEFAULT_BUDGET);
+		stats = new StatsListener();
+		leaderboardUrl = System.getProperty("terprun.leaderboard");
+		playerName = highScores.getString("playerName", "Terp");
+		if (leaderboardUrl != null)
+			scoreUploader = new ScoreUploader(leaderboardUrl, playerName,
+					Gdx.files.local(SCORE_QUEUE_FILE));
 		
 		// initializing the stage
 		gameoverStage = new Stage();
+		
+		// measuring frames while debugging
+		if (Gdx.app.getLogLevel() >= Application.LOG_DEBUG) {
+			profiler = new RenderProfiler();
+			profiler.enable();
+		}
+	}
+	
+	/**
+	 * Returns a region of the gameplay atlas flipped to match the
+	 * camera, which has y pointing down.
+	 * @param name String containing the name of the region.
+	 * @return TextureRegion object of the region.
+	 */
+	private static TextureRegion gameplayRegion(String name) {
+		TextureRegion region = new TextureRegion(gameplayAtlas.findRegion(name));
+		region.flip(false, true);
+		return region;
 	}
 	
 	/**
@@ -176,12 +211,7 @@ public class AssetLoader {
 	 * @return void
 	 */
 	public static void dispose() {
-		terpTexture.dispose();
-		pBodyTexture.dispose();
-		pTipTexture.dispose();
-		pFullTexture.dispose();
-		collectablesTexture.dispose();
-		bgTexture.dispose();
+		gameplayAtlas.dispose();
 		dead.dispose();
 		flap.dispose();
 		score.dispose();
@@ -196,26 +226,4 @@ public class AssetLoader {
 		gameoverStage.dispose();
 	}
 	
-	/**
-	 * Retrieves the high score of the game.
-	 * @param i Int containing the number corresponding to one of the top ten
-	 * highscores.
-	 * @return Int containing the highest score.
-	 */
-	public static int getHighScore(int i) {
-		return highScores.getInteger("highScore" + i);
-	}
-	
-	/**
-	 * Sets the highest score of the game to a specified
-	 * integer.
-	 * @param score Int containing the new high score.
-	 * @param i Int containing the rank of the new highscore.
-	 * @return void
-	 */
-	public static void setHighScore(int score, int i) {
-		highScores.putInteger("highScore" + i, score);
-		highScores.flush();
-	}
-	
 }
@@ -0,0 +1,130 @@
+package com.taskew.helpers;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+
+/**
+ * @author Tyler Askew
+ * @version 1.0
+ * Writes and deletes files on a single thread of its own so the game
+ * never waits on storage while it is drawing. Everything handed to it
+ * happens in the order it was handed over, so a file that is written
+ * and then deleted ends up deleted.
+ */
+public class BackgroundIO {
+
+	// the one thread every file is written on, started when first needed
+	private static ExecutorService executor;
+
+	/**
+	 * Runs a task on the background thread.
+	 * @param task Runnable object to be run.
+	 * @return void
+	 */
+	public static synchronized void execute(Runnable task) {
+		if (executor == null) {
+			executor = Executors.newSingleThreadExecutor(new ThreadFactory() {
+
+				@Override
+				public Thread newThread(Runnable r) {
+					// never keeps the game from closing
+					Thread thread = new Thread(r, "BackgroundIO");
+					thread.setDaemon(true);
+					return thread;
+				}
+			});
+		}
+
+		executor.execute(task);
+	}
+
+	/**
+	 * Waits for everything handed over so far to be done, for up to the
+	 * given time. Called when the game closes, since the thread would
+	 * otherwise be stopped with writes still waiting. Anything handed
+	 * over afterwards starts a new thread.
+	 * @param timeout Long containing the longest wait in milliseconds.
+	 * @return void
+	 */
+	public static void finish(long timeout) {
+		ExecutorService finishing;
+		synchronized (BackgroundIO.class) {
+			finishing = executor;
+			executor = null;
+		}
+
+		if (finishing == null)
+			return;
+
+		finishing.shutdown();
+		try {
+			finishing.awaitTermination(timeout, TimeUnit.MILLISECONDS);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	/**
+	 * Replaces a file with the given bytes on the background thread.
+	 * The bytes must not be changed after they are handed over.
+	 * @param file FileHandle object of the file to be written.
+	 * @param bytes Array of bytes to be written.
+	 * @return void
+	 */
+	public static void write(final FileHandle file, final byte[] bytes) {
+		execute(new Runnable() {
+
+			@Override
+			public void run() {
+				writeNow(file, bytes);
+			}
+		});
+	}
+
+	/**
+	 * Replaces a file with the given bytes right away, for tasks that
+	 * are already running on the background thread. The bytes go to a
+	 * temporary file first, which is then renamed over the real one, so
+	 * the game being killed halfway through never leaves a broken file
+	 * behind.
+	 * @param file FileHandle object of the file to be written.
+	 * @param bytes Array of bytes to be written.
+	 * @return void
+	 */
+	public static void writeNow(FileHandle file, byte[] bytes) {
+		try {
+			FileHandle temp = file.sibling(file.name() + ".tmp");
+			temp.writeBytes(bytes, false);
+
+			// moveTo() copies the file, so it is only used where a
+			// rename over an existing file is not allowed
+			if (!temp.file().renameTo(file.file()))
+				temp.moveTo(file);
+		} catch (GdxRuntimeException e) {
+			Gdx.app.error("BackgroundIO", "Could not write " + file.name(), e);
+		}
+	}
+
+	/**
+	 * Deletes a file on the background thread, if it exists.
+	 * @param file FileHandle object of the file to be deleted.
+	 * @return void
+	 */
+	public static void delete(final FileHandle file) {
+		execute(new Runnable() {
+
+			@Override
+			public void run() {
+				if (file.exists())
+					file.delete();
+			}
+		});
+	}
+
+}
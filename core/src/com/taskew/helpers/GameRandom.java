@@ -0,0 +1,130 @@
+package com.taskew.helpers;
+
+/**
+ * @author Tyler Askew
+ * @version 1.0
+ * Seedable random number generator used for everything random in the
+ * game. Each kind of random choice draws from its own stream, so the
+ * same seed always gives the same pencils and collectables no matter
+ * how often the other streams are used. Every stream is a SplitMix64
+ * generator, which only needs a single long of state.
+ */
+public class GameRandom {
+
+	// the kinds of random choices made during a game
+	public enum Stream {
+		PENCIL_STATE, PENCIL_HEIGHT, COLLECTABLE_TYPE, COLLECTABLE_HEIGHT
+	}
+
+	// added to a stream's state every time a number is drawn
+	private static final long GOLDEN_GAMMA = 0x9e3779b97f4a7c15L;
+
+	// current state of each stream
+	private long[] states;
+
+	// seed the streams were last started from
+	private long seed;
+
+	/**
+	 * Constructor that starts every stream from the given seed.
+	 * @param seed Long containing the seed of the streams.
+	 * @return none
+	 */
+	public GameRandom(long seed) {
+		states = new long[Stream.values().length];
+		setSeed(seed);
+	}
+
+	/**
+	 * Starts every stream over from the given seed.
+	 * @param seed Long containing the seed of the streams.
+	 * @return void
+	 */
+	public void setSeed(long seed) {
+		this.seed = seed;
+
+		// each stream starts from a different mix of the same seed
+		for (int i = 0; i < states.length; i++)
+			states[i] = mix(seed + (i + 1) * GOLDEN_GAMMA);
+	}
+
+	/**
+	 * Makes every stream continue exactly where the streams of
+	 * another generator are.
+	 * @param other GameRandom object to be copied.
+	 * @return void
+	 */
+	public void set(GameRandom other) {
+		seed = other.seed;
+		System.arraycopy(other.states, 0, states, 0, states.length);
+	}
+
+	/**
+	 * Writes the seed and where every stream is to a buffer.
+	 * @param out StateBuffer object the state is written to.
+	 * @return void
+	 */
+	public void writeState(StateBuffer out) {
+		out.putLong(seed);
+		for (int i = 0; i < states.length; i++)
+			out.putLong(states[i]);
+	}
+
+	/**
+	 * Reads back a state that was written by writeState(), so every
+	 * stream carries on from where it was.
+	 * @param in StateBuffer object the state is read from.
+	 * @return void
+	 */
+	public void readState(StateBuffer in) {
+		seed = in.getLong();
+		for (int i = 0; i < states.length; i++)
+			states[i] = in.getLong();
+	}
+
+	/**
+	 * Returns the seed the streams were last started from.
+	 * @return Long containing the seed.
+	 */
+	public long getSeed() {
+		return seed;
+	}
+
+	/**
+	 * Returns a random number from 0 up to, but not including,
+	 * the given bound.
+	 * @param stream Stream the number is drawn from.
+	 * @param bound Int containing the upper bound, which must be positive.
+	 * @return Int containing the random number.
+	 */
+	public int nextInt(Stream stream, int bound) {
+		// scales the top 31 bits down into the bound
+		long bits = nextLong(stream) >>> 33;
+		return (int) ((bits * bound) >>> 31);
+	}
+
+	/**
+	 * Returns the next 64 random bits of a stream.
+	 * @param stream Stream the number is drawn from.
+	 * @return Long containing the random bits.
+	 */
+	public long nextLong(Stream stream) {
+		int i = stream.ordinal();
+		states[i] += GOLDEN_GAMMA;
+		return mix(states[i]);
+	}
+
+	/**
+	 * Scrambles the bits of a number. The same number always gives
+	 * the same result, which is also how the seed of the next game
+	 * is chosen from the seed of the last one.
+	 * @param z Long containing the number to be scrambled.
+	 * @return Long containing the scrambled number.
+	 */
+	public static long mix(long z) {
+		z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+		z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+		return z ^ (z >>> 31);
+	}
+
+}
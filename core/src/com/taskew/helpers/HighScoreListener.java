@@ -0,0 +1,37 @@
+package com.taskew.helpers;
+
+import com.taskew.gameworld.GameAdapter;
+import com.taskew.gameworld.GameWorld;
+
+/**
+ * @author Tyler Askew
+ * @version 1.0
+ * Listener that adds new high scores to the leaderboard and tells the
+ * world the new lowest score it has to beat.
+ */
+public class HighScoreListener extends GameAdapter {
+
+	// the world whose high scores are being saved and where they go
+	private GameWorld world;
+	private Leaderboard leaderboard;
+
+	/**
+	 * Constructor that saves the high scores of a world and tells the
+	 * world the score it has to beat.
+	 * @param world GameWorld object whose high scores are saved.
+	 * @param leaderboard Leaderboard object the high scores are added to.
+	 * @return none
+	 */
+	public HighScoreListener(GameWorld world, Leaderboard leaderboard) {
+		this.world = world;
+		this.leaderboard = leaderboard;
+		world.setScoreToBeat(leaderboard.getLowest());
+	}
+
+	@Override
+	public void highScore(int tick, int score) {
+		leaderboard.add(score);
+		world.setScoreToBeat(leaderboard.getLowest());
+	}
+
+}
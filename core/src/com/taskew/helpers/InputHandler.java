@@ -2,7 +2,6 @@ package com.taskew.helpers;
 
 import com.badlogic.gdx.Gdx;
 import com.badlogic.gdx.InputProcessor;
-import com.taskew.gameobjects.Terrapin;
 import com.taskew.gameworld.GameWorld;
 
 /**
@@ -17,23 +16,19 @@ public class InputHandler implements InputProcessor {
 	// represents the game world
 	private GameWorld world;
 	
-	// Represents the terrapin
-	private Terrapin terp;
-	
 	/**
-	 * Constructor that receives a Terrapin object and then
-	 * assigns it to the instance variable: terp.
-	 * @param terp Terrapin object representing the terp character.
+	 * Constructor that receives a GameWorld object and then
+	 * assigns it to the instance variable: world.
+	 * @param world GameWorld object representing the game world.
 	 * @return none
 	 */
 	public InputHandler(GameWorld world) {
 		this.world = world;
-		this.terp = world.getTerp();
 	}
 	
 	/**
 	 * Once a user touches down on the screen, this method will be
-	 * called and then the terp's onClick method will be called resulting
+	 * called and then the world's flap method will be called resulting
 	 * in the terp jumping. Also accounts for the different states of
 	 * the game. Returns true to show that the touch has
 	 * been handled.
@@ -41,11 +36,17 @@ public class InputHandler implements InputProcessor {
 	 */
 	@Override
 	public boolean touchDown(int screenX, int screenY, int pointer, int button) {
+		// carries on from a pause without jumping straight away
+		if (world.isPaused()) {
+			world.start();
+			return true;
+		}
+		
 		if (world.isReady())
 			world.start();
 		
 		if (world.isRunning())
-			terp.onClick();
+			world.flap();
 		
 		return true;
 	}
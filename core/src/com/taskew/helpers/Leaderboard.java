@@ -0,0 +1,155 @@
+package com.taskew.helpers;
+
+import com.badlogic.gdx.Preferences;
+
+/**
+ * @author Tyler Askew
+ * @version 1.0
+ * The best scores ever played, highest first, kept in memory so reading
+ * or adding one never touches storage. A new score finds its place with
+ * a binary search and the lower ones are moved down a place. The scores
+ * are written back to the preferences on the BackgroundIO thread, and
+ * however many scores are added while a write is waiting to happen, they
+ * all go out together in that one write.
+ */
+public class Leaderboard {
+
+	// the scores, highest first, and their keys in the preferences
+	private int[] scores;
+	private String[] keys;
+
+	// where the scores are stored
+	private Preferences preferences;
+
+	// copy of the scores handed to the background thread, and whether a
+	// write is already waiting to happen
+	private int[] pending;
+	private boolean flushQueued;
+	private Runnable flushTask;
+
+	/**
+	 * Constructor that reads the given number of best scores from the
+	 * preferences. Scores that were never set count as 0.
+	 * @param preferences Preferences object the scores are stored in.
+	 * @param size Int containing the number of scores kept.
+	 * @return none
+	 */
+	public Leaderboard(Preferences preferences, int size) {
+		this.preferences = preferences;
+		scores = new int[size];
+		keys = new String[size];
+		pending = new int[size];
+
+		for (int i = 0; i < size; i++) {
+			keys[i] = "highScore" + i;
+			scores[i] = preferences.getInteger(keys[i], 0);
+		}
+
+		flushQueued = false;
+		flushTask = new Runnable() {
+
+			@Override
+			public void run() {
+				write();
+			}
+		};
+	}
+
+	/**
+	 * Adds a score if it is higher than the lowest one kept, which then
+	 * drops off the bottom. A score equal to one already kept goes above
+	 * it.
+	 * @param score Int containing the score to be added.
+	 * @return Int containing the place the score was put in, 0 being the
+	 * best, or -1 if it was not high enough.
+	 */
+	public int add(int score) {
+		if (!isHighScore(score))
+			return -1;
+
+		// finds the first place holding a lower or equal score
+		int low = 0;
+		int high = scores.length - 1;
+		while (low < high) {
+			int mid = (low + high) >>> 1;
+			if (scores[mid] > score)
+				low = mid + 1;
+			else
+				high = mid;
+		}
+
+		System.arraycopy(scores, low, scores, low + 1,
+				scores.length - 1 - low);
+		scores[low] = score;
+		flush();
+
+		return low;
+	}
+
+	/**
+	 * Determines if a score is high enough to be kept.
+	 * @param score Int containing the score being checked.
+	 * @return boolean
+	 */
+	public boolean isHighScore(int score) {
+		return score > getLowest();
+	}
+
+	/**
+	 * Returns the score in the given place.
+	 * @param i Int containing the place, 0 being the best.
+	 * @return Int containing the score.
+	 */
+	public int get(int i) {
+		return scores[i];
+	}
+
+	/**
+	 * Returns the lowest score kept, which a new one has to beat.
+	 * @return Int containing the lowest score.
+	 */
+	public int getLowest() {
+		return scores[scores.length - 1];
+	}
+
+	/**
+	 * Returns the number of scores kept.
+	 * @return Int containing the number of scores.
+	 */
+	public int size() {
+		return scores.length;
+	}
+
+	/**
+	 * Has the scores written to the preferences on the background thread
+	 * unless a write is already waiting, in which case that write picks
+	 * up the new scores.
+	 * @return void
+	 */
+	private void flush() {
+		synchronized (pending) {
+			System.arraycopy(scores, 0, pending, 0, scores.length);
+			if (flushQueued)
+				return;
+			flushQueued = true;
+		}
+
+		BackgroundIO.execute(flushTask);
+	}
+
+	/**
+	 * Writes the latest scores to the preferences. Only ever runs on the
+	 * background thread.
+	 * @return void
+	 */
+	private void write() {
+		synchronized (pending) {
+			flushQueued = false;
+			for (int i = 0; i < pending.length; i++)
+				preferences.putInteger(keys[i], pending[i]);
+		}
+
+		preferences.flush();
+	}
+
+}
@@ -0,0 +1,266 @@
+package com.taskew.helpers;
+
+import java.io.UnsupportedEncodingException;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.graphics.g2d.Batch;
+import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+import com.badlogic.gdx.graphics.profiling.GLProfiler;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+import com.badlogic.gdx.utils.TimeUtils;
+
+/**
+ * @author Tyler Askew
+ * @version 1.0
+ * Measures what each frame costs to draw. Wraps OpenGL in libGDX's
+ * GLProfiler to count calls, draw calls, texture bindings, shader
+ * switches and vertices, and collects the flushes and largest batch of
+ * every SpriteBatch the frame was drawn with, along with the sprites
+ * drawn and those left out for being off screen. The numbers of the most
+ * recent frames are kept in arrays made up front, so measuring creates
+ * no garbage, and can be written out as a CSV file. A frame that goes
+ * over any of the budgets is logged, at most once a second.
+ */
+public class RenderProfiler {
+
+	// number of frames kept when none is given
+	public static final int DEFAULT_FRAMES = 1024;
+
+	// budgets used until others are set, the frame a little longer than
+	// one at 60 frames per second so uneven vsync is not reported
+	public static final int DEFAULT_DRAW_CALLS = 8;
+	public static final int DEFAULT_TEXTURE_BINDINGS = 8;
+	public static final int DEFAULT_SHADER_SWITCHES = 4;
+	public static final float DEFAULT_FRAME_MILLIS = 20;
+
+	// shortest time between two warnings, in milliseconds
+	private static final long WARNING_INTERVAL = 1000;
+
+	// the numbers of each frame kept, oldest first from start
+	private final long[] frames;
+	private final float[] frameMillis, renderMillis;
+	private final int[] glCalls, drawCalls, textureBindings, shaderSwitches;
+	private final int[] vertices, batchFlushes, maxSprites;
+	private final int[] spritesDrawn, spritesCulled;
+	private int start, count;
+
+	// frames measured so far, including those no longer kept
+	private long frame;
+
+	// what the frame being measured has drawn so far
+	private long renderStart;
+	private int frameFlushes, frameMaxSprites, frameDrawn, frameCulled;
+
+	// most a frame may cost before a warning is logged
+	private int drawCallBudget, textureBindingBudget, shaderSwitchBudget;
+	private float frameMillisBudget;
+
+	// frames over budget since the last warning and when it was logged
+	private int overBudget;
+	private long lastWarning;
+
+	/**
+	 * Constructor that creates a profiler keeping the default number of
+	 * frames. OpenGL is not wrapped until enable() is called.
+	 * @return none
+	 */
+	public RenderProfiler() {
+		this(DEFAULT_FRAMES);
+	}
+
+	/**
+	 * Constructor that creates a profiler. OpenGL is not wrapped until
+	 * enable() is called.
+	 * @param size Int containing the number of frames kept.
+	 * @return none
+	 */
+	public RenderProfiler(int size) {
+		frames = new long[size];
+		frameMillis = new float[size];
+		renderMillis = new float[size];
+		glCalls = new int[size];
+		drawCalls = new int[size];
+		textureBindings = new int[size];
+		shaderSwitches = new int[size];
+		vertices = new int[size];
+		batchFlushes = new int[size];
+		maxSprites = new int[size];
+		spritesDrawn = new int[size];
+		spritesCulled = new int[size];
+
+		setBudgets(DEFAULT_DRAW_CALLS, DEFAULT_TEXTURE_BINDINGS,
+				DEFAULT_SHADER_SWITCHES, DEFAULT_FRAME_MILLIS);
+	}
+
+	/**
+	 * Sets how much a frame may cost before a warning is logged.
+	 * @param drawCalls Int containing the most draw calls.
+	 * @param textureBindings Int containing the most texture bindings.
+	 * @param shaderSwitches Int containing the most shader switches.
+	 * @param frameMillis Float containing the longest frame in
+	 * milliseconds.
+	 * @return void
+	 */
+	public void setBudgets(int drawCalls, int textureBindings,
+			int shaderSwitches, float frameMillis) {
+		drawCallBudget = drawCalls;
+		textureBindingBudget = textureBindings;
+		shaderSwitchBudget = shaderSwitches;
+		frameMillisBudget = frameMillis;
+	}
+
+	/**
+	 * Starts counting every OpenGL call. Needs the graphics to have
+	 * been created.
+	 * @return void
+	 */
+	public void enable() {
+		GLProfiler.enable();
+	}
+
+	/**
+	 * Stops counting OpenGL calls.
+	 * @return void
+	 */
+	public void disable() {
+		GLProfiler.disable();
+	}
+
+	/**
+	 * Starts measuring a frame. Called before anything is drawn.
+	 * @return void
+	 */
+	public void begin() {
+		GLProfiler.reset();
+		frameFlushes = 0;
+		frameMaxSprites = 0;
+		frameDrawn = 0;
+		frameCulled = 0;
+		renderStart = TimeUtils.nanoTime();
+	}
+
+	/**
+	 * Counts the flushes and largest batch of a SpriteBatch that has
+	 * just ended. Called by whatever drew with it, once per frame.
+	 * @param batch Batch object that has just ended.
+	 * @return void
+	 */
+	public void addBatch(Batch batch) {
+		if (!(batch instanceof SpriteBatch))
+			return;
+
+		SpriteBatch sprites = (SpriteBatch) batch;
+		frameFlushes += sprites.renderCalls;
+		frameMaxSprites = Math.max(frameMaxSprites, sprites.maxSpritesInBatch);
+
+		// the largest batch is otherwise kept for as long as the batch is
+		sprites.maxSpritesInBatch = 0;
+	}
+
+	/**
+	 * Counts the sprites a renderer drew and those it left out because
+	 * they were off screen. Called by the renderer once per frame.
+	 * @param drawn Int containing the number of sprites drawn.
+	 * @param culled Int containing the number of sprites left out.
+	 * @return void
+	 */
+	public void addSprites(int drawn, int culled) {
+		frameDrawn += drawn;
+		frameCulled += culled;
+	}
+
+	/**
+	 * Stops measuring a frame, keeps its numbers in place of the oldest
+	 * frame's and warns if it went over budget.
+	 * @return void
+	 */
+	public void end() {
+		int i = (start + count) % frames.length;
+		if (count == frames.length)
+			start = (start + 1) % frames.length;
+		else
+			count++;
+
+		frames[i] = frame++;
+		frameMillis[i] = Gdx.graphics.getRawDeltaTime() * 1000;
+		renderMillis[i] = (TimeUtils.nanoTime() - renderStart) / 1000000.0f;
+		glCalls[i] = GLProfiler.calls;
+		drawCalls[i] = GLProfiler.drawCalls;
+		textureBindings[i] = GLProfiler.textureBindings;
+		shaderSwitches[i] = GLProfiler.shaderSwitches;
+		vertices[i] = (int) GLProfiler.vertexCount.total;
+		batchFlushes[i] = frameFlushes;
+		maxSprites[i] = frameMaxSprites;
+		spritesDrawn[i] = frameDrawn;
+		spritesCulled[i] = frameCulled;
+
+		if (drawCalls[i] > drawCallBudget ||
+				textureBindings[i] > textureBindingBudget ||
+				shaderSwitches[i] > shaderSwitchBudget ||
+				frameMillis[i] > frameMillisBudget)
+			warn(i);
+	}
+
+	/**
+	 * Logs a frame that went over budget, unless a warning was logged
+	 * less than a second ago, in which case it is only counted.
+	 * @param i Int containing where the frame is kept.
+	 * @return void
+	 */
+	private void warn(int i) {
+		overBudget++;
+		long now = TimeUtils.millis();
+		if (now - lastWarning < WARNING_INTERVAL)
+			return;
+
+		Gdx.app.log("RenderProfiler", overBudget + " frames over budget, " +
+				"frame " + frames[i] + " took " + frameMillis[i] + " ms with " +
+				drawCalls[i] + " draw calls, " + textureBindings[i] +
+				" texture bindings and " + shaderSwitches[i] +
+				" shader switches");
+		overBudget = 0;
+		lastWarning = now;
+	}
+
+	/**
+	 * Returns the number of frames kept.
+	 * @return Int containing the number of frames.
+	 */
+	public int size() {
+		return count;
+	}
+
+	/**
+	 * Writes every frame kept to a CSV file on the background thread,
+	 * oldest first, with a header naming the columns.
+	 * @param file FileHandle object of the file to be written.
+	 * @return void
+	 */
+	public void dump(FileHandle file) {
+		StringBuilder csv = new StringBuilder(64 * (count + 1));
+		csv.append("frame,frame_ms,render_ms,gl_calls,draw_calls," +
+				"texture_bindings,shader_switches,vertices,batch_flushes," +
+				"max_sprites_in_batch,sprites_drawn,sprites_culled\n");
+
+		for (int n = 0; n < count; n++) {
+			int i = (start + n) % frames.length;
+			csv.append(frames[i]).append(',').append(frameMillis[i])
+					.append(',').append(renderMillis[i]).append(',')
+					.append(glCalls[i]).append(',').append(drawCalls[i])
+					.append(',').append(textureBindings[i]).append(',')
+					.append(shaderSwitches[i]).append(',').append(vertices[i])
+					.append(',').append(batchFlushes[i]).append(',')
+					.append(maxSprites[i]).append(',').append(spritesDrawn[i])
+					.append(',').append(spritesCulled[i]).append('\n');
+		}
+
+		try {
+			BackgroundIO.write(file, csv.toString().getBytes("UTF-8"));
+		} catch (UnsupportedEncodingException e) {
+			// every platform has UTF-8
+			throw new GdxRuntimeException(e);
+		}
+	}
+
+}
@@ -0,0 +1,272 @@
+package com.taskew.helpers;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+
+/**
+ * @author Tyler Askew
+ * @version 1.0
+ * Every finished game, added to the end of a log file as a record of a
+ * fixed size, next to a small file holding the RunStats of every game
+ * ever played. Only the stats file is read when the game starts, so
+ * loading takes the same time however long the log is. Should the app
+ * have been closed after a game was logged but before the stats were
+ * saved, the missing games are read back from the log through a
+ * memory map. Writing happens on the BackgroundIO thread. Once the log
+ * grows past its size budget it is cut down to its newest games, while
+ * the stats keep counting every game.
+ */
+public class RunHistory {
+
+	// how a game can end
+	public enum Death {
+		PENCIL, GROUND
+	}
+	public static final Death[] DEATHS = Death.values();
+
+	// seed, score, ticks, collectables and death of a game, in bytes
+	public static final int RECORD_SIZE = 20;
+
+	// largest the log may get before it is cut down, in bytes
+	public static final long DEFAULT_BUDGET = 1 << 20;
+
+	// marks the start of the stats file
+	private static final int MAGIC = 0x54525248;
+	private static final int VERSION = 1;
+
+	// the log, the stats file and the largest the log may get
+	private FileHandle log, statsFile;
+	private long budget;
+
+	// statistics of every game ever played
+	private RunStats stats;
+
+	/**
+	 * Constructor that reads the stats of the games logged so far,
+	 * catching up on any games the stats file is missing.
+	 * @param log FileHandle object of the log file.
+	 * @param statsFile FileHandle object of the stats file.
+	 * @param budget Long containing the largest the log may get in bytes.
+	 * @return none
+	 */
+	public RunHistory(FileHandle log, FileHandle statsFile, long budget) {
+		this.log = log;
+		this.statsFile = statsFile;
+		this.budget = budget;
+
+		long logged = readStats();
+		long length = log.exists() ? log.length() : 0;
+		if (length > logged) {
+			catchUp(logged, length);
+			BackgroundIO.write(statsFile, statsToBytes(stats, length));
+		}
+	}
+
+	/**
+	 * Adds a finished game to the stats right away and to the log on
+	 * the background thread.
+	 * @param score Int containing the final score.
+	 * @param ticks Int containing the number of updates the game lasted.
+	 * @param collected Int containing the number of collectables taken.
+	 * @param death Death the game ended with.
+	 * @param seed Long containing the seed the game was played from.
+	 * @return void
+	 */
+	public void add(int score, int ticks, int collected, Death death,
+			long seed) {
+		stats.add(score, ticks, collected, death);
+
+		ByteBuffer record = ByteBuffer.allocate(RECORD_SIZE);
+		record.putLong(seed);
+		record.putInt(score);
+		record.putInt(ticks);
+		record.putShort((short) Math.min(collected, Short.MAX_VALUE));
+		record.put((byte) death.ordinal());
+		record.put((byte) 0);
+
+		final byte[] bytes = record.array();
+		final byte[] statsBytes = statsToBytes(stats, 0);
+		BackgroundIO.execute(new Runnable() {
+
+			@Override
+			public void run() {
+				append(bytes, statsBytes);
+			}
+		});
+	}
+
+	/**
+	 * Returns the statistics of every game ever played.
+	 * @return RunStats object holding the statistics.
+	 */
+	public RunStats getStats() {
+		return stats;
+	}
+
+	/**
+	 * Reads the stats file.
+	 * @return Long containing how long the log was when the stats were
+	 * saved, or 0 if there are no stats to be read, in which case the
+	 * stats are worked out again from the whole log.
+	 */
+	private long readStats() {
+		stats = new RunStats();
+		if (!statsFile.exists())
+			return 0;
+
+		try {
+			DataInputStream in = new DataInputStream(statsFile.read());
+			try {
+				if (in.readInt() != MAGIC || in.readInt() != VERSION)
+					throw new IOException("Not a run stats file");
+
+				RunStats read = new RunStats();
+				read.read(in);
+				long logged = in.readLong();
+				stats = read;
+				return logged;
+			} finally {
+				in.close();
+			}
+		} catch (IOException e) {
+			Gdx.app.error("RunHistory", "Could not read the run stats", e);
+		} catch (GdxRuntimeException e) {
+			Gdx.app.error("RunHistory", "Could not read the run stats", e);
+		}
+
+		return 0;
+	}
+
+	/**
+	 * Adds the games logged after the stats were last saved to the stats.
+	 * @param from Long containing where in the log the new games start.
+	 * @param to Long containing the length of the log.
+	 * @return void
+	 */
+	private void catchUp(long from, long to) {
+		// only whole records are read
+		from -= from % RECORD_SIZE;
+		to -= to % RECORD_SIZE;
+		if (to <= from)
+			return;
+
+		try {
+			RandomAccessFile file = new RandomAccessFile(log.file(), "r");
+			try {
+				MappedByteBuffer map = file.getChannel().map(
+						FileChannel.MapMode.READ_ONLY, from, to - from);
+
+				while (map.remaining() >= RECORD_SIZE) {
+					map.getLong();
+					int score = map.getInt();
+					int ticks = map.getInt();
+					int collected = map.getShort();
+					int death = map.get();
+					map.get();
+
+					if (death >= 0 && death < DEATHS.length)
+						stats.add(score, ticks, collected, DEATHS[death]);
+				}
+			} finally {
+				file.close();
+			}
+		} catch (IOException e) {
+			Gdx.app.error("RunHistory", "Could not read the run log", e);
+		}
+	}
+
+	/**
+	 * Adds a record to the end of the log, cuts the log down if it has
+	 * grown past its budget and then saves the stats. Only ever runs on
+	 * the background thread.
+	 * @param record Array of bytes holding the game.
+	 * @param statsBytes Array of bytes holding the stats file including
+	 * the game, still missing the length of the log.
+	 * @return void
+	 */
+	private void append(byte[] record, byte[] statsBytes) {
+		try {
+			log.writeBytes(record, true);
+			if (log.length() > budget)
+				compact();
+		} catch (GdxRuntimeException e) {
+			Gdx.app.error("RunHistory", "Could not log the run", e);
+			return;
+		} catch (IOException e) {
+			Gdx.app.error("RunHistory", "Could not compact the run log", e);
+		}
+
+		// the length of the log is filled in here, since only this thread
+		// knows it after a compaction
+		ByteBuffer.wrap(statsBytes).putLong(statsBytes.length - 8,
+				log.length());
+		BackgroundIO.writeNow(statsFile, statsBytes);
+	}
+
+	/**
+	 * Keeps the newest games that fit into half of the budget and drops
+	 * the rest, so the log is not cut down again for a long while.
+	 * @return void
+	 * @throws IOException if the log could not be read or written.
+	 */
+	private void compact() throws IOException {
+		long length = log.length() - log.length() % RECORD_SIZE;
+		long keep = Math.min(length, budget / 2 / RECORD_SIZE * RECORD_SIZE);
+
+		FileHandle temp = log.sibling(log.name() + ".tmp");
+		RandomAccessFile in = new RandomAccessFile(log.file(), "r");
+		try {
+			FileOutputStream out = new FileOutputStream(temp.file());
+			try {
+				FileChannel channel = in.getChannel();
+				long position = length - keep;
+				while (position < length)
+					position += channel.transferTo(position, length - position,
+							out.getChannel());
+			} finally {
+				out.close();
+			}
+		} finally {
+			in.close();
+		}
+
+		if (!temp.file().renameTo(log.file()))
+			temp.moveTo(log);
+	}
+
+	/**
+	 * Writes the whole stats file into an array.
+	 * @param stats RunStats object to be written.
+	 * @param logged Long containing the length of the log the stats
+	 * include every game of.
+	 * @return Array of bytes holding the stats file.
+	 */
+	private static byte[] statsToBytes(RunStats stats, long logged) {
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		DataOutputStream out = new DataOutputStream(bytes);
+		try {
+			out.writeInt(MAGIC);
+			out.writeInt(VERSION);
+			stats.write(out);
+			out.writeLong(logged);
+			out.flush();
+		} catch (IOException e) {
+			// an array can always be written to
+			throw new GdxRuntimeException(e);
+		}
+
+		return bytes.toByteArray();
+	}
+
+}
@@ -0,0 +1,59 @@
+package com.taskew.helpers;
+
+import com.taskew.gameworld.GameAdapter;
+import com.taskew.gameworld.GameWorld;
+
+/**
+ * @author Tyler Askew
+ * @version 1.0
+ * Listener that adds every finished game of a world to the run history,
+ * along with how many collectables were taken and what the terp died on.
+ */
+public class RunHistoryListener extends GameAdapter {
+
+	// the world whose games are logged and where they go
+	private GameWorld world;
+	private RunHistory history;
+
+	// what happened in the current game
+	private int collected;
+	private boolean hitPencil;
+
+	/**
+	 * Constructor that logs the games of a world.
+	 * @param world GameWorld object whose games are logged.
+	 * @param history RunHistory object the games are added to.
+	 * @return none
+	 */
+	public RunHistoryListener(GameWorld world, RunHistory history) {
+		this.world = world;
+		this.history = history;
+		collected = 0;
+		hitPencil = false;
+	}
+
+	@Override
+	public void collected(int tick) {
+		collected++;
+	}
+
+	@Override
+	public void died(int tick) {
+		hitPencil = true;
+	}
+
+	/**
+	 * Logs the game and starts counting again.
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void gameOver(int tick, int score) {
+		history.add(score, tick, collected, hitPencil ?
+				RunHistory.Death.PENCIL : RunHistory.Death.GROUND,
+				world.getSeed());
+
+		collected = 0;
+		hitPencil = false;
+	}
+
+}
@@ -0,0 +1,200 @@
+package com.taskew.helpers;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+
+/**
+ * @author Tyler Askew
+ * @version 1.0
+ * Statistics over every game ever played, kept up to date one game at a
+ * time so they never have to be worked out from the games themselves.
+ * Scores are counted in a histogram with one slot per score, so the
+ * median or any other percentile is found by walking a fixed number of
+ * slots however many games have been played. Scores too high for the
+ * histogram all share its last slot.
+ */
+public class RunStats {
+
+	// number of slots in the score histogram
+	public static final int HISTOGRAM_SIZE = 256;
+
+	// score a game needs for a streak to carry on
+	public static final int STREAK_SCORE = 10;
+
+	// the number of games and what they added up to
+	private int runs;
+	private long totalScore, totalTicks, totalCollected;
+	private int best;
+
+	// games in a row that reached the streak score
+	private int streak, bestStreak;
+
+	// games ending with each score and with each cause of death
+	private int[] histogram;
+	private int[] deaths;
+
+	/**
+	 * Constructor that creates the statistics of no games at all.
+	 * @return none
+	 */
+	public RunStats() {
+		histogram = new int[HISTOGRAM_SIZE];
+		deaths = new int[RunHistory.DEATHS.length];
+	}
+
+	/**
+	 * Adds a finished game to the statistics.
+	 * @param score Int containing the final score.
+	 * @param ticks Int containing the number of updates the game lasted.
+	 * @param collected Int containing the number of collectables taken.
+	 * @param death Death the game ended with.
+	 * @return void
+	 */
+	public void add(int score, int ticks, int collected,
+			RunHistory.Death death) {
+		runs++;
+		totalScore += score;
+		totalTicks += ticks;
+		totalCollected += collected;
+		best = Math.max(best, score);
+
+		if (score >= STREAK_SCORE) {
+			streak++;
+			bestStreak = Math.max(bestStreak, streak);
+		} else {
+			streak = 0;
+		}
+
+		histogram[Math.min(Math.max(score, 0), HISTOGRAM_SIZE - 1)]++;
+		deaths[death.ordinal()]++;
+	}
+
+	/**
+	 * Returns the score that the given share of games ended at or below.
+	 * @param p Float containing the share from 0 to 1, 0.5 being the median.
+	 * @return Int containing the score, or 0 if no games were played.
+	 */
+	public int percentile(float p) {
+		if (runs == 0)
+			return 0;
+
+		// the game in the given place when they are sorted by score
+		int place = Math.max(1, (int) Math.ceil(p * runs));
+		int seen = 0;
+		for (int score = 0; score < HISTOGRAM_SIZE; score++) {
+			seen += histogram[score];
+			if (seen >= place)
+				return score;
+		}
+
+		return HISTOGRAM_SIZE - 1;
+	}
+
+	/**
+	 * Returns the number of games played.
+	 * @return Int containing the number of games.
+	 */
+	public int getRuns() {
+		return runs;
+	}
+
+	/**
+	 * Returns the average final score.
+	 * @return Float containing the average score.
+	 */
+	public float getMeanScore() {
+		return (runs == 0) ? 0 : (float) totalScore / runs;
+	}
+
+	/**
+	 * Returns the average number of updates a game lasted.
+	 * @return Float containing the average number of updates.
+	 */
+	public float getMeanTicks() {
+		return (runs == 0) ? 0 : (float) totalTicks / runs;
+	}
+
+	/**
+	 * Returns the average number of collectables taken in a game.
+	 * @return Float containing the average number of collectables.
+	 */
+	public float getMeanCollected() {
+		return (runs == 0) ? 0 : (float) totalCollected / runs;
+	}
+
+	/**
+	 * Returns the best score ever played.
+	 * @return Int containing the best score.
+	 */
+	public int getBest() {
+		return best;
+	}
+
+	/**
+	 * Returns the number of games in a row, up to the last one, that
+	 * reached the streak score.
+	 * @return Int containing the number of games.
+	 */
+	public int getStreak() {
+		return streak;
+	}
+
+	/**
+	 * Returns the most games in a row that ever reached the streak score.
+	 * @return Int containing the number of games.
+	 */
+	public int getBestStreak() {
+		return bestStreak;
+	}
+
+	/**
+	 * Returns the number of games that ended with the given death.
+	 * @param death Death being counted.
+	 * @return Int containing the number of games.
+	 */
+	public int getDeaths(RunHistory.Death death) {
+		return deaths[death.ordinal()];
+	}
+
+	/**
+	 * Writes the statistics to a stream.
+	 * @param out DataOutputStream object the statistics are written to.
+	 * @return void
+	 * @throws IOException if the stream could not be written to.
+	 */
+	public void write(DataOutputStream out) throws IOException {
+		out.writeInt(runs);
+		out.writeLong(totalScore);
+		out.writeLong(totalTicks);
+		out.writeLong(totalCollected);
+		out.writeInt(best);
+		out.writeInt(streak);
+		out.writeInt(bestStreak);
+		for (int i = 0; i < histogram.length; i++)
+			out.writeInt(histogram[i]);
+		for (int i = 0; i < deaths.length; i++)
+			out.writeInt(deaths[i]);
+	}
+
+	/**
+	 * Replaces the statistics with ones written by write().
+	 * @param in DataInputStream object the statistics are read from.
+	 * @return void
+	 * @throws IOException if the stream could not be read.
+	 */
+	public void read(DataInputStream in) throws IOException {
+		runs = in.readInt();
+		totalScore = in.readLong();
+		totalTicks = in.readLong();
+		totalCollected = in.readLong();
+		best = in.readInt();
+		streak = in.readInt();
+		bestStreak = in.readInt();
+		for (int i = 0; i < histogram.length; i++)
+			histogram[i] = in.readInt();
+		for (int i = 0; i < deaths.length; i++)
+			deaths[i] = in.readInt();
+	}
+
+}
@@ -0,0 +1,105 @@
+package com.taskew.helpers;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+
+/**
+ * @author Tyler Askew
+ * @version 1.0
+ * A finished game sent to the leaderboard server, made up of who played
+ * it, the score, how long it lasted and the seed it was played from.
+ * The ScoreUploader writes these and the server reads them back, so both
+ * sides share this class for the format.
+ */
+public class ScoreSubmission {
+
+	// longest name accepted
+	public static final int MAX_NAME_LENGTH = 32;
+
+	private final String name;
+	private final int score, ticks;
+	private final long seed;
+
+	/**
+	 * Constructor that creates a submission of a finished game.
+	 * @param name String containing the player's name.
+	 * @param score Int containing the final score.
+	 * @param ticks Int containing the number of updates the game lasted.
+	 * @param seed Long containing the seed the game was played from.
+	 * @return none
+	 */
+	public ScoreSubmission(String name, int score, int ticks, long seed) {
+		this.name = name;
+		this.score = score;
+		this.ticks = ticks;
+		this.seed = seed;
+	}
+
+	/**
+	 * Writes the submission to a stream.
+	 * @param out DataOutputStream object the submission is written to.
+	 * @return void
+	 * @throws IOException if the stream could not be written to.
+	 */
+	public void write(DataOutputStream out) throws IOException {
+		out.writeUTF(name);
+		out.writeInt(score);
+		out.writeInt(ticks);
+		out.writeLong(seed);
+	}
+
+	/**
+	 * Reads a submission that was written by write().
+	 * @param in DataInputStream object the submission is read from.
+	 * @return ScoreSubmission object that was read.
+	 * @throws IOException if the stream could not be read or does not
+	 * hold a valid submission.
+	 */
+	public static ScoreSubmission read(DataInputStream in) throws IOException {
+		String name = in.readUTF();
+		if (name.length() > MAX_NAME_LENGTH)
+			throw new IOException("Name is too long");
+
+		int score = in.readInt();
+		int ticks = in.readInt();
+		long seed = in.readLong();
+		if (score < 0 || ticks < 0)
+			throw new IOException("Bad score or length");
+
+		return new ScoreSubmission(name, score, ticks, seed);
+	}
+
+	/**
+	 * Returns the player's name.
+	 * @return String containing the name.
+	 */
+	public String getName() {
+		return name;
+	}
+
+	/**
+	 * Returns the final score.
+	 * @return Int containing the score.
+	 */
+	public int getScore() {
+		return score;
+	}
+
+	/**
+	 * Returns the number of updates the game lasted.
+	 * @return Int containing the number of updates.
+	 */
+	public int getTicks() {
+		return ticks;
+	}
+
+	/**
+	 * Returns the seed the game was played from.
+	 * @return Long containing the seed.
+	 */
+	public long getSeed() {
+		return seed;
+	}
+
+}
@@ -0,0 +1,274 @@
+package com.taskew.helpers;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.Net.HttpMethods;
+import com.badlogic.gdx.Net.HttpRequest;
+import com.badlogic.gdx.Net.HttpResponse;
+import com.badlogic.gdx.Net.HttpResponseListener;
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+import com.badlogic.gdx.utils.TimeUtils;
+import com.taskew.gameworld.GameAdapter;
+import com.taskew.gameworld.GameWorld;
+
+/**
+ * @author Tyler Askew
+ * @version 1.0
+ * Listener that sends every finished game to a leaderboard server. Games
+ * wait in a queue, kept in a file so they survive the app being closed,
+ * and are sent in batches with one request at a time. A request that
+ * fails, or a server that only takes part of a batch, makes the uploader
+ * wait before trying again, twice as long each time up to a limit, so
+ * playing without a connection costs nothing but the queue.
+ */
+public class ScoreUploader extends GameAdapter {
+
+	// most games waiting at once and most sent in one request
+	public static final int MAX_WAITING = 1000;
+	public static final int BATCH_SIZE = 50;
+
+	// shortest and longest wait before trying again, in milliseconds
+	public static final long MIN_BACKOFF = 2000;
+	public static final long MAX_BACKOFF = 5 * 60 * 1000;
+
+	// longest a request may take, in milliseconds
+	private static final int TIMEOUT = 5000;
+
+	// where the games are sent and who played them
+	private String url;
+	private String name;
+
+	// the world whose games are being sent, or null before the first
+	private GameWorld world;
+
+	// games waiting to be sent, oldest first, and the file they are kept in
+	private final List<ScoreSubmission> waiting;
+	private FileHandle file;
+
+	// if a request is being answered, the number of games in it, and
+	// when the next one may be sent
+	private volatile boolean sending;
+	private int sendingCount;
+	private volatile long nextAttempt;
+	private long backoff;
+
+	/**
+	 * Constructor that sends games to a server, starting with any games
+	 * that were still waiting when the app was last closed. Only one is
+	 * made for the whole app, and each world played in is given to it
+	 * with listen().
+	 * @param url String containing the address of the server.
+	 * @param name String containing the player's name.
+	 * @param file FileHandle object of the file the waiting games are
+	 * kept in.
+	 * @return none
+	 */
+	public ScoreUploader(String url, String name, FileHandle file) {
+		world = null;
+		this.url = url + "/scores";
+		this.name = (name.length() > ScoreSubmission.MAX_NAME_LENGTH) ?
+				name.substring(0, ScoreSubmission.MAX_NAME_LENGTH) : name;
+		this.file = file;
+		waiting = new ArrayList<ScoreSubmission>();
+		sending = false;
+		nextAttempt = 0;
+		backoff = MIN_BACKOFF;
+
+		load();
+	}
+
+	/**
+	 * Sends the games of a world from now on, in place of the world
+	 * whose games were sent before.
+	 * @param world GameWorld object whose games are sent.
+	 * @return void
+	 */
+	public void listen(GameWorld world) {
+		if (this.world != null)
+			this.world.getEvents().removeListener(this);
+		this.world = world;
+		world.getEvents().addListener(this);
+	}
+
+	/**
+	 * Adds the game to the queue.
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void gameOver(int tick, int score) {
+		synchronized (waiting) {
+			// the oldest games are given up on first, unless they are
+			// being sent, in which case the newest is
+			if (waiting.size() == MAX_WAITING)
+				waiting.remove(sending ? waiting.size() - 1 : 0);
+			waiting.add(new ScoreSubmission(name, score, tick,
+					world.getSeed()));
+		}
+
+		save();
+	}
+
+	/**
+	 * Sends the next batch of games if there are any and it is time to.
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void drained() {
+		if (sending || TimeUtils.millis() < nextAttempt)
+			return;
+
+		byte[] body;
+		synchronized (waiting) {
+			if (waiting.isEmpty())
+				return;
+
+			sendingCount = Math.min(waiting.size(), BATCH_SIZE);
+			body = toBytes(waiting, sendingCount);
+			sending = true;
+		}
+
+		HttpRequest request = new HttpRequest(HttpMethods.POST);
+		request.setUrl(url);
+		request.setHeader("Content-Type", "application/octet-stream");
+		request.setContent(new ByteArrayInputStream(body), body.length);
+		request.setTimeOut(TIMEOUT);
+
+		Gdx.net.sendHttpRequest(request, new HttpResponseListener() {
+
+			@Override
+			public void handleHttpResponse(HttpResponse response) {
+				int taken = -1;
+				if (response.getStatus().getStatusCode() == 200) {
+					try {
+						taken = Integer.parseInt(
+								response.getResultAsString().trim());
+					} catch (NumberFormatException e) {
+						taken = -1;
+					}
+				}
+				answered(taken);
+			}
+
+			@Override
+			public void failed(Throwable t) {
+				answered(-1);
+			}
+
+			@Override
+			public void cancelled() {
+				answered(-1);
+			}
+		});
+	}
+
+	/**
+	 * Removes the games the server took from the queue and decides when
+	 * to send again. Runs on the thread the request was answered on.
+	 * @param taken Int containing the number of games the server took,
+	 * counted from the first, or -1 if the request failed.
+	 * @return void
+	 */
+	private void answered(int taken) {
+		boolean all = taken == sendingCount;
+		if (taken > 0) {
+			synchronized (waiting) {
+				// only the newest games are given up on while sending, so
+				// the games sent are still the oldest ones
+				waiting.subList(0, Math.min(taken, sendingCount)).clear();
+			}
+			save();
+		}
+
+		// sends the rest of the queue right away if everything was taken
+		if (all) {
+			backoff = MIN_BACKOFF;
+			nextAttempt = 0;
+		} else {
+			nextAttempt = TimeUtils.millis() + backoff;
+			backoff = Math.min(backoff * 2, MAX_BACKOFF);
+		}
+		sending = false;
+	}
+
+	/**
+	 * Returns the number of games waiting to be sent.
+	 * @return Int containing the number of games.
+	 */
+	public int getWaiting() {
+		synchronized (waiting) {
+			return waiting.size();
+		}
+	}
+
+	/**
+	 * Reads the games that were waiting when the app was last closed.
+	 * @return void
+	 */
+	private void load() {
+		if (!file.exists())
+			return;
+
+		try {
+			DataInputStream in = new DataInputStream(file.read());
+			try {
+				int count = in.readInt();
+				if (count < 0 || count > MAX_WAITING)
+					throw new IOException("Bad number of waiting scores");
+				for (int i = 0; i < count; i++)
+					waiting.add(ScoreSubmission.read(in));
+			} finally {
+				in.close();
+			}
+		} catch (IOException e) {
+			Gdx.app.error("ScoreUploader", "Could not read waiting scores", e);
+			waiting.clear();
+		} catch (GdxRuntimeException e) {
+			Gdx.app.error("ScoreUploader", "Could not read waiting scores", e);
+			waiting.clear();
+		}
+	}
+
+	/**
+	 * Writes the waiting games to their file on the background thread.
+	 * Handing the write over inside the lock keeps the writes in the
+	 * same order as the changes, whichever thread made them.
+	 * @return void
+	 */
+	private void save() {
+		synchronized (waiting) {
+			BackgroundIO.write(file, toBytes(waiting, waiting.size()));
+		}
+	}
+
+	/**
+	 * Writes the number of games and then the first few games of a list
+	 * into an array, which is both the body of a request and the file.
+	 * @param games List of the games.
+	 * @param count Int containing the number of games written.
+	 * @return Array of bytes holding the games.
+	 */
+	private static byte[] toBytes(List<ScoreSubmission> games, int count) {
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		DataOutputStream out = new DataOutputStream(bytes);
+		try {
+			out.writeInt(count);
+			for (int i = 0; i < count; i++)
+				games.get(i).write(out);
+			out.flush();
+		} catch (IOException e) {
+			// an array can always be written to
+			throw new GdxRuntimeException(e);
+		}
+
+		return bytes.toByteArray();
+	}
+
+}
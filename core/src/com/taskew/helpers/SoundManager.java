@@ -0,0 +1,193 @@
+package com.taskew.helpers;
+
+import com.badlogic.gdx.audio.Sound;
+import com.badlogic.gdx.math.MathUtils;
+import com.badlogic.gdx.utils.TimeUtils;
+
+/**
+ * @author Tyler Askew
+ * @version 1.0
+ * Plays the sounds loaded by the AssetLoader class without letting them
+ * pile up. Sounds are asked for during a frame and started together at
+ * the end of it, so a sound asked for twice in one frame only plays once.
+ * Each sound can only have a few copies playing at a time, the oldest one
+ * being stopped to make room, and can not be started again too soon after
+ * the last time. Tapping quickly on a phone would otherwise keep starting
+ * new voices until the audio stutters. A little change in volume and
+ * pitch keeps repeated sounds from sounding the same.
+ */
+public class SoundManager {
+
+	/**
+	 * A single sound and the limits on how it is played.
+	 */
+	public static class Effect {
+
+		// the sound being played
+		private Sound sound;
+
+		// ids of the copies started last, the oldest at next
+		private long[] voices;
+		private int next;
+
+		// shortest time between two starts, in milliseconds
+		private long minGap;
+		private long lastStart;
+
+		// volume and how much the volume and pitch may change by
+		private float volume, volumeChange, pitchChange;
+
+		// asked for during the current frame
+		private boolean requested;
+
+		// has been played once, silently
+		private boolean warm;
+
+		/**
+		 * Constructor that sets up a sound with its limits.
+		 * @param sound Sound object to be played.
+		 * @param maxVoices Int containing the most copies playing at once.
+		 * @param minGap Long containing the shortest time between two
+		 * starts in milliseconds.
+		 * @param volume Float containing the volume from 0 to 1.
+		 * @param volumeChange Float containing how much the volume may
+		 * be lowered by at random.
+		 * @param pitchChange Float containing how much the pitch may be
+		 * raised or lowered by at random.
+		 * @return none
+		 */
+		public Effect(Sound sound, int maxVoices, long minGap, float volume,
+				float volumeChange, float pitchChange) {
+			this.sound = sound;
+			voices = new long[maxVoices];
+			for (int i = 0; i < voices.length; i++)
+				voices[i] = -1;
+			next = 0;
+			this.minGap = minGap;
+			lastStart = Long.MIN_VALUE / 2;
+			this.volume = volume;
+			this.volumeChange = volumeChange;
+			this.pitchChange = pitchChange;
+			requested = false;
+			warm = false;
+		}
+
+		/**
+		 * Asks for the sound to be played at the end of the frame.
+		 * @return void
+		 */
+		public void request() {
+			requested = true;
+		}
+
+		/**
+		 * Starts the sound if it was asked for and it is not too soon,
+		 * stopping its oldest copy if too many are playing.
+		 * @param now Long containing the current time in milliseconds.
+		 * @return void
+		 */
+		private void update(long now) {
+			if (!requested)
+				return;
+			requested = false;
+
+			if (now - lastStart < minGap)
+				return;
+			lastStart = now;
+
+			// stopping a copy that has already finished does nothing
+			if (voices[next] != -1)
+				sound.stop(voices[next]);
+
+			float v = volume - MathUtils.random(volumeChange);
+			float pitch = 1 + MathUtils.random(-pitchChange, pitchChange);
+			voices[next] = sound.play(v, pitch, 0);
+			next = (next + 1) % voices.length;
+		}
+
+		/**
+		 * Plays the sound silently and stops it right away, unless that
+		 * has already worked once.
+		 * @return Boolean containing if the sound has been played.
+		 */
+		private boolean warmUp() {
+			if (warm)
+				return true;
+
+			// a sound that has not finished loading can not be played
+			long id = sound.play(0);
+			if (id == -1)
+				return false;
+			sound.stop(id);
+			warm = true;
+			return true;
+		}
+
+		/**
+		 * Stops every copy of the sound and forgets any request.
+		 * @return void
+		 */
+		private void stop() {
+			sound.stop();
+			for (int i = 0; i < voices.length; i++)
+				voices[i] = -1;
+			requested = false;
+		}
+
+	}
+
+	// every sound in the game
+	public final Effect flap, score, collect, dead;
+	private final Effect[] effects;
+
+	/**
+	 * Constructor that sets up the limits of every sound in the game.
+	 * The sounds must already have been loaded by the AssetLoader class.
+	 * @return none
+	 */
+	public SoundManager() {
+		// tapping can start a jump many times a second
+		flap = new Effect(AssetLoader.flap, 2, 60, 0.9f, 0.15f, 0.06f);
+		score = new Effect(AssetLoader.score, 2, 30, 1, 0.05f, 0.03f);
+		collect = new Effect(AssetLoader.collect, 1, 0, 1, 0, 0);
+		dead = new Effect(AssetLoader.dead, 1, 0, 1, 0, 0);
+		effects = new Effect[] { flap, score, collect, dead };
+	}
+
+	/**
+	 * Starts every sound that was asked for since the last time this
+	 * was called. Called once a frame.
+	 * @return void
+	 */
+	public void update() {
+		long now = TimeUtils.millis();
+		for (int i = 0; i < effects.length; i++)
+			effects[i].update(now);
+	}
+
+	/**
+	 * Plays every sound once without any volume, so whatever the device
+	 * does the first time a sound is played happens before the game
+	 * instead of on the first tap. Android loads sounds in the
+	 * background and will not play one until it has loaded, so this is
+	 * called again on every frame of the main menu until it returns
+	 * true. Sounds that have already been played are skipped.
+	 * @return Boolean containing if every sound has been played.
+	 */
+	public boolean warmUp() {
+		boolean warm = true;
+		for (int i = 0; i < effects.length; i++)
+			warm &= effects[i].warmUp();
+		return warm;
+	}
+
+	/**
+	 * Stops every sound that is playing.
+	 * @return void
+	 */
+	public void stopAll() {
+		for (int i = 0; i < effects.length; i++)
+			effects[i].stop();
+	}
+
+}
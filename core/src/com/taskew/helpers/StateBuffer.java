@@ -0,0 +1,200 @@
+package com.taskew.helpers;
+
+/**
+ * @author Tyler Askew
+ * @version 1.0
+ * Flat buffer that the state of the game is written to and read back
+ * from, one number after another. It works like a ByteBuffer with
+ * only the parts the game needs, but every number takes up a single
+ * int (or two for a long) of a plain array, so nothing has to be split
+ * into bytes and writing and reading are about twice as fast.
+ */
+public class StateBuffer {
+
+	// the numbers written so far, between 0 and the limit
+	private int[] data;
+	private int position, limit;
+
+	/**
+	 * Constructor that creates an empty buffer with room for the given
+	 * number of ints.
+	 * @param capacity Int containing the number of ints that fit.
+	 * @return none
+	 */
+	public StateBuffer(int capacity) {
+		data = new int[capacity];
+		position = 0;
+		limit = 0;
+	}
+
+	/**
+	 * Starts writing over from the beginning. The room already made
+	 * is kept, so writing the same state again creates nothing.
+	 * @return StateBuffer object this buffer.
+	 */
+	public StateBuffer clear() {
+		position = 0;
+		limit = 0;
+		return this;
+	}
+
+	/**
+	 * Ends a write so the same numbers can be read back from the start.
+	 * @return StateBuffer object this buffer.
+	 */
+	public StateBuffer flip() {
+		limit = position;
+		position = 0;
+		return this;
+	}
+
+	/**
+	 * Starts reading over from the beginning.
+	 * @return StateBuffer object this buffer.
+	 */
+	public StateBuffer rewind() {
+		position = 0;
+		return this;
+	}
+	
+	/**
+	 * Returns the number of ints written before the last flip().
+	 * @return Int containing the number of ints.
+	 */
+	public int limit() {
+		return limit;
+	}
+
+	/**
+	 * Returns the number of ints left to be read.
+	 * @return Int containing the number of ints.
+	 */
+	public int remaining() {
+		return limit - position;
+	}
+
+	/**
+	 * Returns the number of ints the buffer has room for.
+	 * @return Int containing the number of ints.
+	 */
+	public int capacity() {
+		return data.length;
+	}
+
+	/**
+	 * Returns the array the numbers are kept in.
+	 * @return Array of ints holding the buffer.
+	 */
+	public int[] array() {
+		return data;
+	}
+
+	/**
+	 * Sets the number of ints that can be read, after they have been
+	 * put into array() directly.
+	 * @param limit Int containing the number of ints.
+	 * @return StateBuffer object this buffer.
+	 */
+	public StateBuffer limit(int limit) {
+		this.limit = limit;
+		position = 0;
+		return this;
+	}
+
+	/**
+	 * Makes room for at least the given number of ints, losing what
+	 * was in the buffer if it had to grow.
+	 * @param capacity Int containing the number of ints needed.
+	 * @return void
+	 */
+	public void ensureCapacity(int capacity) {
+		if (capacity > data.length)
+			data = new int[capacity];
+	}
+
+	/**
+	 * Writes an int.
+	 * @param value Int to be written.
+	 * @return StateBuffer object this buffer.
+	 */
+	public StateBuffer putInt(int value) {
+		if (position == data.length)
+			grow();
+		data[position++] = value;
+		return this;
+	}
+
+	/**
+	 * Writes a float.
+	 * @param value Float to be written.
+	 * @return StateBuffer object this buffer.
+	 */
+	public StateBuffer putFloat(float value) {
+		return putInt(Float.floatToRawIntBits(value));
+	}
+
+	/**
+	 * Writes a long as two ints.
+	 * @param value Long to be written.
+	 * @return StateBuffer object this buffer.
+	 */
+	public StateBuffer putLong(long value) {
+		putInt((int) (value >>> 32));
+		return putInt((int) value);
+	}
+
+	/**
+	 * Writes a boolean.
+	 * @param value Boolean to be written.
+	 * @return StateBuffer object this buffer.
+	 */
+	public StateBuffer putBoolean(boolean value) {
+		return putInt(value ? 1 : 0);
+	}
+
+	/**
+	 * Reads an int.
+	 * @return Int that was read.
+	 */
+	public int getInt() {
+		if (position >= limit)
+			throw new IndexOutOfBoundsException("Read past the end of the state");
+		return data[position++];
+	}
+
+	/**
+	 * Reads a float.
+	 * @return Float that was read.
+	 */
+	public float getFloat() {
+		return Float.intBitsToFloat(getInt());
+	}
+
+	/**
+	 * Reads a long that was written as two ints.
+	 * @return Long that was read.
+	 */
+	public long getLong() {
+		long high = getInt();
+		return (high << 32) | (getInt() & 0xffffffffL);
+	}
+
+	/**
+	 * Reads a boolean.
+	 * @return Boolean that was read.
+	 */
+	public boolean getBoolean() {
+		return getInt() != 0;
+	}
+
+	/**
+	 * Doubles the room in the buffer, keeping what has been written.
+	 * @return void
+	 */
+	private void grow() {
+		int[] bigger = new int[Math.max(16, data.length * 2)];
+		System.arraycopy(data, 0, bigger, 0, position);
+		data = bigger;
+	}
+
+}
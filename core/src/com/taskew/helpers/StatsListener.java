@@ -0,0 +1,102 @@
+package com.taskew.helpers;
+
+import com.badlogic.gdx.Gdx;
+import com.taskew.gameworld.GameAdapter;
+
+/**
+ * @author Tyler Askew
+ * @version 1.0
+ * Listener that counts what happens in each game and over every game
+ * played since the app started. The numbers of each game are logged
+ * when it ends, at debug level so they only show up while testing.
+ */
+public class StatsListener extends GameAdapter {
+
+	// what happened in the current game
+	private int flaps, points, collected;
+
+	// what happened over every game
+	private int games, highScores;
+	private long totalFlaps, totalScore, totalTicks;
+
+	@Override
+	public void flapped(int tick) {
+		flaps++;
+	}
+
+	@Override
+	public void scored(int tick, int score) {
+		points++;
+	}
+
+	@Override
+	public void collected(int tick) {
+		collected++;
+	}
+
+	/**
+	 * Adds the game to the totals, logs it and starts counting again.
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void gameOver(int tick, int score) {
+		games++;
+		totalFlaps += flaps;
+		totalScore += score;
+		totalTicks += tick;
+
+		Gdx.app.debug("StatsListener", "Game " + games + ": score " + score +
+				", " + tick + " ticks, " + flaps + " flaps, " + points +
+				" pencils, " + collected + " collected");
+
+		flaps = 0;
+		points = 0;
+		collected = 0;
+	}
+
+	@Override
+	public void highScore(int tick, int score) {
+		highScores++;
+	}
+
+	/**
+	 * Returns the number of games played.
+	 * @return Int containing the number of games.
+	 */
+	public int getGames() {
+		return games;
+	}
+
+	/**
+	 * Returns the number of games that ended with a high score.
+	 * @return Int containing the number of games.
+	 */
+	public int getHighScores() {
+		return highScores;
+	}
+
+	/**
+	 * Returns the number of jumps over every game played.
+	 * @return Long containing the number of jumps.
+	 */
+	public long getTotalFlaps() {
+		return totalFlaps;
+	}
+
+	/**
+	 * Returns the average final score of the games played.
+	 * @return Float containing the average score.
+	 */
+	public float getMeanScore() {
+		return (games == 0) ? 0 : (float) totalScore / games;
+	}
+
+	/**
+	 * Returns the average number of updates a game lasted.
+	 * @return Float containing the average number of updates.
+	 */
+	public float getMeanTicks() {
+		return (games == 0) ? 0 : (float) totalTicks / games;
+	}
+
+}
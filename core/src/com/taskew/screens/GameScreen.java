@@ -1,11 +1,26 @@
 package com.taskew.screens;
 
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
 import com.badlogic.gdx.Game;
 import com.badlogic.gdx.Gdx;
 import com.badlogic.gdx.Screen;
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+import com.badlogic.gdx.utils.TimeUtils;
 import com.taskew.gameworld.GameRenderer;
 import com.taskew.gameworld.GameWorld;
+import com.taskew.gameworld.RunRecording;
+import com.taskew.gameworld.RunReplay;
+import com.taskew.gameworld.RunSave;
+import com.taskew.helpers.AssetListener;
+import com.taskew.helpers.AssetLoader;
+import com.taskew.helpers.BackgroundIO;
+import com.taskew.helpers.HighScoreListener;
 import com.taskew.helpers.InputHandler;
+import com.taskew.helpers.RunHistoryListener;
 
 /**
  * @author Tyler Askew
@@ -17,6 +32,16 @@ import com.taskew.helpers.InputHandler;
  */
 public class GameScreen implements Screen {
 	
+	// default number of world updates per second and catch-up limit
+	public static final int DEFAULT_TICK_RATE = 60;
+	public static final int DEFAULT_MAX_STEPS = 5;
+	
+	// the last game played is kept here so it can be replayed
+	public static final String LAST_RUN_FILE = "lastrun.rec";
+	
+	// a game in progress is kept here when the app is paused
+	public static final String SAVED_RUN_FILE = "savedrun.sav";
+	
 	// the game world, its renderer, and the entire game (Game object)
 	private GameWorld world;
 	private GameRenderer renderer;
@@ -25,15 +50,102 @@ public class GameScreen implements Screen {
 	// keeps track of how long the game has been running
 	private float runtime;
 	
+	// length of one world update and the most updates allowed per frame
+	private float step;
+	private int tickRate, maxSteps;
+	
+	// frame time that has not been simulated yet
+	private float accumulator;
+	
+	// plays a recorded game instead of the player, if set
+	private RunReplay replay;
+	
+	// makes sure each finished game is only saved once
+	private boolean recordingSaved, runEnded;
+	
+	// used again every time the game in progress is saved
+	private RunSave save;
+	
+	// recording put aside while playing a resumed game whose recording
+	// did not fit in the save, used again from the next game
+	private RunRecording pendingRecording;
+	
+	// when the game was launched, if this screen is resuming a saved
+	// game and its first frame has not been drawn yet
+	private long launchNanos;
+	private boolean reportResume;
+	
 	/**
 	 * Default constructor that initializes the
 	 * instance variables.
 	 * @return none
 	 */
 	public GameScreen(Game game) {
+		this(game, DEFAULT_TICK_RATE, DEFAULT_MAX_STEPS);
+	}
+	
+	/**
+	 * Constructor that initializes the instance variables and
+	 * sets how often the world is updated.
+	 * @param game Game object representing the entire game.
+	 * @param tickRate Int containing the number of world updates per second.
+	 * @param maxSteps Int containing the most world updates that may run
+	 * in a single frame while catching up after a slow frame.
+	 * @return none
+	 */
+	public GameScreen(Game game, int tickRate, int maxSteps) {
+		this(game, tickRate, maxSteps, null);
+	}
+	
+	/**
+	 * Constructor that picks a saved game back up, paused, after the
+	 * app was closed while it was being played.
+	 * @param game Game object representing the entire game.
+	 * @param saved RunSave object holding the game to be resumed.
+	 * @param launchNanos Long containing the time the app was launched,
+	 * from TimeUtils.nanoTime(), used to report how long resuming took.
+	 * @return none
+	 */
+	public GameScreen(Game game, RunSave saved, long launchNanos) {
+		this(game, saved.getTickRate(), DEFAULT_MAX_STEPS, null);
+		restoreSavedRun(saved);
+		this.launchNanos = launchNanos;
+		reportResume = true;
+	}
+	
+	/**
+	 * Constructor that plays a recorded game in real time instead
+	 * of letting the player play.
+	 * @param game Game object representing the entire game.
+	 * @param recording RunRecording object of the game to be played.
+	 * @return none
+	 */
+	public GameScreen(Game game, RunRecording recording) {
+		this(game, recording.getTickRate(), DEFAULT_MAX_STEPS, recording);
+	}
+	
+	/**
+	 * Constructor that initializes the instance variables, sets how
+	 * often the world is updated and who is playing.
+	 * @param game Game object representing the entire game.
+	 * @param tickRate Int containing the number of world updates per second.
+	 * @param maxSteps Int containing the most world updates that may run
+	 * in a single frame while catching up after a slow frame.
+	 * @param replayed RunRecording object to be played, or null to let
+	 * the player play.
+	 * @return none
+	 */
+	private GameScreen(Game game, int tickRate, int maxSteps,
+			RunRecording replayed) {
 		// just started so runtime is 0
 		runtime = 0;
 		
+		// setting up the fixed update rate
+		this.tickRate = tickRate;
+		step = 1.0f / tickRate;
+		this.maxSteps = maxSteps;
+		accumulator = 0;
+		
 		// initializes the game
 		this.game = game;
 		
@@ -49,15 +161,39 @@ public class GameScreen implements Screen {
 		// calculate the midpoint of the gameplay's screen
 		int midScreen = (int) (gameHeight / 2);
 		
-		// create the game world and its associated renderer
-		world = new GameWorld(midScreen);
-		renderer = new GameRenderer(world, game, (int) gameHeight, midScreen);
+		// create the game world, recording every game the player plays
+		if (replayed == null) {
+			replay = null;
+			world = new GameWorld(midScreen);
+			world.getEvents().addListener(new AssetListener());
+			world.getEvents().addListener(new HighScoreListener(world,
+					AssetLoader.leaderboard));
+			world.getEvents().addListener(new RunHistoryListener(world,
+					AssetLoader.runHistory));
+			if (AssetLoader.scoreUploader != null)
+				AssetLoader.scoreUploader.listen(world);
+			world.getEvents().addListener(AssetLoader.stats);
+			world.setRecording(new RunRecording(tickRate));
+		} else {
+			replay = new RunReplay(replayed);
+			world = replay.getWorld();
+		}
+		recordingSaved = false;
+		runEnded = false;
+		save = new RunSave();
+		pendingRecording = null;
+		reportResume = false;
 		
-		// changes the game state to the READY state
-		world.getReady();
+		// create the world's associated renderer
+		renderer = new GameRenderer(world, game, (int) gameHeight, midScreen);
 		
-		// setting the input processor to the InputHandler class
-		Gdx.input.setInputProcessor(new InputHandler(world));
+		if (replay == null) {
+			// changes the game state to the READY state
+			world.getReady();
+			
+			// setting the input processor to the InputHandler class
+			Gdx.input.setInputProcessor(new InputHandler(world));
+		}
 	}
 
 	/**
@@ -65,6 +201,9 @@ public class GameScreen implements Screen {
 	 * and the render method of the GameRenderer class. This class'
 	 * render method is constantly called and therefore these two
 	 * methods inside it will be constantly called. (like a loop)
+	 * The world is always updated in fixed steps, so it runs as many
+	 * steps as fit into the time that has passed and the renderer
+	 * blends between the last two of them.
 	 * @param delta A float containing the number of seconds that have passed
 	 * since this method was last called.
 	 * @return void
@@ -72,8 +211,143 @@ public class GameScreen implements Screen {
 	@Override
 	public void render(float delta) {
 		runtime += delta;  // calculating total runtime of the game
-		world.update(delta);  // updates the objects contained in the world
-		renderer.render(runtime);  // refreshes world to display new objects
+		accumulator += delta;
+		
+		// records again from the first game after a resumed one
+		if (pendingRecording != null && world.isReady()) {
+			world.setRecording(pendingRecording);
+			pendingRecording = null;
+		}
+		
+		// updates the objects contained in the world one step at a time
+		int steps = 0;
+		while (accumulator >= step && steps < maxSteps) {
+			if (replay != null)
+				replay.tick();
+			else
+				world.update(step);
+			
+			accumulator -= step;
+			steps++;
+		}
+		
+		// drops whole steps that could not be caught up on after a long hitch
+		if (accumulator >= step)
+			accumulator %= step;
+		
+		// plays the sounds and saves the scores of this frame's updates
+		world.getEvents().drain();
+		
+		// only a moving world needs to be blended between updates
+		float alpha = world.isRunning() ? accumulator / step : 1;
+		
+		renderer.render(runtime, alpha);  // refreshes world to display objects
+		
+		if (reportResume) {
+			reportResume = false;
+			Gdx.app.log("GameScreen", "Resumed saved run, first frame " +
+					TimeUtils.nanosToMillis(TimeUtils.nanoTime() - launchNanos) +
+					" ms after launch");
+		}
+		
+		saveRecording();
+		forgetEndedRun();
+	}
+	
+	/**
+	 * Puts a saved game into the world, paused. A save that turns out
+	 * to be damaged is thrown away and a new game is started instead.
+	 * @param saved RunSave object holding the game to be resumed.
+	 * @return void
+	 */
+	private void restoreSavedRun(RunSave saved) {
+		try {
+			saved.restore(world);
+		} catch (IndexOutOfBoundsException e) {
+			Gdx.app.error("GameScreen", "Could not resume the saved run", e);
+			world.restart();
+			return;
+		}
+		
+		// a recording missing its start can not be replayed
+		if (!saved.hasRecording()) {
+			pendingRecording = world.getRecording();
+			world.setRecording(null);
+		}
+	}
+	
+	/**
+	 * Deletes the saved game once the game it held is over, so it is
+	 * not picked up again the next time the app starts.
+	 * @return void
+	 */
+	private void forgetEndedRun() {
+		if (!world.isGameOver() && !world.isHighScore()) {
+			runEnded = false;
+			return;
+		}
+		
+		if (runEnded || replay != null)
+			return;
+		runEnded = true;
+		
+		BackgroundIO.delete(Gdx.files.local(SAVED_RUN_FILE));
+	}
+	
+	/**
+	 * Reads the game that was saved when the app was last paused.
+	 * @return RunSave object holding the game, or null if there is
+	 * none or it could not be read.
+	 */
+	public static RunSave loadSavedRun() {
+		FileHandle file = Gdx.files.local(SAVED_RUN_FILE);
+		if (!file.exists())
+			return null;
+		
+		try {
+			InputStream in = file.read();
+			try {
+				return RunSave.read(in);
+			} finally {
+				in.close();
+			}
+		} catch (IOException e) {
+			Gdx.app.error("GameScreen", "Could not read the saved run", e);
+		} catch (GdxRuntimeException e) {
+			Gdx.app.error("GameScreen", "Could not read the saved run", e);
+		}
+		
+		// a save that can not be read would fail the same way every time
+		BackgroundIO.delete(file);
+		return null;
+	}
+	
+	/**
+	 * Saves the recording of the player's game once it has ended so
+	 * it can be replayed later.
+	 * @return void
+	 */
+	private void saveRecording() {
+		RunRecording recording = world.getRecording();
+		if (recording == null || !recording.isFinished()) {
+			recordingSaved = false;
+			return;
+		}
+		
+		if (recordingSaved)
+			return;
+		recordingSaved = true;
+		
+		// only the copy into memory happens here, the file is written
+		// on the background thread
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		try {
+			recording.write(bytes);
+		} catch (IOException e) {
+			Gdx.app.error("GameScreen", "Could not save the last run", e);
+			return;
+		}
+		BackgroundIO.write(Gdx.files.local(LAST_RUN_FILE), bytes.toByteArray());
 	}
 	
 	/**
@@ -85,40 +359,78 @@ public class GameScreen implements Screen {
 		return world;
 	}
 	
-	/*********** THESE METHODS WILL NOT BE USED ************/
-
+	/**
+	 * Pauses the game and saves it so it can be picked up again if the
+	 * app is closed while it is in the background. The save is copied
+	 * into memory here and written to storage on the background thread.
+	 * A game that has ended or not yet started is not worth saving, so
+	 * any old save is deleted instead.
+	 */
 	@Override
-	public void resize(int width, int height) {
-		// TODO Auto-generated method stub
+	public void pause() {
+		if (replay != null)
+			return;
 		
+		FileHandle file = Gdx.files.local(SAVED_RUN_FILE);
+		if (!(world.isRunning() || world.isPaused()) || 
+				!world.getTerp().isAlive()) {
+			BackgroundIO.delete(file);
+			return;
+		}
+		
+		world.pause();
+		save.capture(world, tickRate);
+		
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream(
+				RunSave.MAX_SIZE);
+		try {
+			save.write(bytes);
+		} catch (IOException e) {
+			Gdx.app.error("GameScreen", "Could not save the run", e);
+			return;
+		}
+		BackgroundIO.write(file, bytes.toByteArray());
 	}
-
+	
+	/**
+	 * The game stays paused until the screen is tapped, whether the app
+	 * was only in the background or was started again from a save, so
+	 * only the backdrop, which may have been lost, is drawn again.
+	 */
 	@Override
-	public void show() {
-		// TODO Auto-generated method stub
-		
+	public void resume() {
+		renderer.resize(Gdx.graphics.getWidth(), Gdx.graphics.getHeight());
 	}
-
+	
+	/**
+	 * Lets the renderer draw its backdrop again at the new size.
+	 */
 	@Override
-	public void hide() {
-		// TODO Auto-generated method stub
-		
+	public void resize(int width, int height) {
+		renderer.resize(width, height);
 	}
-
+	
+	/**
+	 * Disposes of the resources that this screen uses once
+	 * it has been closed.
+	 */
 	@Override
-	public void pause() {
-		// TODO Auto-generated method stub
-		
+	public void dispose() {
+		renderer.dispose();
 	}
-
+	
+	/**
+	 * Just calls the dispose method.
+	 */
 	@Override
-	public void resume() {
-		// TODO Auto-generated method stub
-		
+	public void hide() {
+		dispose();
 	}
 
+	/*********** THESE METHODS WILL NOT BE USED ************/
+
 	@Override
-	public void dispose() {
+	public void show() {
 		// TODO Auto-generated method stub
 		
 	}
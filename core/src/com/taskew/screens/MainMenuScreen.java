@@ -2,11 +2,11 @@ package com.taskew.screens;
 
 import java.util.ArrayList;
 
+import com.badlogic.gdx.Application;
 import com.badlogic.gdx.Game;
 import com.badlogic.gdx.Gdx;
 import com.badlogic.gdx.Screen;
 import com.badlogic.gdx.graphics.Color;
-import com.badlogic.gdx.graphics.GL20;
 import com.badlogic.gdx.graphics.g2d.Sprite;
 import com.badlogic.gdx.graphics.g2d.TextureAtlas;
 import com.badlogic.gdx.scenes.scene2d.InputEvent;
@@ -21,15 +21,19 @@ import com.badlogic.gdx.scenes.scene2d.utils.Align;
 import com.badlogic.gdx.scenes.scene2d.utils.ClickListener;
 import com.badlogic.gdx.scenes.scene2d.utils.Drawable;
 import com.badlogic.gdx.scenes.scene2d.utils.SpriteDrawable;
+import com.taskew.gameworld.AttractPlanner;
+import com.taskew.gameworld.GameRenderer;
 import com.taskew.gameworld.GameWorld;
 import com.taskew.helpers.AssetLoader;
+import com.taskew.helpers.RunStats;
 
 /**
  * @author Tyler Askew
  * @version 1.0
  * Simple menu class that create a main menu for the game.
  * Organizes the components into a table form and lets the user
- * access the various screens of the game.
+ * access the various screens of the game. A game played by an
+ * AttractPlanner runs behind the menu.
  */
 public class MainMenuScreen implements Screen {
 	
@@ -46,11 +50,29 @@ public class MainMenuScreen implements Screen {
 	// contains the top ten highscores
 	private ArrayList<Label> highscores;
 	
+	// statistics over every game played
+	private Label statsLabel;
+	
 	// the image buttons to play, get highscores, and share
 	private ImageButton playButton, highscoresButton, menuButton;
 	
 	// represents the entire game
 	private Game game;
+	
+	// how often the planner's timings are logged, in seconds
+	private static final float STATS_INTERVAL = 5;
+	
+	// the game played behind the menu, its renderer and its player
+	private GameWorld world;
+	private GameRenderer renderer;
+	private AttractPlanner planner;
+	
+	// time the menu has been shown, time not simulated yet and
+	// time since the planner's timings were last logged
+	private float runtime, accumulator, statsTime;
+	
+	// length of one update of the game behind the menu
+	private float step;
 			
 	/**
 	 * Constructor that initializes all of the components that
@@ -61,7 +83,6 @@ public class MainMenuScreen implements Screen {
 		stage = new Stage();
 		table = new Table();
 		highscoresTable = new Table();
-		table.background(new SpriteDrawable(AssetLoader.menuBackground));
 		
 		// creating all of the buttons
 		playButton = new ImageButton(new SpriteDrawable(AssetLoader.playButtonUp),
@@ -83,20 +104,87 @@ public class MainMenuScreen implements Screen {
 		highscoresTable.background(new SpriteDrawable
 				(AssetLoader.highscoreBackground));
 		highscores = new ArrayList<Label>(5);
+		statsLabel = new Label("", highscoreStyle);
+		statsLabel.setAlignment(Align.center);
 		
 		this.game = game;
+		
+		// sizes the game behind the menu the same way as a real game
+		float gameWidth = 136;
+		float gameHeight = Gdx.graphics.getHeight() / 
+				(Gdx.graphics.getWidth() / gameWidth);
+		int midScreen = (int) (gameHeight / 2);
+		
+		// the world makes no sounds and records nothing by default
+		world = new GameWorld(midScreen);
+		world.start();
+		renderer = new GameRenderer(world, game, (int) gameHeight, midScreen);
+		planner = new AttractPlanner(world, GameScreen.DEFAULT_TICK_RATE);
+		step = 1.0f / GameScreen.DEFAULT_TICK_RATE;
+		runtime = 0;
+		accumulator = 0;
+		statsTime = 0;
 	}
 
 	/**
-	 * Creates the background of the menu screen and draws the
+	 * Plays and draws the game behind the menu and then draws the
 	 * stage where all of the components of the menu are kept.
 	 */
 	@Override
 	public void render(float delta) {
-		Gdx.gl.glClearColor(0, 0, 0, 1);
-		Gdx.gl.glClear(GL20.GL_COLOR_BUFFER_BIT);
+		runtime += delta;
+		
+		// keeps trying the sounds still loading in the background
+		AssetLoader.sounds.warmUp();
+		accumulator += delta;
+		
+		// updates the game in the same fixed steps as a real one
+		int steps = 0;
+		while (accumulator >= step && steps < GameScreen.DEFAULT_MAX_STEPS) {
+			if (planner.shouldFlap())
+				world.flap();
+			world.update(step);
+			
+			// starts over straight away instead of showing game over
+			if (world.isGameOver() || world.isHighScore()) {
+				world.restart();
+				world.start();
+			}
+			
+			accumulator -= step;
+			steps++;
+		}
+		
+		if (accumulator >= step)
+			accumulator %= step;
+		
+		renderer.render(runtime, world.isRunning() ? accumulator / step : 1);
+		logPlannerStats(delta);
+		
 		stage.act();
 		stage.draw();
+		if (AssetLoader.profiler != null)
+			AssetLoader.profiler.addBatch(stage.getBatch());
+	}
+	
+	/**
+	 * Logs how long the planner's searches took every few seconds
+	 * when debug logging is turned on.
+	 * @param delta Float containing the seconds since the last frame.
+	 * @return void
+	 */
+	private void logPlannerStats(float delta) {
+		statsTime += delta;
+		if (statsTime < STATS_INTERVAL)
+			return;
+		statsTime = 0;
+		
+		if (Gdx.app.getLogLevel() >= Application.LOG_DEBUG)
+			Gdx.app.debug("AttractPlanner", planner.getSearches() +
+					" searches, mean " + planner.getMeanNanos() / 1000 +
+					" us, max " + planner.getMaxNanos() / 1000 +
+					" us, cut short " + planner.getExhaustedSearches());
+		planner.resetStats();
 	}
 
 	/**
@@ -143,17 +231,28 @@ public class MainMenuScreen implements Screen {
 				table.add(highscoresTitle).padBottom(40).center().top().row();
 				
 				// getting all of the highscores and setting their style
-				for (int i = 0; i < 5; i++)
+				for (int i = 0; i < AssetLoader.leaderboard.size(); i++)
 					highscores.add(new Label(String.valueOf
-							(AssetLoader.getHighScore(i)), highscoreStyle));
+							(AssetLoader.leaderboard.get(i)), highscoreStyle));
 				
 				// adding the highscores to the highscoresTable
-				for (int i = 0; i < 5; i++)
+				for (int i = 0; i < AssetLoader.leaderboard.size(); i++)
 					highscoresTable.add(highscores.get(i)).padBottom(10).row();
 				
 				// add highscores table to main table
 				table.add(highscoresTable).padBottom(20).row();
 				
+				// add the statistics, which are kept up to date as games
+				// are played so nothing has to be read here
+				RunStats stats = AssetLoader.runHistory.getStats();
+				statsLabel.setText("Games " + stats.getRuns() +
+						"   Average " + Math.round(stats.getMeanScore()) +
+						"\nMedian " + stats.percentile(0.5f) +
+						"   Top 10% " + stats.percentile(0.9f) +
+						"\nBest streak of " + RunStats.STREAK_SCORE + "+ " +
+						stats.getBestStreak());
+				table.add(statsLabel).padBottom(20).row();
+				
 				// add main menu button to the table
 				table.add(menuButton).row();
 			}
@@ -178,6 +277,7 @@ public class MainMenuScreen implements Screen {
 	@Override
 	public void dispose() {
 		stage.dispose();
+		renderer.dispose();
 	}
 	
 	/**
@@ -197,16 +297,22 @@ public class MainMenuScreen implements Screen {
 		
 	}
 
+	/**
+	 * Lets the game behind the menu draw its backdrop again, since it
+	 * may have been lost while the app was in the background.
+	 */
 	@Override
 	public void resume() {
-		// TODO Auto-generated method stub
-		
+		renderer.resize(Gdx.graphics.getWidth(), Gdx.graphics.getHeight());
 	}
 	
+	/**
+	 * Lets the game behind the menu draw its backdrop again at the new
+	 * size.
+	 */
 	@Override
 	public void resize(int width, int height) {
-		// TODO Auto-generated method stub
-		
+		renderer.resize(width, height);
 	}
 
 }
@@ -1,8 +1,13 @@
 package com.taskew.terprun;
 
+import com.badlogic.gdx.Application;
 import com.badlogic.gdx.Game;
 import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.utils.TimeUtils;
+import com.taskew.gameworld.RunSave;
 import com.taskew.helpers.AssetLoader;
+import com.taskew.helpers.BackgroundIO;
+import com.taskew.screens.GameScreen;
 import com.taskew.screens.MainMenuScreen;
 
 /**
@@ -13,6 +18,45 @@ import com.taskew.screens.MainMenuScreen;
  * its resources once the user closes the game.
  */
 public class TerpRunClient extends Game {
+	
+	// when the app was launched, from TimeUtils.nanoTime()
+	private long launchNanos;
+	
+	// if this is a debug build, which logs at debug level and measures
+	// what each frame costs
+	private boolean debug;
+	
+	/**
+	 * Constructor that counts the app as launched right now.
+	 * @return none
+	 */
+	public TerpRunClient() {
+		this(TimeUtils.nanoTime());
+	}
+	
+	/**
+	 * Constructor for launchers that know when the app was launched,
+	 * so resuming a saved game can be timed from there.
+	 * @param launchNanos Long containing the launch time, from
+	 * TimeUtils.nanoTime().
+	 * @return none
+	 */
+	public TerpRunClient(long launchNanos) {
+		this(launchNanos, false);
+	}
+	
+	/**
+	 * Constructor for launchers that know when the app was launched and
+	 * if it is a debug build.
+	 * @param launchNanos Long containing the launch time, from
+	 * TimeUtils.nanoTime().
+	 * @param debug Boolean containing if this is a debug build.
+	 * @return none
+	 */
+	public TerpRunClient(long launchNanos, boolean debug) {
+		this.launchNanos = launchNanos;
+		this.debug = debug;
+	}
 
 	/**
 	 * Starts the game by creating the game screen and loading all
@@ -21,11 +65,39 @@ public class TerpRunClient extends Game {
 	 */
 	@Override
 	public void create() {		
+		if (debug)
+			Gdx.app.setLogLevel(Application.LOG_DEBUG);
+		
 		// loading all assets for the game
 		AssetLoader.load();
 		
-		// sets the screen to display the main menu upon start up
-		setScreen(new MainMenuScreen(getGame()));
+		// picks a game that was interrupted back up, otherwise sets the
+		// screen to display the main menu upon start up
+		long start = TimeUtils.nanoTime();
+		RunSave saved = GameScreen.loadSavedRun();
+		if (saved != null) {
+			Gdx.app.log("TerpRunClient", "Read saved run in " + 
+					TimeUtils.nanosToMillis(TimeUtils.nanoTime() - start) + " ms");
+			setScreen(new GameScreen(getGame(), saved, launchNanos));
+		} else {
+			setScreen(new MainMenuScreen(getGame()));
+		}
+	}
+
+	/**
+	 * Draws the current screen, measuring the frame while debugging.
+	 * @return void
+	 */
+	@Override
+	public void render() {
+		if (AssetLoader.profiler == null) {
+			super.render();
+			return;
+		}
+		
+		AssetLoader.profiler.begin();
+		super.render();
+		AssetLoader.profiler.end();
 	}
 
 	/**
@@ -35,6 +107,15 @@ public class TerpRunClient extends Game {
 	@Override
 	public void dispose() {
 		super.dispose();
+		
+		// writes out what the last frames cost while debugging
+		if (AssetLoader.profiler != null) {
+			AssetLoader.profiler.disable();
+			AssetLoader.profiler.dump(Gdx.files.local(AssetLoader.PROFILE_FILE));
+		}
+		
+		// lets saves and high scores that are still waiting be written
+		BackgroundIO.finish(1000);
 		AssetLoader.dispose();
 	}
 	
@@ -2,6 +2,7 @@ package com.taskew.terprun.desktop;
 
 import com.badlogic.gdx.backends.lwjgl.LwjglApplication;
 import com.badlogic.gdx.backends.lwjgl.LwjglApplicationConfiguration;
+import com.badlogic.gdx.utils.TimeUtils;
 import com.taskew.terprun.TerpRunClient;
 
 /**
@@ -17,6 +18,9 @@ public class DesktopLauncher {
         config.title = "Terp Run";
         config.width = 272;
         config.height = 408;
-        new LwjglApplication(new TerpRunClient(), config);
+        
+        // -Dterprun.debug=true logs at debug level and profiles frames
+        new LwjglApplication(new TerpRunClient(TimeUtils.nanoTime(),
+                Boolean.getBoolean("terprun.debug")), config);
 	}
 }
\ No newline at end of file
@@ -0,0 +1,198 @@
+package com.taskew.terprun.headless;
+
+import java.lang.management.ManagementFactory;
+
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.graphics.Pixmap;
+import com.badlogic.gdx.graphics.Pixmap.Format;
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.TextureData;
+import com.badlogic.gdx.graphics.g2d.BitmapFont;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.badlogic.gdx.math.Frustum;
+import com.taskew.gameworld.FrameEmitter;
+import com.taskew.gameworld.RenderQueue;
+import com.taskew.helpers.AssetLoader;
+
+/**
+ * @author Tyler Askew
+ * @version 1.0
+ * Makes sure that running the game does not create any garbage. Runs
+ * the headless simulation for 10,000 updates, adding the commands of a
+ * frame to a RenderQueue and sorting them after every update the way
+ * the renderer does, counts the bytes that were allocated while doing so
+ * and fails if there were any. There is no graphics card, so every image
+ * is cut from a texture made against an OpenGL that does nothing, and
+ * the fonts are read from the folder holding the game's assets, which
+ * is the argument.
+ */
+public class AllocationCheck {
+
+	// number of updates that are measured, and how many times as many
+	// are run before then
+	private static final int TICKS = 10000;
+	private static final int WARMUPS = 3;
+
+	// size of the game screen on the desktop's 272 x 408 window
+	private static final int GAME_WIDTH = 136;
+	private static final int GAME_HEIGHT = HeadlessSimulation.MID_SCREEN * 2;
+
+	// how far each frame is between two updates
+	private static final float ALPHA = 0.5f;
+
+	public static void main (String[] arg) {
+		FileHandle assets = new FileHandle((arg.length > 0) ? arg[0] :
+				"../android/assets");
+		loadAssets(assets);
+
+		com.sun.management.ThreadMXBean threads =
+				(com.sun.management.ThreadMXBean)
+				ManagementFactory.getThreadMXBean();
+		long thread = Thread.currentThread().getId();
+		HeadlessSimulation simulation = new HeadlessSimulation();
+		FrameEmitter emitter = new FrameEmitter(simulation.getWorld(),
+				GAME_HEIGHT, HeadlessSimulation.MID_SCREEN);
+		RenderQueue queue = new RenderQueue();
+		queue.setView(view());
+
+		// runs a few times first so loading classes and compiling the
+		// code does not count
+		threads.getThreadAllocatedBytes(thread);
+		for (int i = 0; i < WARMUPS; i++)
+			run(simulation, emitter, queue);
+
+		long before = threads.getThreadAllocatedBytes(thread);
+		run(simulation, emitter, queue);
+		long allocated = threads.getThreadAllocatedBytes(thread) - before;
+
+		System.out.println(TICKS + " ticks over " + simulation.getGames() +
+				" games allocated " + allocated + " bytes");
+
+		if (allocated > 0)
+			System.exit(1);
+	}
+
+	/**
+	 * Runs the simulation, putting a frame together after every update.
+	 * @param simulation HeadlessSimulation object being run.
+	 * @param emitter FrameEmitter object adding the world's commands.
+	 * @param queue RenderQueue object the commands are added to.
+	 * @return void
+	 */
+	private static void run(HeadlessSimulation simulation,
+			FrameEmitter emitter, RenderQueue queue) {
+		for (int i = 0; i < TICKS; i++) {
+			simulation.tick();
+			emitter.emit(queue, ALPHA);
+			queue.sort();
+			queue.clear();
+		}
+	}
+
+	/**
+	 * Gives the AssetLoader the images and fonts that the FrameEmitter
+	 * draws with. Every image is the whole of one texture, since only
+	 * the texture it comes from matters to the queue.
+	 * @param assets FileHandle object of the folder holding the assets.
+	 * @return void
+	 */
+	private static void loadAssets(FileHandle assets) {
+		NullGL.install();
+		TextureRegion image = new TextureRegion(texture(1024, 1024));
+		AssetLoader.terp = image;
+		AssetLoader.pencilTipUp = image;
+		AssetLoader.pencilTipDown = image;
+		AssetLoader.pencilBody = image;
+		AssetLoader.fullPencil = image;
+		AssetLoader.mSymbol = image;
+		AssetLoader.coffee = image;
+		AssetLoader.pizza = image;
+		AssetLoader.beer = image;
+		AssetLoader.white = image;
+		AssetLoader.gameplayFont = new BitmapFont(
+				assets.child("fonts/in_game_text.fnt"), image, false);
+		AssetLoader.gameplayShadow = new BitmapFont(
+				assets.child("fonts/in_game_shadow.fnt"), image, false);
+	}
+
+	/**
+	 * Creates a texture that is never loaded onto a graphics card.
+	 * @param width Int containing the width of the texture.
+	 * @param height Int containing the height of the texture.
+	 * @return Texture object of the given size.
+	 */
+	private static Texture texture(final int width, final int height) {
+		return new Texture(new TextureData() {
+
+			@Override
+			public TextureDataType getType() {
+				return TextureDataType.Custom;
+			}
+
+			@Override
+			public boolean isPrepared() {
+				return true;
+			}
+
+			@Override
+			public void prepare() {
+			}
+
+			@Override
+			public Pixmap consumePixmap() {
+				return null;
+			}
+
+			@Override
+			public boolean disposePixmap() {
+				return false;
+			}
+
+			@Override
+			public void consumeCustomData(int target) {
+			}
+
+			@Override
+			public int getWidth() {
+				return width;
+			}
+
+			@Override
+			public int getHeight() {
+				return height;
+			}
+
+			@Override
+			public Format getFormat() {
+				return Format.RGBA8888;
+			}
+
+			@Override
+			public boolean useMipMaps() {
+				return false;
+			}
+
+			@Override
+			public boolean isManaged() {
+				return false;
+			}
+		});
+	}
+
+	/**
+	 * Creates what the game's camera sees, without the camera, which
+	 * needs native code to work it out.
+	 * @return Frustum object of the game screen.
+	 */
+	private static Frustum view() {
+		Frustum view = new Frustum();
+		view.planes[0].set(1, 0, 0, 0);
+		view.planes[1].set(-1, 0, 0, GAME_WIDTH);
+		view.planes[2].set(0, 1, 0, 0);
+		view.planes[3].set(0, -1, 0, GAME_HEIGHT);
+		view.planes[4].set(0, 0, -1, 0);
+		view.planes[5].set(0, 0, 1, 100);
+		return view;
+	}
+
+}
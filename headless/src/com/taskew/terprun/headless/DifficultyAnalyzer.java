@@ -0,0 +1,517 @@
+package com.taskew.terprun.headless;
+
+import java.io.BufferedWriter;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.badlogic.gdx.math.Circle;
+import com.taskew.gameobjects.Difficulty;
+import com.taskew.gameobjects.ObstacleManager;
+import com.taskew.gameobjects.Pencil;
+import com.taskew.gameworld.GameWorld;
+import com.taskew.helpers.GameRandom;
+import com.taskew.screens.GameScreen;
+
+/**
+ * @author Tyler Askew
+ * @version 1.0
+ * Plays a large number of FlapBot games for every combination of
+ * pencil gap, scroll speed, speed cap and pencil height spread, and
+ * writes out how long the bot survived, the scores it got and the
+ * pencils it died on for each of them. The games are split up across
+ * a fork/join pool that uses every core. Each combination is written
+ * to the CSV file as soon as all of its games are done, so only the
+ * combinations still being played are kept in memory.
+ *
+ * Every row of the file has the combination, the kind of result, a key
+ * and a value:
+ * games, mean_score and timeouts give totals;
+ * score gives how many games ended with each score;
+ * survival_score and survival_time give the fraction of games that
+ * reached each score and each second;
+ * death gives how many games ended on each kind of pencil, after the
+ * kind of pencil before it, with "+shift" when the pencils were shifting.
+ */
+public class DifficultyAnalyzer {
+
+	// values tried for each setting
+	private static final float[] GAPS = { 35, 45, 55 };
+	private static final float[] SPEEDS = { -49, -59, -69 };
+	private static final float[] CAPS = { -79, -89, -99 };
+	private static final float[] SPREADS = { 0.75f, 1, 1.25f };
+
+	// games played for each combination when none are given
+	private static final int DEFAULT_GAMES = 2000;
+
+	// games played by a single task before it stops splitting
+	private static final int CHUNK = 50;
+
+	// games still going after ten minutes are counted as survived
+	private static final int MAX_TICKS = GameScreen.DEFAULT_TICK_RATE * 600;
+
+	// highest score and second that get their own row
+	private static final int MAX_SCORE = 200;
+	private static final int MAX_SECONDS = 600;
+
+	// kinds of pencils, and what a game can end on
+	private static final String[] KINDS = { "VERTICAL", "HORIZONTAL",
+		"SPINNING", "NONE" };
+	private static final int NONE = 3;
+	private static final int PATTERNS = KINDS.length * KINDS.length * 2;
+
+	public static void main (String[] arg) throws IOException {
+		int games = (arg.length > 0) ? Integer.parseInt(arg[0]) :
+			DEFAULT_GAMES;
+		String file = (arg.length > 1) ? arg[1] : "difficulty.csv";
+		long seed = (arg.length > 2) ? Long.parseLong(arg[2]) :
+			HeadlessSimulation.DEFAULT_SEED;
+
+		PrintWriter out = new PrintWriter(new BufferedWriter(
+				new FileWriter(file)));
+		out.println("gap,speed,cap,spread,metric,key,value");
+
+		DifficultyAnalyzer analyzer = new DifficultyAnalyzer(games, seed, out);
+		long start = System.nanoTime();
+		analyzer.run();
+		out.close();
+
+		double seconds = (System.nanoTime() - start) / 1e9;
+		System.out.println(analyzer.getGamesPlayed() + " games in " +
+				Math.round(seconds) + " s (" + Math.round(
+				analyzer.getGamesPlayed() / Math.max(seconds, 1e-9)) +
+				" games/s) written to " + file);
+	}
+
+	// number of games, seed of the whole analysis and where rows go
+	private int games;
+	private long seed;
+	private PrintWriter out;
+
+	// every combination of settings being tried
+	private List<Point> points;
+	private AtomicInteger pointsDone;
+	private AtomicLong gamesPlayed;
+
+	/**
+	 * Constructor that sets up every combination of settings.
+	 * @param games Int containing the games played for each combination.
+	 * @param seed Long containing the seed the games are chosen from.
+	 * @param out PrintWriter object the rows are written to.
+	 * @return none
+	 */
+	public DifficultyAnalyzer(int games, long seed, PrintWriter out) {
+		this.games = games;
+		this.seed = seed;
+		this.out = out;
+		pointsDone = new AtomicInteger();
+		gamesPlayed = new AtomicLong();
+
+		points = new ArrayList<Point>();
+		for (float gap : GAPS)
+			for (float speed : SPEEDS)
+				for (float cap : CAPS)
+					for (float spread : SPREADS)
+						points.add(new Point(points.size(), gap, speed,
+								cap, spread));
+	}
+
+	/**
+	 * Plays every game of every combination on a pool using all of
+	 * the processors and waits for them to finish.
+	 * @return void
+	 */
+	public void run() {
+		final List<SimulateTask> tasks = new ArrayList<SimulateTask>();
+		for (Point point : points)
+			tasks.add(new SimulateTask(point, 0, games));
+
+		ForkJoinPool pool = new ForkJoinPool();
+		pool.invoke(new RecursiveAction() {
+
+			private static final long serialVersionUID = 1L;
+
+			@Override
+			protected void compute() {
+				invokeAll(tasks);
+			}
+		});
+		pool.shutdown();
+	}
+
+	/**
+	 * Returns the number of games played so far.
+	 * @return Long containing the number of games.
+	 */
+	public long getGamesPlayed() {
+		return gamesPlayed.get();
+	}
+
+	/**
+	 * Plays a range of games of one combination and adds them to
+	 * its results.
+	 * @param point Point object of the combination being played.
+	 * @param from Int containing the first game to play.
+	 * @param to Int containing the game after the last one to play.
+	 * @return void
+	 */
+	private void play(Point point, int from, int to) {
+		float step = 1.0f / GameScreen.DEFAULT_TICK_RATE;
+		GameWorld world = new GameWorld(HeadlessSimulation.MID_SCREEN, 0,
+				point.difficulty);
+		FlapBot bot = new FlapBot();
+		Results results = new Results();
+		long pointSeed = GameRandom.mix(seed + point.index);
+
+		for (int i = from; i < to; i++) {
+			// each game has its own seed, whichever thread plays it
+			world.restart(GameRandom.mix(pointSeed + i));
+			world.start();
+
+			int pattern = -1;
+			int passed = NONE;
+			while (!world.isGameOver() && !world.isHighScore() &&
+					world.getTicks() < MAX_TICKS) {
+				if (bot.shouldFlap(world))
+					world.flap();
+
+				world.update(step);
+				passed = lastPassed(world, passed);
+
+				if (pattern < 0 && world.getDeathTick() == world.getTicks())
+					pattern = deathPattern(world, passed);
+			}
+
+			results.add(world, pattern);
+		}
+
+		gamesPlayed.addAndGet(to - from);
+		if (point.add(results, to - from, games))
+			write(point);
+	}
+
+	/**
+	 * Finds the kind of the last pencil the terp got all the way past.
+	 * It has to be remembered every update, since the pencil is taken
+	 * away soon after it leaves the screen.
+	 * @param world GameWorld object being played.
+	 * @param passed Int containing the kind found the last time.
+	 * @return Int containing the kind of the last pencil passed.
+	 */
+	private static int lastPassed(GameWorld world, int passed) {
+		ObstacleManager obstacles = world.getScroller().getObstacles();
+		Circle area = world.getTerp().getCollisionArea();
+		for (int i = 0; i < obstacles.size(); i++) {
+			Pencil p = obstacles.get(i);
+			if (p.getCollisionRight() >= area.x - area.radius)
+				break;
+			passed = kind(p);
+		}
+
+		return passed;
+	}
+
+	/**
+	 * Finds the kind of pencil the terp just died on, the kind of pencil
+	 * before it and if they were shifting.
+	 * @param world GameWorld object the terp died in.
+	 * @param passed Int containing the kind of the last pencil passed.
+	 * @return Int containing the pattern the terp died on.
+	 */
+	private static int deathPattern(GameWorld world, int passed) {
+		ObstacleManager obstacles = world.getScroller().getObstacles();
+		for (int i = 0; i < obstacles.size(); i++) {
+			Pencil p = obstacles.get(i);
+			if (!p.collides(world.getTerp()))
+				continue;
+
+			int shift = p.isShifting() ? 1 : 0;
+			return ((passed * KINDS.length) + kind(p)) * 2 + shift;
+		}
+
+		// fell to the ground without touching a pencil
+		return NONE * 2;
+	}
+
+	/**
+	 * Returns the kind of a pencil as an index into KINDS.
+	 * @param p Pencil object being looked at.
+	 * @return Int containing the kind of the pencil.
+	 */
+	private static int kind(Pencil p) {
+		if (p.isHorizontal())
+			return 1;
+		else if (p.isSpinning())
+			return 2;
+
+		return 0;
+	}
+
+	/**
+	 * Writes every row of a finished combination and lets go of
+	 * its results.
+	 * @param point Point object of the finished combination.
+	 * @return void
+	 */
+	private void write(Point point) {
+		Results r = point.results;
+		point.results = null;
+		String prefix = point.gap + "," + point.speed + "," + point.cap +
+				"," + point.spread + ",";
+
+		StringBuilder rows = new StringBuilder();
+		rows.append(prefix).append("games,,").append(r.games).append('\n');
+		rows.append(prefix).append("mean_score,,").append(
+				(double) r.totalScore / Math.max(r.games, 1)).append('\n');
+		rows.append(prefix).append("timeouts,,").append(r.timeouts)
+				.append('\n');
+
+		for (int k = 0; k <= MAX_SCORE; k++)
+			if (r.scores[k] > 0)
+				rows.append(prefix).append("score,").append(k).append(',')
+						.append(r.scores[k]).append('\n');
+
+		survival(rows, prefix + "survival_score,", r.scores, r.games);
+		survival(rows, prefix + "survival_time,", r.deathSeconds, r.games);
+
+		for (int i = 0; i < PATTERNS; i++)
+			if (r.patterns[i] > 0)
+				rows.append(prefix).append("death,").append(patternName(i))
+						.append(',').append(r.patterns[i]).append('\n');
+
+		synchronized (out) {
+			out.print(rows);
+			out.flush();
+		}
+
+		System.out.println("Finished " + pointsDone.incrementAndGet() + "/" +
+				points.size() + ": gap " + point.gap + ", speed " +
+				point.speed + ", cap " + point.cap + ", spread " +
+				point.spread);
+	}
+
+	/**
+	 * Adds the rows of a survival curve, the fraction of games that
+	 * reached each value, from a histogram of where games ended.
+	 * @param rows StringBuilder object the rows are added to.
+	 * @param prefix String containing the start of every row.
+	 * @param ends Array of ints counting the games ending on each value.
+	 * @param games Int containing the total number of games.
+	 * @return void
+	 */
+	private static void survival(StringBuilder rows, String prefix,
+			int[] ends, int games) {
+		int last = ends.length - 1;
+		while (last > 0 && ends[last] == 0)
+			last--;
+
+		int remaining = games;
+		for (int k = 0; k <= last; k++) {
+			rows.append(prefix).append(k).append(',')
+					.append((double) remaining / Math.max(games, 1))
+					.append('\n');
+			remaining -= ends[k];
+		}
+	}
+
+	/**
+	 * Returns the readable name of a death pattern.
+	 * @param pattern Int containing the pattern.
+	 * @return String naming the pattern.
+	 */
+	private static String patternName(int pattern) {
+		int kind = (pattern / 2) % KINDS.length;
+		int before = (pattern / 2) / KINDS.length;
+		String shift = (pattern % 2 == 1) ? "+shift" : "";
+
+		if (kind == NONE)
+			return "GROUND";
+		return KINDS[before] + ">" + KINDS[kind] + shift;
+	}
+
+	/**
+	 * Plays part of the games of a combination, splitting them in half
+	 * until the parts are small enough that idle threads can steal them.
+	 */
+	private class SimulateTask extends RecursiveAction {
+
+		private static final long serialVersionUID = 1L;
+
+		private Point point;
+		private int from, to;
+
+		/**
+		 * Constructor that creates a task for a range of games.
+		 * @param point Point object of the combination being played.
+		 * @param from Int containing the first game to play.
+		 * @param to Int containing the game after the last one to play.
+		 * @return none
+		 */
+		public SimulateTask(Point point, int from, int to) {
+			this.point = point;
+			this.from = from;
+			this.to = to;
+		}
+
+		@Override
+		protected void compute() {
+			if (to - from <= CHUNK) {
+				play(point, from, to);
+				return;
+			}
+
+			int middle = (from + to) >>> 1;
+			invokeAll(new SimulateTask(point, from, middle),
+					new SimulateTask(point, middle, to));
+		}
+	}
+
+	/**
+	 * One combination of settings and the results of the games played
+	 * with it so far.
+	 */
+	private static class Point {
+
+		private int index;
+		private float gap, speed, cap, spread;
+		private Difficulty difficulty;
+
+		// results so far and the number of games added to them
+		private Results results;
+		private int played;
+
+		/**
+		 * Constructor that creates the difficulty for a combination.
+		 * @param index Int containing the position of the combination.
+		 * @param gap Float containing the space between pencils.
+		 * @param speed Float containing the starting scroll speed.
+		 * @param cap Float containing the speed cap.
+		 * @param spread Float containing how much wider or narrower
+		 * the range of pencil heights is than normal.
+		 * @return none
+		 */
+		public Point(int index, float gap, float speed, float cap,
+				float spread) {
+			this.index = index;
+			this.gap = gap;
+			this.speed = speed;
+			this.cap = cap;
+			this.spread = spread;
+			results = new Results();
+			played = 0;
+
+			difficulty = new Difficulty();
+			difficulty.setPencilGap(gap);
+			difficulty.setScrollSpeed(speed);
+			difficulty.setSpeedCap(cap);
+
+			// the heights spread out evenly around the normal middle height
+			difficulty.setVerticalHeights(
+					spreadMin(difficulty.getVerticalMinHeight(),
+					difficulty.getVerticalHeights(), spread),
+					spreadCount(difficulty.getVerticalHeights(), spread));
+			difficulty.setHorizontalHeights(
+					spreadMin(difficulty.getHorizontalMinHeight(),
+					difficulty.getHorizontalHeights(), spread),
+					spreadCount(difficulty.getHorizontalHeights(), spread));
+			difficulty.setSpinningHeights(
+					spreadMin(difficulty.getSpinningMinHeight(),
+					difficulty.getSpinningHeights(), spread),
+					spreadCount(difficulty.getSpinningHeights(), spread));
+		}
+
+		/**
+		 * Adds the results of some games to the combination.
+		 * @param more Results object of the games.
+		 * @param count Int containing the number of games.
+		 * @param total Int containing the number of games to be played.
+		 * @return Boolean containing true once every game has been added.
+		 */
+		public synchronized boolean add(Results more, int count, int total) {
+			results.add(more);
+			played += count;
+			return played == total;
+		}
+
+		/**
+		 * Returns the shortest height once the range is spread out.
+		 * @param min Int containing the normal shortest height.
+		 * @param count Int containing the normal number of heights.
+		 * @param spread Float containing the spread of the heights.
+		 * @return Int containing the new shortest height.
+		 */
+		private static int spreadMin(int min, int count, float spread) {
+			float middle = min + count / 2.0f;
+			return Math.max(1, Math.round(middle -
+					spreadCount(count, spread) / 2.0f));
+		}
+
+		/**
+		 * Returns the number of heights once the range is spread out.
+		 * @param count Int containing the normal number of heights.
+		 * @param spread Float containing the spread of the heights.
+		 * @return Int containing the new number of heights.
+		 */
+		private static int spreadCount(int count, float spread) {
+			return Math.max(1, Math.round(count * spread));
+		}
+	}
+
+	/**
+	 * Counts of how a set of games ended.
+	 */
+	private static class Results {
+
+		private int games, timeouts;
+		private long totalScore;
+		private int[] scores = new int[MAX_SCORE + 1];
+		private int[] deathSeconds = new int[MAX_SECONDS + 1];
+		private int[] patterns = new int[PATTERNS];
+
+		/**
+		 * Adds a game that just ended.
+		 * @param world GameWorld object the game was played in.
+		 * @param pattern Int containing the pattern the terp died on,
+		 * or -1 if it never died.
+		 * @return void
+		 */
+		public void add(GameWorld world, int pattern) {
+			games++;
+			totalScore += world.getScore();
+			scores[Math.min(world.getScore(), MAX_SCORE)]++;
+
+			if (pattern < 0) {
+				timeouts++;
+				return;
+			}
+
+			int second = world.getDeathTick() / GameScreen.DEFAULT_TICK_RATE;
+			deathSeconds[Math.min(second, MAX_SECONDS)]++;
+			patterns[pattern]++;
+		}
+
+		/**
+		 * Adds the counts of another set of games.
+		 * @param other Results object of the other games.
+		 * @return void
+		 */
+		public void add(Results other) {
+			games += other.games;
+			timeouts += other.timeouts;
+			totalScore += other.totalScore;
+			for (int i = 0; i < scores.length; i++)
+				scores[i] += other.scores[i];
+			for (int i = 0; i < deathSeconds.length; i++)
+				deathSeconds[i] += other.deathSeconds[i];
+			for (int i = 0; i < patterns.length; i++)
+				patterns[i] += other.patterns[i];
+		}
+	}
+
+}
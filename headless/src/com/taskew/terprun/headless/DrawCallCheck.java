@@ -0,0 +1,122 @@
+package com.taskew.terprun.headless;
+
+import com.badlogic.gdx.ApplicationAdapter;
+import com.badlogic.gdx.backends.headless.HeadlessApplication;
+import com.badlogic.gdx.backends.headless.HeadlessApplicationConfiguration;
+import com.badlogic.gdx.graphics.OrthographicCamera;
+import com.badlogic.gdx.graphics.Pixmap.Format;
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.taskew.gameworld.FrameEmitter;
+import com.taskew.gameworld.GameRenderer;
+import com.taskew.gameworld.GameWorld;
+import com.taskew.gameworld.RenderQueue;
+import com.taskew.helpers.AssetLoader;
+import com.taskew.screens.GameScreen;
+
+/**
+ * @author Tyler Askew
+ * @version 1.0
+ * Makes sure that a frame of the game is drawn in as few batches as the
+ * renderer expects. Loads the game's assets the way the game does, onto
+ * an OpenGL that does nothing, then lets a FlapBot play a few games and
+ * draws every frame of them, up to and including the dimmed game over
+ * frame, through a RenderQueue into a SpriteBatch the way the
+ * GameRenderer does, with a texture of its own standing in for the
+ * backdrop. Fails if any frame flushes the batch, or changes texture or
+ * blending, more than GameRenderer.MAX_RENDER_CALLS times. Runs in the
+ * folder holding the game's assets.
+ */
+public class DrawCallCheck {
+
+	// number of games whose frames are drawn
+	private static final int GAMES = 5;
+
+	// size of the game screen on the desktop's 272 x 408 window
+	private static final int GAME_WIDTH = 136;
+	private static final int GAME_HEIGHT = HeadlessSimulation.MID_SCREEN * 2;
+
+	// how far each frame is between two updates
+	private static final float ALPHA = 0.5f;
+
+	public static void main (String[] arg) {
+		HeadlessApplicationConfiguration config =
+				new HeadlessApplicationConfiguration();
+		new HeadlessApplication(new ApplicationAdapter() {
+
+			@Override
+			public void create() {
+				// the application's thread ending on its own would not
+				// fail the build, so anything going wrong exits here
+				boolean passed = false;
+				try {
+					passed = check();
+				} catch (Throwable t) {
+					t.printStackTrace();
+				}
+				System.exit(passed ? 0 : 1);
+			}
+		}, config);
+	}
+
+	/**
+	 * Draws every frame of a few games and counts the batches of each.
+	 * @return Boolean containing if every frame stayed within the limit.
+	 */
+	private static boolean check() {
+		NullGL.install();
+		AssetLoader.load();
+
+		OrthographicCamera cam = new OrthographicCamera();
+		cam.setToOrtho(true, GAME_WIDTH, GAME_HEIGHT);
+		SpriteBatch batch = new SpriteBatch();
+		batch.setProjectionMatrix(cam.combined);
+		RenderQueue queue = new RenderQueue();
+		queue.setView(cam.frustum);
+
+		// the backdrop is drawn into a texture of its own when the screen
+		// changes size, which takes the first batch of every frame
+		TextureRegion backdrop = new TextureRegion(new Texture(GAME_WIDTH,
+				GAME_HEIGHT, Format.RGB888));
+
+		GameWorld world = new GameWorld(HeadlessSimulation.MID_SCREEN,
+				HeadlessSimulation.DEFAULT_SEED);
+		FrameEmitter emitter = new FrameEmitter(world, GAME_HEIGHT,
+				HeadlessSimulation.MID_SCREEN);
+		FlapBot bot = new FlapBot();
+		float step = 1.0f / GameScreen.DEFAULT_TICK_RATE;
+
+		int frames = 0, mostCalls = 0, mostChanges = 0;
+		for (int game = 0; game < GAMES; game++) {
+			world.restart();
+			world.start();
+
+			// the frame the game ends on is drawn with the dimming
+			do {
+				if (bot.shouldFlap(world))
+					world.flap();
+				world.update(step);
+
+				queue.addOpaque(RenderQueue.WORLD, FrameEmitter.BACKDROP,
+						backdrop, 0, 0, GAME_WIDTH, GAME_HEIGHT);
+				emitter.emit(queue, ALPHA);
+				batch.begin();
+				queue.render(batch);
+				batch.end();
+
+				frames++;
+				mostCalls = Math.max(mostCalls, batch.renderCalls);
+				mostChanges = Math.max(mostChanges, queue.getStateChanges());
+			} while (!emitter.isGameOver());
+		}
+
+		System.out.println(frames + " frames over " + GAMES + " games drawn " +
+				"in at most " + mostCalls + " batches with " + mostChanges +
+				" state changes");
+
+		return mostCalls <= GameRenderer.MAX_RENDER_CALLS &&
+				mostChanges <= GameRenderer.MAX_RENDER_CALLS;
+	}
+
+}
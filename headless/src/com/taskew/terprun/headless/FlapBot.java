@@ -0,0 +1,96 @@
+package com.taskew.terprun.headless;
+
+import com.taskew.gameobjects.ObstacleManager;
+import com.taskew.gameobjects.Pencil;
+import com.taskew.gameobjects.Terrapin;
+import com.taskew.gameworld.GameWorld;
+
+/**
+ * @author Tyler Askew
+ * @version 1.0
+ * Simple player used to run the game without anyone touching the
+ * screen. Aims the terp at the middle of the gap in the next pencil
+ * and jumps whenever it falls too far below it. A single jump lifts the
+ * terp about 21 pixels, so it only jumps again once it is falling.
+ */
+public class FlapBot {
+
+	// how far below the gap the terp may fall before jumping
+	private float tolerance;
+	
+	/**
+	 * Constructor that creates a bot with the default tolerance.
+	 * @return none
+	 */
+	public FlapBot() {
+		this(6);
+	}
+	
+	/**
+	 * Constructor that creates a bot which jumps once the terp falls
+	 * the given distance below the gap it is aiming for.
+	 * @param tolerance Float containing the distance in pixels.
+	 * @return none
+	 */
+	public FlapBot(float tolerance) {
+		this.tolerance = tolerance;
+	}
+	
+	/**
+	 * Determines if the terp should jump during the next update.
+	 * @param world GameWorld object representing the game being played.
+	 * @return Boolean, returns true if the bot wants to jump.
+	 */
+	public boolean shouldFlap(GameWorld world) {
+		Terrapin terp = world.getTerp();
+		float terpY = terp.getCollisionArea().y;
+		Pencil next = nextPencil(world.getScroller().getObstacles(), terp);
+		
+		// without a pencil ahead, stays around the middle of the screen
+		float target = (next == null) ? world.getTerp().getHeight() * 4
+				: gapCenter(next, terpY);
+		
+		return terp.getVelocityY() >= 0 && terpY > target + tolerance;
+	}
+	
+	/**
+	 * Finds the closest pencil that the terp has not passed yet.
+	 * @param obstacles ObstacleManager object holding the pencils from
+	 * left to right.
+	 * @param terp Terrapin object representing the terp.
+	 * @return Pencil object ahead of the terp or null if there is none.
+	 */
+	private Pencil nextPencil(ObstacleManager obstacles, Terrapin terp) {
+		for (int i = 0; i < obstacles.size(); i++) {
+			Pencil p = obstacles.get(i);
+			
+			if (p.getRightX() >= terp.getX())
+				return p;
+		}
+		
+		return null;
+	}
+	
+	/**
+	 * Finds the y-coordinate of the middle of the gap in a pencil
+	 * that is closest to the terp.
+	 * @param p Pencil object the terp has to pass.
+	 * @param terpY Float containing the y-coordinate of the terp.
+	 * @return Float containing the y-coordinate to aim for.
+	 */
+	private float gapCenter(Pencil p, float terpY) {
+		if (p.isHorizontal()) {
+			// horizontal pencils leave one gap above and below the middle one
+			float middle = p.getHorizontalCollisionMiddle().y;
+			float upper = middle - 24.5f;
+			float lower = middle + 40.5f;
+			return (Math.abs(terpY - upper) < Math.abs(terpY - lower)) ?
+					upper : lower;
+		} else if (p.isSpinning()) {
+			return (p.getHeight() * 3 - 150) / 2.0f;
+		}
+		
+		return p.getY() + p.getHeight() + 28.5f;
+	}
+	
+}
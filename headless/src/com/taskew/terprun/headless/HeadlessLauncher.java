@@ -0,0 +1,54 @@
+package com.taskew.terprun.headless;
+
+import com.badlogic.gdx.ApplicationAdapter;
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.backends.headless.HeadlessApplication;
+import com.badlogic.gdx.backends.headless.HeadlessApplicationConfiguration;
+import com.badlogic.gdx.utils.TimeUtils;
+import com.taskew.screens.GameScreen;
+
+/**
+ * @author Tyler Askew
+ * @version 1.0
+ * Launcher that runs the game world on libGDX's headless backend. The
+ * whole simulation runs at once at full speed and then prints how far
+ * it got and how long it took.
+ */
+public class HeadlessLauncher {
+	
+	// number of updates simulated when none are given
+	private static final long DEFAULT_TICKS = 10000000;
+	
+	public static void main (String[] arg) {
+		final long ticks = (arg.length > 0) ? Long.parseLong(arg[0]) :
+			DEFAULT_TICKS;
+		final long seed = (arg.length > 1) ? Long.parseLong(arg[1]) :
+			HeadlessSimulation.DEFAULT_SEED;
+		
+		HeadlessApplicationConfiguration config = 
+				new HeadlessApplicationConfiguration();
+		new HeadlessApplication(new ApplicationAdapter() {
+			
+			@Override
+			public void create() {
+				HeadlessSimulation simulation = new HeadlessSimulation(
+						GameScreen.DEFAULT_TICK_RATE, seed);
+				
+				long start = TimeUtils.nanoTime();
+				simulation.run(ticks);
+				long millis = TimeUtils.nanosToMillis(
+						TimeUtils.timeSinceNanos(start));
+				
+				Gdx.app.log("TerpRun", "seed " + seed);
+				Gdx.app.log("TerpRun", simulation.getTicks() + " ticks in " +
+						millis + " ms (" + (simulation.getTicks() * 60000 /
+						Math.max(millis, 1)) + " ticks/min)");
+				Gdx.app.log("TerpRun", simulation.getGames() + " games, best " +
+						simulation.getBestScore() + ", average " +
+						simulation.getAverageScore());
+				Gdx.app.exit();
+			}
+		}, config);
+	}
+	
+}
@@ -0,0 +1,186 @@
+package com.taskew.terprun.headless;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import com.taskew.gameworld.GameWorld;
+import com.taskew.gameworld.RunRecording;
+import com.taskew.screens.GameScreen;
+
+/**
+ * @author Tyler Askew
+ * @version 1.0
+ * Runs the game world as fast as possible without any graphics, sound,
+ * or input. A FlapBot plays the game and a new game is started every
+ * time the terp hits the ground.
+ */
+public class HeadlessSimulation {
+
+	// middle of the game screen on the desktop's 272 x 408 window
+	public static final int MID_SCREEN = 102;
+	
+	// seed of the first game when none is given, so runs can be compared
+	public static final long DEFAULT_SEED = 1;
+	
+	// the world being simulated and the bot playing it
+	private GameWorld world;
+	private FlapBot bot;
+	
+	// length of a single world update
+	private float step;
+	
+	// statistics for everything simulated so far
+	private long ticks, totalScore;
+	private int games, bestScore;
+	
+	/**
+	 * Constructor that creates a simulation updating at the
+	 * default tick rate.
+	 * @return none
+	 */
+	public HeadlessSimulation() {
+		this(GameScreen.DEFAULT_TICK_RATE);
+	}
+	
+	/**
+	 * Constructor that creates a simulation updating the given
+	 * number of times per simulated second.
+	 * @param tickRate Int containing the updates per simulated second.
+	 * @return none
+	 */
+	public HeadlessSimulation(int tickRate) {
+		this(tickRate, DEFAULT_SEED);
+	}
+	
+	/**
+	 * Constructor that creates a simulation updating the given number
+	 * of times per simulated second. Every game played comes from the
+	 * given seed, so the same seed always gives the same results.
+	 * @param tickRate Int containing the updates per simulated second.
+	 * @param seed Long containing the seed of the simulation.
+	 * @return none
+	 */
+	public HeadlessSimulation(int tickRate, long seed) {
+		world = new GameWorld(MID_SCREEN, seed);
+		bot = new FlapBot();
+		step = 1.0f / tickRate;
+		ticks = 0;
+		totalScore = 0;
+		games = 0;
+		bestScore = 0;
+		newGame();
+	}
+	
+	/**
+	 * Runs the given number of world updates.
+	 * @param count Long containing the number of updates to run.
+	 * @return void
+	 */
+	public void run(long count) {
+		for (long i = 0; i < count; i++)
+			tick();
+	}
+	
+	/**
+	 * Runs a single world update and starts a new game if the
+	 * last one has ended.
+	 * @return void
+	 */
+	public void tick() {
+		if (bot.shouldFlap(world))
+			world.flap();
+		
+		world.update(step);
+		ticks++;
+		
+		if (world.isGameOver() || world.isHighScore()) {
+			games++;
+			totalScore += world.getScore();
+			bestScore = Math.max(bestScore, world.getScore());
+			newGame();
+		}
+	}
+	
+	/**
+	 * Restarts the world and sets it straight to the running state.
+	 * @return void
+	 */
+	private void newGame() {
+		world.restart();
+		world.start();
+	}
+	
+	/**
+	 * Records games played by a FlapBot at the default tick rate.
+	 * @param games Int containing the number of games to record.
+	 * @param seed Long containing the seed of the first game.
+	 * @return List of the recordings of every game.
+	 */
+	public static List<RunRecording> record(int games, long seed) {
+		int tickRate = GameScreen.DEFAULT_TICK_RATE;
+		float step = 1.0f / tickRate;
+		
+		GameWorld world = new GameWorld(MID_SCREEN, seed);
+		RunRecording recording = new RunRecording(tickRate);
+		world.setRecording(recording);
+		FlapBot bot = new FlapBot();
+		
+		List<RunRecording> recordings = new ArrayList<RunRecording>();
+		for (int i = 0; i < games; i++) {
+			world.restart();
+			world.start();
+			
+			while (!recording.isFinished()) {
+				if (bot.shouldFlap(world))
+					world.flap();
+				
+				world.update(step);
+			}
+			
+			recordings.add(new RunRecording(recording));
+		}
+		
+		return recordings;
+	}
+	
+	/**
+	 * Returns the world being simulated.
+	 * @return GameWorld object being simulated.
+	 */
+	public GameWorld getWorld() {
+		return world;
+	}
+	
+	/**
+	 * Returns the number of updates run so far.
+	 * @return Long containing the number of updates.
+	 */
+	public long getTicks() {
+		return ticks;
+	}
+	
+	/**
+	 * Returns the number of games that have ended so far.
+	 * @return Int containing the number of finished games.
+	 */
+	public int getGames() {
+		return games;
+	}
+	
+	/**
+	 * Returns the best score of all finished games.
+	 * @return Int containing the best score.
+	 */
+	public int getBestScore() {
+		return bestScore;
+	}
+	
+	/**
+	 * Returns the average score of all finished games.
+	 * @return Float containing the average score.
+	 */
+	public float getAverageScore() {
+		return (games == 0) ? 0 : (float) totalScore / games;
+	}
+	
+}
@@ -0,0 +1,62 @@
+package com.taskew.terprun.headless;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.nio.IntBuffer;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.graphics.GL20;
+
+/**
+ * @author Tyler Askew
+ * @version 1.0
+ * OpenGL that does nothing, for checks that draw without a graphics
+ * card. Every texture, buffer, shader and program made gets a handle of
+ * its own so they can be told apart, shaders always compile and link,
+ * and every other call that returns something returns zero.
+ */
+public class NullGL implements InvocationHandler {
+
+	// last handle given out
+	private int handles;
+
+	/**
+	 * Makes libGDX draw with OpenGL that does nothing.
+	 * @return void
+	 */
+	public static void install() {
+		Gdx.gl = Gdx.gl20 = (GL20) Proxy.newProxyInstance(
+				NullGL.class.getClassLoader(), new Class<?>[] { GL20.class },
+				new NullGL());
+	}
+
+	@Override
+	public Object invoke(Object proxy, Method method, Object[] args) {
+		String name = method.getName();
+		if (name.startsWith("glGen") || name.startsWith("glCreate"))
+			return ++handles;
+
+		// shaders and programs ask about themselves through a buffer
+		if (name.equals("glGetShaderiv") || name.equals("glGetProgramiv")) {
+			int pname = (Integer) args[1];
+			boolean ok = pname == GL20.GL_COMPILE_STATUS ||
+					pname == GL20.GL_LINK_STATUS;
+			((IntBuffer) args[2]).put(0, ok ? 1 : 0);
+			return null;
+		}
+
+		if (name.equals("glCheckFramebufferStatus"))
+			return GL20.GL_FRAMEBUFFER_COMPLETE;
+
+		Class<?> type = method.getReturnType();
+		if (type == int.class)
+			return 0;
+		else if (type == float.class)
+			return 0f;
+		else if (type == boolean.class)
+			return false;
+		return null;
+	}
+
+}
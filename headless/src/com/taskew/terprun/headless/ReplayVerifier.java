@@ -0,0 +1,94 @@
+package com.taskew.terprun.headless;
+
+import java.io.BufferedInputStream;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.taskew.gameworld.GameWorld;
+import com.taskew.gameworld.RunRecording;
+import com.taskew.gameworld.RunReplay;
+
+/**
+ * @author Tyler Askew
+ * @version 1.0
+ * Replays recorded games as fast as possible and makes sure each one
+ * ends with the same score on the same updates as it did originally.
+ * Recordings saved by the game are given as arguments. With no
+ * arguments, a FlapBot plays a set of games that are recorded and
+ * then replayed. Fails if any replay ends differently.
+ */
+public class ReplayVerifier {
+
+	// number of games recorded when no recordings are given
+	private static final int DEFAULT_GAMES = 1000;
+
+	// replays that take longer than this are stuck
+	private static final int MAX_TICKS = 10000000;
+
+	public static void main (String[] arg) throws IOException {
+		List<RunRecording> recordings = (arg.length > 0) ? read(arg) :
+			HeadlessSimulation.record(DEFAULT_GAMES,
+					HeadlessSimulation.DEFAULT_SEED);
+
+		long ticks = 0;
+		double gameSeconds = 0;
+		int failed = 0;
+
+		long start = System.nanoTime();
+		for (int i = 0; i < recordings.size(); i++) {
+			RunRecording recording = recordings.get(i);
+			RunReplay replay = new RunReplay(recording);
+
+			if (!replay.runToEnd(MAX_TICKS)) {
+				failed++;
+				GameWorld world = replay.getWorld();
+				System.out.println("Replay of seed " + recording.getSeed() +
+						" ended with score " + world.getScore() +
+						", death tick " + world.getDeathTick() +
+						", end tick " + world.getTicks() + " instead of " +
+						recording.getScore() + ", " +
+						recording.getDeathTick() + ", " +
+						recording.getEndTick());
+			}
+
+			ticks += replay.getWorld().getTicks();
+			gameSeconds += replay.getWorld().getTicks() * replay.getStep();
+		}
+		double seconds = (System.nanoTime() - start) / 1e9;
+
+		System.out.println(recordings.size() + " replays, " + failed +
+				" failed, " + ticks + " ticks in " +
+				Math.round(seconds * 1000) + " ms (" +
+				Math.round(gameSeconds / Math.max(seconds, 1e-9)) +
+				"x real time)");
+
+		if (failed > 0)
+			System.exit(1);
+	}
+
+	/**
+	 * Reads the recordings saved in the given files.
+	 * @param files Array of strings containing the paths of the files.
+	 * @return List of the recordings that were read.
+	 * @throws IOException if a file could not be read.
+	 */
+	private static List<RunRecording> read(String[] files)
+			throws IOException {
+		List<RunRecording> recordings = new ArrayList<RunRecording>();
+		for (int i = 0; i < files.length; i++) {
+			InputStream in = new BufferedInputStream(
+					new FileInputStream(files[i]));
+			try {
+				recordings.add(RunRecording.read(in));
+			} finally {
+				in.close();
+			}
+		}
+
+		return recordings;
+	}
+
+}
@@ -0,0 +1,171 @@
+package com.taskew.terprun.headless;
+
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+import com.taskew.gameworld.RunRecording;
+import com.taskew.gameworld.RunReplay;
+import com.taskew.screens.GameScreen;
+
+/**
+ * @author Tyler Askew
+ * @version 1.0
+ * Decides if a submitted score is real by playing the submitted run
+ * again and checking that it ends with the claimed score. Runs that
+ * could not have come from the game, like ones with an unusual tick
+ * rate, are turned down before being played at all. Batches of runs
+ * are split up across a work-stealing pool so every core stays busy
+ * even though some runs are much longer than others.
+ */
+public class ScoreVerifier {
+
+	// what was decided about a run
+	public enum Verdict {
+		ACCEPTED, WRONG_SCORE, WRONG_TICKS, NOT_FINISHED, INVALID
+	}
+
+	// longest game that is accepted, the longest one that can be read
+	public static final int MAX_TICKS = RunRecording.MAX_TICKS;
+
+	// range of screen sizes the game can be played on
+	private static final int MIN_MID_SCREEN = 50;
+	private static final int MAX_MID_SCREEN = 200;
+
+	// runs verified by a single task before it stops splitting the batch
+	private static final int BATCH_SIZE = 4;
+
+	// the threads the runs are played on
+	private ForkJoinPool pool;
+
+	/**
+	 * Constructor that creates a verifier using every processor.
+	 * @return none
+	 */
+	public ScoreVerifier() {
+		this(Runtime.getRuntime().availableProcessors());
+	}
+
+	/**
+	 * Constructor that creates a verifier using the given number
+	 * of threads.
+	 * @param threads Int containing the number of threads.
+	 * @return none
+	 */
+	public ScoreVerifier(int threads) {
+		pool = new ForkJoinPool(threads);
+	}
+
+	/**
+	 * Verifies a single run on the calling thread.
+	 * @param run RunRecording object containing the submitted run.
+	 * @return Verdict of the run.
+	 */
+	public Verdict verify(RunRecording run) {
+		if (!isValid(run))
+			return Verdict.INVALID;
+
+		RunReplay replay = new RunReplay(run);
+		replay.runToEnd(run.getEndTick() + 1);
+
+		if (!replay.isFinished())
+			return Verdict.NOT_FINISHED;
+		else if (replay.getWorld().getScore() != run.getScore())
+			return Verdict.WRONG_SCORE;
+		else if (!replay.matches())
+			return Verdict.WRONG_TICKS;
+
+		return Verdict.ACCEPTED;
+	}
+
+	/**
+	 * Verifies a batch of runs across all of the verifier's threads
+	 * and waits for all of them to finish.
+	 * @param runs List of the submitted runs.
+	 * @return Array of verdicts in the same order as the runs.
+	 */
+	public Verdict[] verifyAll(List<RunRecording> runs) {
+		Verdict[] verdicts = new Verdict[runs.size()];
+		pool.invoke(new VerifyTask(runs, verdicts, 0, runs.size()));
+		return verdicts;
+	}
+
+	/**
+	 * Stops the verifier's threads once they have finished
+	 * their current work.
+	 * @return void
+	 */
+	public void shutdown() {
+		pool.shutdown();
+	}
+
+	/**
+	 * Determines if a run could have come from the game before
+	 * spending any time playing it.
+	 * @param run RunRecording object containing the submitted run.
+	 * @return Boolean containing true if the run is worth playing.
+	 */
+	private boolean isValid(RunRecording run) {
+		if (run.getTickRate() != GameScreen.DEFAULT_TICK_RATE ||
+				run.getMidScreen() < MIN_MID_SCREEN ||
+				run.getMidScreen() > MAX_MID_SCREEN ||
+				!run.isFinished() || run.getEndTick() > MAX_TICKS ||
+				run.getScore() < 0)
+			return false;
+
+		// flaps have to be in order and before the game ended
+		int last = 0;
+		for (int i = 0; i < run.getFlapCount(); i++) {
+			int tick = run.getFlapTick(i);
+			if (tick < last || tick > run.getEndTick())
+				return false;
+			last = tick;
+		}
+
+		return true;
+	}
+
+	/**
+	 * Verifies part of a batch, splitting it in half until the parts
+	 * are small enough that idle threads can steal the rest.
+	 */
+	private class VerifyTask extends RecursiveAction {
+
+		private static final long serialVersionUID = 1L;
+
+		// the whole batch and the part this task is responsible for
+		private List<RunRecording> runs;
+		private Verdict[] verdicts;
+		private int from, to;
+
+		/**
+		 * Constructor that creates a task for part of a batch.
+		 * @param runs List of every run in the batch.
+		 * @param verdicts Array the verdicts are written to.
+		 * @param from Int containing the first run of this task.
+		 * @param to Int containing the run after the last of this task.
+		 * @return none
+		 */
+		public VerifyTask(List<RunRecording> runs, Verdict[] verdicts,
+				int from, int to) {
+			this.runs = runs;
+			this.verdicts = verdicts;
+			this.from = from;
+			this.to = to;
+		}
+
+		@Override
+		protected void compute() {
+			if (to - from <= BATCH_SIZE) {
+				for (int i = from; i < to; i++)
+					verdicts[i] = verify(runs.get(i));
+				return;
+			}
+
+			int middle = (from + to) >>> 1;
+			invokeAll(new VerifyTask(runs, verdicts, from, middle),
+					new VerifyTask(runs, verdicts, middle, to));
+		}
+	}
+
+}
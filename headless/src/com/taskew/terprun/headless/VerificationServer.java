@@ -0,0 +1,132 @@
+package com.taskew.terprun.headless;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import com.sun.net.httpserver.HttpServer;
+import com.taskew.gameworld.RunRecording;
+import com.taskew.terprun.headless.ScoreVerifier.Verdict;
+
+/**
+ * @author Tyler Askew
+ * @version 1.0
+ * Standalone process that verifies submitted scores over HTTP. Only
+ * listens on this machine. A POST to /verify holds the number of runs
+ * followed by each run as written by RunRecording.write(), and the
+ * answer has one verdict per line in the same order. All of the runs
+ * in a request are verified together across a ScoreVerifier's
+ * work-stealing pool.
+ */
+public class VerificationServer {
+
+	// port used when none is given
+	public static final int DEFAULT_PORT = 8090;
+
+	// most runs accepted in a single request
+	private static final int MAX_RUNS = 10000;
+
+	// threads that read requests and wait for their verdicts
+	private static final int REQUEST_THREADS = 4;
+
+	public static void main (String[] arg) throws IOException {
+		int port = (arg.length > 0) ? Integer.parseInt(arg[0]) : DEFAULT_PORT;
+
+		final ScoreVerifier verifier = new ScoreVerifier();
+		HttpServer server = HttpServer.create(new InetSocketAddress(
+				InetAddress.getLoopbackAddress(), port), 0);
+		ExecutorService requests = Executors.newFixedThreadPool(
+				REQUEST_THREADS);
+		server.setExecutor(requests);
+
+		server.createContext("/verify", new HttpHandler() {
+
+			@Override
+			public void handle(HttpExchange exchange) throws IOException {
+				try {
+					if (!"POST".equals(exchange.getRequestMethod())) {
+						respond(exchange, 405, "Use POST\n");
+						return;
+					}
+
+					List<RunRecording> runs;
+					try {
+						runs = read(exchange);
+					} catch (IOException e) {
+						// a body cut short has no message of its own
+						String reason = (e.getMessage() != null) ?
+								e.getMessage() : "Malformed request";
+						respond(exchange, 400, reason + "\n");
+						return;
+					}
+
+					Verdict[] verdicts = verifier.verifyAll(runs);
+					StringBuilder body = new StringBuilder();
+					for (int i = 0; i < verdicts.length; i++)
+						body.append(verdicts[i]).append('\n');
+					respond(exchange, 200, body.toString());
+				} finally {
+					exchange.close();
+				}
+			}
+		});
+
+		server.start();
+		System.out.println("Verifying scores on " + server.getAddress() +
+				" with " + Runtime.getRuntime().availableProcessors() +
+				" threads");
+	}
+
+	/**
+	 * Reads the runs submitted in a request.
+	 * @param exchange HttpExchange object of the request.
+	 * @return List of the submitted runs.
+	 * @throws IOException if the request does not hold runs.
+	 */
+	private static List<RunRecording> read(HttpExchange exchange)
+			throws IOException {
+		DataInputStream in = new DataInputStream(new BufferedInputStream(
+				exchange.getRequestBody()));
+
+		int count = in.readInt();
+		if (count < 0 || count > MAX_RUNS)
+			throw new IOException("Between 0 and " + MAX_RUNS +
+					" runs can be sent at once");
+
+		List<RunRecording> runs = new ArrayList<RunRecording>(count);
+		for (int i = 0; i < count; i++)
+			runs.add(RunRecording.read(in));
+
+		return runs;
+	}
+
+	/**
+	 * Sends a plain text answer to a request.
+	 * @param exchange HttpExchange object of the request.
+	 * @param status Int containing the HTTP status code.
+	 * @param text String containing the body of the answer.
+	 * @return void
+	 * @throws IOException if the answer could not be sent.
+	 */
+	private static void respond(HttpExchange exchange, int status,
+			String text) throws IOException {
+		byte[] body = text.getBytes("UTF-8");
+		exchange.getResponseHeaders().set("Content-Type",
+				"text/plain; charset=utf-8");
+		exchange.sendResponseHeaders(status, body.length);
+
+		OutputStream out = exchange.getResponseBody();
+		out.write(body);
+		out.close();
+	}
+
+}
@@ -0,0 +1,274 @@
+package com.taskew.terprun.server;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import com.sun.net.httpserver.HttpServer;
+import com.taskew.helpers.ScoreSubmission;
+
+/**
+ * @author Tyler Askew
+ * @version 1.0
+ * Leaderboard that finished games are submitted to over HTTP. Only
+ * listens on this machine. A POST to /scores holds the number of games
+ * followed by each game as written by ScoreSubmission.write(), and the
+ * answer is the number of them that were taken, counted from the first.
+ * GET /top?k=10 lists the best scores one per line, GET /rank?score=25
+ * gives the rank of a score and GET /stats gives the server's counters.
+ * Submitted scores are added to the index in batches by a ScoreIngester.
+ */
+public class LeaderboardServer {
+
+	// port used when none is given
+	public static final int DEFAULT_PORT = 8091;
+
+	// most games accepted in a single request and listed by /top
+	private static final int MAX_SUBMISSIONS = 10000;
+	private static final int MAX_TOP = 100;
+
+	// threads that read and answer requests
+	private static final int REQUEST_THREADS = 8;
+
+	// the scores and what adds them
+	private final ScoreIndex index;
+	private final ScoreIngester ingester;
+
+	// the HTTP server and its threads
+	private HttpServer server;
+	private ExecutorService requests;
+
+	public static void main (String[] arg) throws IOException {
+		int port = (arg.length > 0) ? Integer.parseInt(arg[0]) : DEFAULT_PORT;
+
+		LeaderboardServer leaderboard = new LeaderboardServer();
+		leaderboard.start(port);
+		System.out.println("Leaderboard on " + leaderboard.getAddress());
+	}
+
+	/**
+	 * Constructor that creates a leaderboard with an empty index.
+	 * @return none
+	 */
+	public LeaderboardServer() {
+		index = new ScoreIndex();
+		ingester = new ScoreIngester(index);
+	}
+
+	/**
+	 * Starts listening on this machine.
+	 * @param port Int containing the port, or 0 for any free port.
+	 * @return void
+	 * @throws IOException if the port could not be listened on.
+	 */
+	public void start(int port) throws IOException {
+		// answers are written as headers and then a body, which would
+		// otherwise wait for the client to acknowledge the headers
+		System.setProperty("sun.net.httpserver.nodelay", "true");
+
+		server = HttpServer.create(new InetSocketAddress(
+				InetAddress.getLoopbackAddress(), port), 0);
+		requests = Executors.newFixedThreadPool(REQUEST_THREADS);
+		server.setExecutor(requests);
+
+		server.createContext("/scores", new HttpHandler() {
+
+			@Override
+			public void handle(HttpExchange exchange) throws IOException {
+				try {
+					if (!"POST".equals(exchange.getRequestMethod())) {
+						respond(exchange, 405, "Use POST\n");
+						return;
+					}
+
+					List<ScoreSubmission> submissions;
+					try {
+						submissions = read(exchange);
+					} catch (IOException e) {
+						// a body cut short has no message of its own
+						String reason = (e.getMessage() != null) ?
+								e.getMessage() : "Malformed request";
+						respond(exchange, 400, reason + "\n");
+						return;
+					}
+
+					int taken = ingester.offer(submissions);
+					respond(exchange, 200, taken + "\n");
+				} finally {
+					exchange.close();
+				}
+			}
+		});
+
+		server.createContext("/top", new HttpHandler() {
+
+			@Override
+			public void handle(HttpExchange exchange) throws IOException {
+				try {
+					int k = Math.min(query(exchange, "k", 10), MAX_TOP);
+					List<ScoreIndex.Entry> top = new ArrayList<ScoreIndex.Entry>(k);
+					index.top(k, top);
+
+					StringBuilder body = new StringBuilder();
+					for (int i = 0; i < top.size(); i++) {
+						ScoreSubmission s = top.get(i).getSubmission();
+						body.append(i + 1).append('\t').append(s.getName())
+								.append('\t').append(s.getScore()).append('\n');
+					}
+					respond(exchange, 200, body.toString());
+				} finally {
+					exchange.close();
+				}
+			}
+		});
+
+		server.createContext("/rank", new HttpHandler() {
+
+			@Override
+			public void handle(HttpExchange exchange) throws IOException {
+				try {
+					int score = query(exchange, "score", 0);
+					respond(exchange, 200, index.rank(score) + " of " +
+							index.size() + "\n");
+				} finally {
+					exchange.close();
+				}
+			}
+		});
+
+		server.createContext("/stats", new HttpHandler() {
+
+			@Override
+			public void handle(HttpExchange exchange) throws IOException {
+				try {
+					respond(exchange, 200,
+							"accepted " + ingester.getAccepted() +
+							"\ningested " + ingester.getIngested() +
+							"\nrefused " + ingester.getRefused() +
+							"\nbatches " + ingester.getBatches() +
+							"\nwaiting " + ingester.getWaiting() + "\n");
+				} finally {
+					exchange.close();
+				}
+			}
+		});
+
+		ingester.start();
+		server.start();
+	}
+
+	/**
+	 * Stops listening and adds every score that is still waiting.
+	 * @return void
+	 * @throws InterruptedException if the wait was interrupted.
+	 */
+	public void stop() throws InterruptedException {
+		server.stop(0);
+		requests.shutdown();
+		ingester.stop();
+	}
+
+	/**
+	 * Returns the address the server listens on.
+	 * @return InetSocketAddress object of the address.
+	 */
+	public InetSocketAddress getAddress() {
+		return server.getAddress();
+	}
+
+	/**
+	 * Returns the index holding the submitted scores.
+	 * @return ScoreIndex object of the scores.
+	 */
+	public ScoreIndex getIndex() {
+		return index;
+	}
+
+	/**
+	 * Returns the ingester adding the submitted scores.
+	 * @return ScoreIngester object adding the scores.
+	 */
+	public ScoreIngester getIngester() {
+		return ingester;
+	}
+
+	/**
+	 * Reads the games submitted in a request.
+	 * @param exchange HttpExchange object of the request.
+	 * @return List of the submitted games.
+	 * @throws IOException if the request does not hold games.
+	 */
+	private static List<ScoreSubmission> read(HttpExchange exchange)
+			throws IOException {
+		DataInputStream in = new DataInputStream(new BufferedInputStream(
+				exchange.getRequestBody()));
+
+		int count = in.readInt();
+		if (count < 0 || count > MAX_SUBMISSIONS)
+			throw new IOException("Between 0 and " + MAX_SUBMISSIONS +
+					" games can be sent at once");
+
+		List<ScoreSubmission> submissions = new ArrayList<ScoreSubmission>(count);
+		for (int i = 0; i < count; i++)
+			submissions.add(ScoreSubmission.read(in));
+
+		return submissions;
+	}
+
+	/**
+	 * Reads a number from the query of a request.
+	 * @param exchange HttpExchange object of the request.
+	 * @param name String containing the name of the number.
+	 * @param otherwise Int returned if the number is missing or bad.
+	 * @return Int containing the number.
+	 */
+	private static int query(HttpExchange exchange, String name,
+			int otherwise) {
+		String query = exchange.getRequestURI().getRawQuery();
+		if (query == null)
+			return otherwise;
+
+		for (String pair : query.split("&")) {
+			if (pair.startsWith(name + "=")) {
+				try {
+					return Math.max(0, Integer.parseInt(
+							pair.substring(name.length() + 1)));
+				} catch (NumberFormatException e) {
+					return otherwise;
+				}
+			}
+		}
+
+		return otherwise;
+	}
+
+	/**
+	 * Sends a plain text answer to a request.
+	 * @param exchange HttpExchange object of the request.
+	 * @param status Int containing the HTTP status code.
+	 * @param text String containing the body of the answer.
+	 * @return void
+	 * @throws IOException if the answer could not be sent.
+	 */
+	private static void respond(HttpExchange exchange, int status,
+			String text) throws IOException {
+		byte[] body = text.getBytes("UTF-8");
+		exchange.getResponseHeaders().set("Content-Type",
+				"text/plain; charset=utf-8");
+		exchange.sendResponseHeaders(status, body.length);
+
+		OutputStream out = exchange.getResponseBody();
+		out.write(body);
+		out.close();
+	}
+
+}
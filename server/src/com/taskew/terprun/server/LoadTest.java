@@ -0,0 +1,205 @@
+package com.taskew.terprun.server;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.taskew.helpers.ScoreSubmission;
+
+/**
+ * @author Tyler Askew
+ * @version 1.0
+ * Measures how many scores a single LeaderboardServer takes per second.
+ * Starts a server on a free port of this machine and has a number of
+ * client threads post batches of made up scores to it as fast as they
+ * are answered for a number of seconds. Prints the submissions per
+ * second taken and added to the index, how long requests took, and
+ * fails if the index does not end up holding every score taken.
+ * Arguments are the number of client threads, seconds and scores per
+ * request.
+ */
+public class LoadTest {
+
+	// most requests a client thread keeps the time of
+	private static final int MAX_SAMPLES = 1 << 20;
+
+	public static void main (String[] arg) throws Exception {
+		final int threads = (arg.length > 0) ? Integer.parseInt(arg[0]) : 8;
+		final int seconds = (arg.length > 1) ? Integer.parseInt(arg[1]) : 10;
+		final int batch = (arg.length > 2) ? Integer.parseInt(arg[2]) : 50;
+
+		LeaderboardServer leaderboard = new LeaderboardServer();
+		leaderboard.start(0);
+		final URL url = new URL("http://127.0.0.1:" +
+				leaderboard.getAddress().getPort() + "/scores");
+
+		final AtomicLong sent = new AtomicLong();
+		final AtomicLong taken = new AtomicLong();
+		final AtomicLong failed = new AtomicLong();
+		final long[][] samples = new long[threads][];
+		final int[] sampleCounts = new int[threads];
+		final CountDownLatch done = new CountDownLatch(threads);
+		final long end = System.nanoTime() + seconds * 1000000000L;
+
+		for (int t = 0; t < threads; t++) {
+			final int id = t;
+			samples[t] = new long[MAX_SAMPLES];
+			new Thread(new Runnable() {
+
+				@Override
+				public void run() {
+					Random random = new Random(id);
+					try {
+						while (System.nanoTime() < end) {
+							byte[] body = makeBatch(random, batch, id);
+
+							long start = System.nanoTime();
+							int got = post(url, body);
+							long took = System.nanoTime() - start;
+
+							if (sampleCounts[id] < MAX_SAMPLES)
+								samples[id][sampleCounts[id]++] = took;
+							sent.addAndGet(batch);
+							if (got < 0)
+								failed.incrementAndGet();
+							else
+								taken.addAndGet(got);
+						}
+					} catch (IOException e) {
+						e.printStackTrace();
+					} finally {
+						done.countDown();
+					}
+				}
+			}, "LoadTest-" + t).start();
+		}
+
+		long start = System.nanoTime();
+		done.await();
+		double elapsed = (System.nanoTime() - start) / 1e9;
+
+		// every score taken should be in the index once the ingester is done
+		leaderboard.stop();
+		long ingested = leaderboard.getIndex().size();
+
+		long[] all = merge(samples, sampleCounts);
+		Arrays.sort(all);
+		System.out.printf("%d threads, %d scores per request, %.1f s%n",
+				threads, batch, elapsed);
+		System.out.printf("requests: %d (%d failed), %.0f per second%n",
+				all.length, failed.get(), all.length / elapsed);
+		System.out.printf("scores: %d sent, %d taken, %d added, " +
+				"%.0f taken per second%n", sent.get(), taken.get(), ingested,
+				taken.get() / elapsed);
+		System.out.printf("request time: p50 %.2f ms, p99 %.2f ms, " +
+				"max %.2f ms%n", percentile(all, 0.5) / 1e6,
+				percentile(all, 0.99) / 1e6,
+				(all.length == 0 ? 0 : all[all.length - 1]) / 1e6);
+		System.out.println("batches added: " +
+				leaderboard.getIngester().getBatches());
+
+		if (ingested != taken.get()) {
+			System.out.println("FAILED: " + taken.get() + " scores taken " +
+					"but " + ingested + " added");
+			System.exit(1);
+		}
+	}
+
+	/**
+	 * Makes the body of a request with made up scores.
+	 * @param random Random object the scores come from.
+	 * @param count Int containing the number of scores.
+	 * @param id Int containing the number of the client thread.
+	 * @return Array of bytes holding the request.
+	 * @throws IOException if the scores could not be written.
+	 */
+	private static byte[] makeBatch(Random random, int count, int id)
+			throws IOException {
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		DataOutputStream out = new DataOutputStream(bytes);
+		out.writeInt(count);
+		for (int i = 0; i < count; i++) {
+			// most games end early, a few go on for a long time
+			int score = (int) Math.min(-Math.log(1 - random.nextDouble()) * 12,
+					ScoreIndex.MAX_SCORE);
+			new ScoreSubmission("load" + id, score, 60 + score * 75,
+					random.nextLong()).write(out);
+		}
+		out.flush();
+		return bytes.toByteArray();
+	}
+
+	/**
+	 * Posts a request and reads the number of scores taken.
+	 * @param url URL object of the scores page.
+	 * @param body Array of bytes holding the request.
+	 * @return Int containing the number of scores taken, or -1 if the
+	 * request failed.
+	 * @throws IOException if the server could not be reached.
+	 */
+	private static int post(URL url, byte[] body) throws IOException {
+		HttpURLConnection connection = (HttpURLConnection) url.openConnection();
+		connection.setRequestMethod("POST");
+		connection.setDoOutput(true);
+		connection.setFixedLengthStreamingMode(body.length);
+
+		OutputStream out = connection.getOutputStream();
+		out.write(body);
+		out.close();
+
+		if (connection.getResponseCode() != 200) {
+			connection.getErrorStream().close();
+			return -1;
+		}
+
+		InputStream in = connection.getInputStream();
+		StringBuilder answer = new StringBuilder();
+		int c;
+		while ((c = in.read()) != -1)
+			answer.append((char) c);
+		in.close();
+
+		return Integer.parseInt(answer.toString().trim());
+	}
+
+	/**
+	 * Puts the request times of every thread into one array.
+	 * @param samples Array of the request times of each thread.
+	 * @param counts Array of the number of times each thread kept.
+	 * @return Array of every request time.
+	 */
+	private static long[] merge(long[][] samples, int[] counts) {
+		int total = 0;
+		for (int i = 0; i < counts.length; i++)
+			total += counts[i];
+
+		long[] all = new long[total];
+		int at = 0;
+		for (int i = 0; i < samples.length; i++) {
+			System.arraycopy(samples[i], 0, all, at, counts[i]);
+			at += counts[i];
+		}
+		return all;
+	}
+
+	/**
+	 * Returns a percentile of sorted times.
+	 * @param sorted Array of times in order.
+	 * @param p Double containing the share from 0 to 1.
+	 * @return Long containing the time.
+	 */
+	private static long percentile(long[] sorted, double p) {
+		if (sorted.length == 0)
+			return 0;
+		return sorted[(int) Math.min(sorted.length - 1, p * sorted.length)];
+	}
+
+}
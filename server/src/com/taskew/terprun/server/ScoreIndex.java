@@ -0,0 +1,198 @@
+package com.taskew.terprun.server;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import com.taskew.helpers.ScoreSubmission;
+
+/**
+ * @author Tyler Askew
+ * @version 1.0
+ * Every score submitted to the server, sorted so the best few and the
+ * rank of any score can be found without a lock. The best scores are
+ * kept whole in a concurrent skip list that never grows past the number
+ * asked for. Every score ever added is also counted in a Fenwick tree
+ * of atomic counters with one slot per score, so the rank of a score
+ * takes a logarithmic number of reads however many scores there are.
+ * Scores too high for the tree all share its last slot.
+ */
+public class ScoreIndex {
+
+	// number of slots in the tree and the best scores kept by default
+	public static final int MAX_SCORE = 1 << 16;
+	public static final int DEFAULT_KEPT = 1000;
+
+	/**
+	 * A score in the list of best scores. Higher scores come first and
+	 * equal scores keep the order they were added in.
+	 */
+	public static class Entry implements Comparable<Entry> {
+
+		private final ScoreSubmission submission;
+		private final long id;
+
+		/**
+		 * Constructor that creates an entry for a submitted score.
+		 * @param submission ScoreSubmission object that was submitted.
+		 * @param id Long containing the order the score was added in.
+		 * @return none
+		 */
+		public Entry(ScoreSubmission submission, long id) {
+			this.submission = submission;
+			this.id = id;
+		}
+
+		/**
+		 * Returns the submitted game.
+		 * @return ScoreSubmission object that was submitted.
+		 */
+		public ScoreSubmission getSubmission() {
+			return submission;
+		}
+
+		@Override
+		public int compareTo(Entry other) {
+			int score = submission.getScore();
+			int otherScore = other.submission.getScore();
+			if (score != otherScore)
+				return (score > otherScore) ? -1 : 1;
+
+			return (id < other.id) ? -1 : ((id == other.id) ? 0 : 1);
+		}
+
+	}
+
+	// the best scores and how many of them there are
+	private final ConcurrentSkipListSet<Entry> best;
+	private final AtomicInteger bestSize;
+	private final int kept;
+
+	// number of scores counted at each score, as a Fenwick tree
+	private final AtomicLongArray tree;
+
+	// number of scores added, also used to number them
+	private final AtomicLong size;
+
+	/**
+	 * Constructor that creates an empty index keeping the default
+	 * number of best scores.
+	 * @return none
+	 */
+	public ScoreIndex() {
+		this(DEFAULT_KEPT);
+	}
+
+	/**
+	 * Constructor that creates an empty index.
+	 * @param kept Int containing the number of best scores kept whole.
+	 * @return none
+	 */
+	public ScoreIndex(int kept) {
+		this.kept = kept;
+		best = new ConcurrentSkipListSet<Entry>();
+		bestSize = new AtomicInteger();
+		tree = new AtomicLongArray(MAX_SCORE + 1);
+		size = new AtomicLong();
+	}
+
+	/**
+	 * Adds a submitted score to the index. Safe to call from any thread.
+	 * @param submission ScoreSubmission object to be added.
+	 * @return void
+	 */
+	public void add(ScoreSubmission submission) {
+		long id = size.getAndIncrement();
+		count(submission.getScore());
+
+		// a score below a full list of best scores can not get into it,
+		// the iterator is used since last() throws if another thread
+		// just emptied the list
+		if (bestSize.get() >= kept) {
+			Iterator<Entry> lowest = best.descendingIterator();
+			if (lowest.hasNext() && submission.getScore() <=
+					lowest.next().getSubmission().getScore())
+				return;
+		}
+
+		best.add(new Entry(submission, id));
+		if (bestSize.incrementAndGet() > kept && best.pollLast() != null)
+			bestSize.decrementAndGet();
+	}
+
+	/**
+	 * Adds a batch of submitted scores to the index.
+	 * @param submissions List of the ScoreSubmission objects to be added.
+	 * @return void
+	 */
+	public void addAll(List<ScoreSubmission> submissions) {
+		for (int i = 0; i < submissions.size(); i++)
+			add(submissions.get(i));
+	}
+
+	/**
+	 * Puts the best scores into a list, best first.
+	 * @param k Int containing the number of scores wanted, at most the
+	 * number of best scores kept.
+	 * @param out List the entries are added to.
+	 * @return void
+	 */
+	public void top(int k, List<Entry> out) {
+		Iterator<Entry> entries = best.iterator();
+		for (int i = 0; i < k && entries.hasNext(); i++)
+			out.add(entries.next());
+	}
+
+	/**
+	 * Returns the rank a score would have, 1 being the best. Scores that
+	 * are equal share a rank.
+	 * @param score Int containing the score.
+	 * @return Long containing one more than the number of higher scores.
+	 */
+	public long rank(int score) {
+		return 1 + countAtOrBelow(MAX_SCORE - 1) - countAtOrBelow(score);
+	}
+
+	/**
+	 * Returns the number of scores added.
+	 * @return Long containing the number of scores.
+	 */
+	public long size() {
+		return size.get();
+	}
+
+	/**
+	 * Counts a score in the tree.
+	 * @param score Int containing the score.
+	 * @return void
+	 */
+	private void count(int score) {
+		for (int i = slot(score); i <= MAX_SCORE; i += i & -i)
+			tree.incrementAndGet(i);
+	}
+
+	/**
+	 * Returns the number of scores at or below a score.
+	 * @param score Int containing the score.
+	 * @return Long containing the number of scores.
+	 */
+	private long countAtOrBelow(int score) {
+		long count = 0;
+		for (int i = slot(score); i > 0; i -= i & -i)
+			count += tree.get(i);
+		return count;
+	}
+
+	/**
+	 * Returns the slot of the tree a score is counted in, starting at 1.
+	 * @param score Int containing the score.
+	 * @return Int containing the slot.
+	 */
+	private static int slot(int score) {
+		return Math.min(Math.max(score, 0), MAX_SCORE - 1) + 1;
+	}
+
+}
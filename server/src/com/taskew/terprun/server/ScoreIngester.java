@@ -0,0 +1,182 @@
+package com.taskew.terprun.server;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.taskew.helpers.ScoreSubmission;
+
+/**
+ * @author Tyler Askew
+ * @version 1.0
+ * Takes scores from the request threads and adds them to a ScoreIndex
+ * in batches on a thread of its own. A request only has to put its
+ * scores into a bounded queue and can answer right away, while the
+ * index gets many scores at once instead of one request at a time.
+ * Once the queue is full, scores are refused until it has room again,
+ * which tells clients to slow down.
+ */
+public class ScoreIngester {
+
+	// most scores waiting at once and most added in one batch
+	public static final int DEFAULT_CAPACITY = 1 << 16;
+	public static final int DEFAULT_BATCH = 1024;
+
+	// the index scores are added to and the scores waiting for it
+	private final ScoreIndex index;
+	private final BlockingQueue<ScoreSubmission> queue;
+	private final int batchSize;
+
+	// the thread adding the batches
+	private final Thread thread;
+	private volatile boolean running;
+
+	// scores taken in, added and refused, and batches added
+	private final AtomicLong accepted, ingested, refused, batches;
+
+	/**
+	 * Constructor that creates an ingester with the default queue and
+	 * batch sizes.
+	 * @param index ScoreIndex object the scores are added to.
+	 * @return none
+	 */
+	public ScoreIngester(ScoreIndex index) {
+		this(index, DEFAULT_CAPACITY, DEFAULT_BATCH);
+	}
+
+	/**
+	 * Constructor that creates an ingester.
+	 * @param index ScoreIndex object the scores are added to.
+	 * @param capacity Int containing the most scores waiting at once.
+	 * @param batchSize Int containing the most scores added in one batch.
+	 * @return none
+	 */
+	public ScoreIngester(ScoreIndex index, int capacity, int batchSize) {
+		this.index = index;
+		this.batchSize = batchSize;
+		queue = new ArrayBlockingQueue<ScoreSubmission>(capacity);
+		accepted = new AtomicLong();
+		ingested = new AtomicLong();
+		refused = new AtomicLong();
+		batches = new AtomicLong();
+
+		thread = new Thread(new Runnable() {
+
+			@Override
+			public void run() {
+				ingest();
+			}
+		}, "ScoreIngester");
+		thread.setDaemon(true);
+	}
+
+	/**
+	 * Starts adding scores to the index.
+	 * @return void
+	 */
+	public void start() {
+		running = true;
+		thread.start();
+	}
+
+	/**
+	 * Adds every score that is still waiting and then stops.
+	 * @return void
+	 * @throws InterruptedException if the wait was interrupted.
+	 */
+	public void stop() throws InterruptedException {
+		running = false;
+		thread.join();
+	}
+
+	/**
+	 * Hands scores over to be added, in order, for as long as there is
+	 * room for them. Safe to call from any thread.
+	 * @param submissions List of the ScoreSubmission objects to be added.
+	 * @return Int containing the number of scores taken, counted from the
+	 * start of the list.
+	 */
+	public int offer(List<ScoreSubmission> submissions) {
+		int taken = 0;
+		while (taken < submissions.size() &&
+				queue.offer(submissions.get(taken)))
+			taken++;
+
+		accepted.addAndGet(taken);
+		refused.addAndGet(submissions.size() - taken);
+		return taken;
+	}
+
+	/**
+	 * Waits for scores and adds them to the index in batches until the
+	 * ingester is stopped and nothing is left waiting.
+	 * @return void
+	 */
+	private void ingest() {
+		List<ScoreSubmission> batch = new ArrayList<ScoreSubmission>(batchSize);
+
+		while (running || !queue.isEmpty()) {
+			try {
+				// waits for the first score and takes whatever else came
+				ScoreSubmission first = queue.poll(100, TimeUnit.MILLISECONDS);
+				if (first == null)
+					continue;
+
+				batch.add(first);
+				queue.drainTo(batch, batchSize - 1);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				return;
+			}
+
+			index.addAll(batch);
+			ingested.addAndGet(batch.size());
+			batches.incrementAndGet();
+			batch.clear();
+		}
+	}
+
+	/**
+	 * Returns the number of scores taken in.
+	 * @return Long containing the number of scores.
+	 */
+	public long getAccepted() {
+		return accepted.get();
+	}
+
+	/**
+	 * Returns the number of scores added to the index.
+	 * @return Long containing the number of scores.
+	 */
+	public long getIngested() {
+		return ingested.get();
+	}
+
+	/**
+	 * Returns the number of scores refused because the queue was full.
+	 * @return Long containing the number of scores.
+	 */
+	public long getRefused() {
+		return refused.get();
+	}
+
+	/**
+	 * Returns the number of batches added to the index.
+	 * @return Long containing the number of batches.
+	 */
+	public long getBatches() {
+		return batches.get();
+	}
+
+	/**
+	 * Returns the number of scores waiting to be added.
+	 * @return Int containing the number of scores.
+	 */
+	public int getWaiting() {
+		return queue.size();
+	}
+
+}